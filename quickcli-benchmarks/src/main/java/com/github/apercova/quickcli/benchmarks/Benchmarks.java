@@ -0,0 +1,44 @@
+package com.github.apercova.quickcli.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks launcher. Accepts the regular JMH command line and always adds
+ * the GC profiler, so results report allocated bytes per operation
+ * (<code>gc.alloc.rate.norm</code>) along with operations per second.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class Benchmarks {
+
+    private Benchmarks() {
+        super();
+    }
+
+    /**
+     * Runs benchmarks.
+     *
+     * @param args JMH command line.
+     * @throws Exception If benchmarks can not be run.
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListProfilers() || cli.shouldListResultFormats()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (cli.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.github.apercova.quickcli.benchmarks;
+
+import com.github.apercova.quickcli.CommandFactory;
+import com.github.apercova.quickcli.command.BindExamples;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the {@link BindExamples} command, covering every natively
+ * bound type and a custom converter.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindExamplesBenchmark {
+
+    private Writer writer;
+    private BindExamples command;
+
+    @Setup
+    public void setUp() throws Exception {
+        writer = Fixtures.nullWriter();
+        command = CommandFactory.create(Fixtures.BIND_EXAMPLES_ARGS, BindExamples.class, writer, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public BindExamples create() throws Exception {
+        return CommandFactory.create(Fixtures.BIND_EXAMPLES_ARGS, BindExamples.class, writer, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public BindExamples createConcurrent() throws Exception {
+        return CommandFactory.create(Fixtures.BIND_EXAMPLES_ARGS, BindExamples.class, writer, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public BindExamples printUsage() {
+        command.printUsage(0);
+        return command;
+    }
+
+    @Benchmark
+    public String toStringBenchmark() {
+        return command.toString();
+    }
+}
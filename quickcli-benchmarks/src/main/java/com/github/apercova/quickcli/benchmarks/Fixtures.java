@@ -0,0 +1,292 @@
+package com.github.apercova.quickcli.benchmarks;
+
+import com.github.apercova.quickcli.Command;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+/**
+ * Benchmark fixtures. Commands with a large number of arguments are generated
+ * and compiled at setup time, so fixture size can be changed without
+ * checking thousands of generated lines in. Even-numbered arguments of
+ * generated commands have a default value, odd-numbered ones have none.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class Fixtures {
+
+    /**
+     * Arguments of the {@link com.github.apercova.quickcli.command.BindExamples}
+     * fixture.
+     */
+    public static final String[] BIND_EXAMPLES_ARGS = new String[]{
+        "--string", "sha1",
+        "--boolean",
+        "--byte", String.valueOf(Byte.MAX_VALUE),
+        "--short", String.valueOf(Short.MAX_VALUE),
+        "--int", String.valueOf(Integer.MAX_VALUE),
+        "--long", String.valueOf(Long.MAX_VALUE),
+        "--float", String.valueOf(Float.MAX_VALUE),
+        "--double", String.valueOf(Double.MAX_VALUE),
+        "--big-integer", String.valueOf(Long.MAX_VALUE + Long.MAX_VALUE),
+        "--big-decimal", String.valueOf(Long.MAX_VALUE * 1.23),
+        "--cs", "iso-8859-1",
+        "--help"
+    };
+
+    private Fixtures() {
+        super();
+    }
+
+    /**
+     * Argument binding of generated fixtures.
+     */
+    public enum Binding {
+        /**
+         * <code>int</code> fields, bound natively.
+         */
+        PRIMITIVE("int", null, "42"),
+        /**
+         * {@link java.nio.charset.Charset} fields, bound through a
+         * {@link com.github.apercova.quickcli.DatatypeConverter}.
+         */
+        CONVERTER("java.nio.charset.Charset",
+                "com.github.apercova.quickcli.examples.converter.SimpleCharsetConverter", "utf-8");
+
+        private final String type;
+        private final String converter;
+        private final String value;
+
+        private Binding(String type, String converter, String value) {
+            this.type = type;
+            this.converter = converter;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Generated command class. Closing it closes its class loader and deletes
+     * its compilation directory.
+     */
+    public static final class Fixture implements Closeable {
+
+        private final Class<? extends Command<?>> type;
+        private final URLClassLoader loader;
+        private final File dir;
+
+        private Fixture(Class<? extends Command<?>> type, URLClassLoader loader, File dir) {
+            this.type = type;
+            this.loader = loader;
+            this.dir = dir;
+        }
+
+        /**
+         * Retrieve generated command class.
+         *
+         * @return Command class.
+         */
+        public Class<? extends Command<?>> getType() {
+            return type;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (loader != null) {
+                    loader.close();
+                }
+            } finally {
+                delete(dir);
+            }
+        }
+    }
+
+    /**
+     * Generates and loads a command class with given number of arguments.
+     *
+     * @param fields Number of {@link com.github.apercova.quickcli.annotation.CLIArgument}
+     * fields.
+     * @param binding Fields binding.
+     * @return Generated command, to be closed at tear down.
+     * @throws IOException If fixture can not be compiled.
+     */
+    @SuppressWarnings("unchecked")
+    public static Fixture generate(int fields, Binding binding) throws IOException {
+        String simpleName = "Fixture" + fields + binding.name();
+        StringBuilder src = new StringBuilder();
+        src.append("package com.github.apercova.quickcli.benchmarks.generated;\n")
+                .append("@com.github.apercova.quickcli.annotation.CLICommand(value = \"")
+                .append(simpleName.toLowerCase(Locale.ENGLISH))
+                .append("\", description = \"Generated benchmark fixture\")\n")
+                .append("public class ").append(simpleName)
+                .append(" extends com.github.apercova.quickcli.Command<Void> {\n");
+        for (int i = 0; i < fields; i++) {
+            src.append("    @com.github.apercova.quickcli.annotation.CLIArgument(name = \"--option")
+                    .append(i).append("\", aliases = {\"-o").append(i)
+                    .append("\"}, usage = \"Generated option number ").append(i).append("\"");
+            if (i % 2 == 0) {
+                src.append(", value = \"").append(binding.value).append("\"");
+            }
+            src.append(")\n");
+            if (binding.converter != null) {
+                src.append("    @com.github.apercova.quickcli.annotation.CLIDatatypeConverter(")
+                        .append(binding.converter).append(".class)\n");
+            }
+            src.append("    private ").append(binding.type).append(" option").append(i).append(";\n");
+        }
+        src.append("}\n");
+
+        File dir = Files.createTempDirectory("quickcli-fixtures").toFile();
+        URLClassLoader loader = null;
+        boolean generated = false;
+        try {
+            loader = compile(dir, simpleName, src.toString());
+            Fixture fixture = new Fixture((Class<? extends Command<?>>) Class.forName(
+                    "com.github.apercova.quickcli.benchmarks.generated." + simpleName, true, loader), loader, dir);
+            generated = true;
+            return fixture;
+        } catch (ClassNotFoundException ex) {
+            throw new IOException(ex);
+        } finally {
+            if (!generated) {
+                new Fixture(null, loader, dir).close();
+            }
+        }
+    }
+
+    private static URLClassLoader compile(File dir, String simpleName, String src) throws IOException {
+        File pkg = new File(dir, "com/github/apercova/quickcli/benchmarks/generated");
+        if (!pkg.mkdirs()) {
+            throw new IOException("Can not create " + pkg);
+        }
+        File source = new File(pkg, simpleName + ".java");
+        Files.write(source.toPath(), src.getBytes("UTF-8"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IOException("Fixtures must be generated on a JDK");
+        }
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, Locale.ENGLISH, null);
+        try {
+            List<String> options = new ArrayList<String>(Arrays.asList(
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", dir.getPath(),
+                    "-proc:none"));
+            Writer out = new StringWriter();
+            boolean compiled = compiler.getTask(out, files, diagnostics, options, null,
+                    files.getJavaFileObjects(source)).call();
+            if (!compiled) {
+                throw new IOException("Can not compile " + simpleName + ": " + diagnostics.getDiagnostics());
+            }
+        } finally {
+            files.close();
+        }
+
+        return new URLClassLoader(new URL[]{dir.toURI().toURL()}, Fixtures.class.getClassLoader());
+    }
+
+    private static void delete(File dir) throws IOException {
+        if (!dir.exists()) {
+            return;
+        }
+        Files.walkFileTree(dir.toPath(), new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException ex) throws IOException {
+                if (ex != null) {
+                    throw ex;
+                }
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Build an argument vector setting every argument of a generated
+     * fixture.
+     *
+     * @param fields Number of fixture arguments.
+     * @param binding Fields binding.
+     * @return CLI arguments.
+     */
+    public static String[] arguments(int fields, Binding binding) {
+        String[] args = new String[fields * 2];
+        for (int i = 0; i < fields; i++) {
+            args[2 * i] = (i % 2 == 0 ? "--option" : "-o") + i;
+            args[2 * i + 1] = binding.value;
+        }
+        return args;
+    }
+
+    /**
+     * Build an argument vector setting only odd-numbered arguments of a
+     * generated fixture, so that the even-numbered ones get their default
+     * value on validation.
+     *
+     * @param fields Number of fixture arguments.
+     * @param binding Fields binding.
+     * @return CLI arguments.
+     */
+    public static String[] partialArguments(int fields, Binding binding) {
+        String[] args = new String[fields / 2 * 2];
+        for (int i = 1, j = 0; i < fields; i += 2) {
+            args[j++] = "--option" + i;
+            args[j++] = binding.value;
+        }
+        return args;
+    }
+
+    /**
+     * Writer discarding any output.
+     *
+     * @return Null writer.
+     */
+    public static Writer nullWriter() {
+        return new Writer() {
+            @Override
+            public void write(char[] cbuf, int off, int len) {
+            }
+
+            @Override
+            public void write(String str, int off, int len) {
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
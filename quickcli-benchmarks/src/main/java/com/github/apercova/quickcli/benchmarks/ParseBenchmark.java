@@ -0,0 +1,89 @@
+package com.github.apercova.quickcli.benchmarks;
+
+import com.github.apercova.quickcli.Command;
+import com.github.apercova.quickcli.CommandFactory;
+import com.github.apercova.quickcli.CommandParser;
+import com.github.apercova.quickcli.Messages;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parse and validation throughput of generated commands by number of
+ * arguments and binding kind. Validation runs on a command parsed from half
+ * of its arguments, so the other half is visited and gets default values.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int fields;
+
+    @Param({"PRIMITIVE", "CONVERTER"})
+    private Fixtures.Binding binding;
+
+    private Fixtures.Fixture fixture;
+    private Class<? extends Command<?>> type;
+    private String[] args;
+    private Messages messages;
+    private Command<?> parsed;
+
+    @Setup
+    public void setUp() throws Exception {
+        fixture = Fixtures.generate(fields, binding);
+        type = fixture.getType();
+        args = Fixtures.arguments(fields, binding);
+        messages = Messages.forLocale(Locale.ENGLISH);
+        parsed = CommandParser.parse(type.newInstance(), Fixtures.partialArguments(fields, binding), messages);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Command<?> parse() throws Exception {
+        return CommandParser.parse(type.newInstance(), args, messages);
+    }
+
+    @Benchmark
+    public Command<?> validate() throws Exception {
+        CommandParser.validate(parsed, messages);
+        return parsed;
+    }
+
+    @Benchmark
+    public Command<?> create() throws Exception {
+        return CommandFactory.create(args, type, Fixtures.nullWriter(), Locale.ENGLISH);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Command<?> createConcurrent() throws Exception {
+        return CommandFactory.create(args, type, Fixtures.nullWriter(), Locale.ENGLISH);
+    }
+}
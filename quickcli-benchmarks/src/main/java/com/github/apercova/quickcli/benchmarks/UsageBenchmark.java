@@ -0,0 +1,70 @@
+package com.github.apercova.quickcli.benchmarks;
+
+import com.github.apercova.quickcli.Command;
+import com.github.apercova.quickcli.CommandFactory;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Usage and string rendering throughput of generated commands by number of
+ * arguments.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UsageBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int fields;
+
+    @Param({"0", "80"})
+    private int width;
+
+    private Fixtures.Fixture fixture;
+    private Command<?> command;
+
+    @Setup
+    public void setUp() throws Exception {
+        Fixtures.Binding binding = Fixtures.Binding.PRIMITIVE;
+        fixture = Fixtures.generate(fields, binding);
+        command = CommandFactory.create(Fixtures.arguments(fields, binding),
+                fixture.getType(), Fixtures.nullWriter(), Locale.ENGLISH);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        fixture.close();
+    }
+
+    @Benchmark
+    public Command<?> printUsage() {
+        command.printUsage(width);
+        return command;
+    }
+
+    @Benchmark
+    public String toStringBenchmark() {
+        return command.toString();
+    }
+}
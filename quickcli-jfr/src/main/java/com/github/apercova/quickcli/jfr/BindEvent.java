@@ -0,0 +1,28 @@
+package com.github.apercova.quickcli.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Conversion of an argument value through a datatype converter.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+@Name(JfrEvents.PREFIX + "Bind")
+@Label("Argument Binding")
+@Description("Conversion of an argument value through a datatype converter.")
+@Threshold("1 ms")
+final class BindEvent extends CommandEvent {
+
+    @Label("Argument")
+    String argument;
+
+    @Label("Converter")
+    Class<?> converter;
+}
@@ -0,0 +1,27 @@
+package com.github.apercova.quickcli.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of QuickCLI Flight Recorder events. Event duration is the duration of
+ * the reported phase.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+@Category("QuickCLI")
+@StackTrace(false)
+abstract class CommandEvent extends Event {
+
+    @Label("Command")
+    Class<?> command;
+
+    @Label("Succeeded")
+    boolean succeeded;
+}
@@ -0,0 +1,132 @@
+package com.github.apercova.quickcli.jfr;
+
+import com.github.apercova.quickcli.instrument.Instrumentation;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Java Flight Recorder integration.
+ * <br><br>
+ * Once {@link #install()} is called, command creation, argument
+ * conversion, validation and execution are recorded as
+ * <code>com.github.apercova.quickcli.*</code> events while any recording is
+ * running. No {@link com.github.apercova.quickcli.instrument.CommandListener}
+ * is registered while recording is off, so instrumented code does not read
+ * the clock.
+ * <br><br>
+ * Events are enabled by default, with thresholds of 20 ms, 1 ms for
+ * argument conversion, and without stack traces. Thresholds and stack
+ * traces can be changed like any other event setting, for instance through
+ * the {@link #SETTINGS} configuration file.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class JfrEvents {
+
+    /**
+     * Event names prefix.
+     */
+    public static final String PREFIX = "com.github.apercova.quickcli.";
+    /**
+     * Classpath resource of the QuickCLI event settings file.
+     */
+    public static final String SETTINGS = "/com/github/apercova/quickcli/jfr/quickcli.jfc";
+
+    private static final JfrListener LISTENER = new JfrListener();
+    private static final FlightRecorderListener STATE = new FlightRecorderListener() {
+        @Override
+        public void recordingStateChanged(Recording recording) {
+            update();
+        }
+    };
+
+    private static boolean installed;
+    private static boolean listening;
+
+    private JfrEvents() {
+        super();
+    }
+
+    /**
+     * Registers QuickCLI event types and starts following recordings state.
+     * Has no effect if already installed.
+     */
+    public static synchronized void install() {
+        if (installed) {
+            return;
+        }
+        FlightRecorder.register(CreateEvent.class);
+        FlightRecorder.register(BindEvent.class);
+        FlightRecorder.register(ValidateEvent.class);
+        FlightRecorder.register(ExecuteEvent.class);
+        FlightRecorder.addListener(STATE);
+        installed = true;
+        update();
+    }
+
+    /**
+     * Stops recording QuickCLI events.
+     */
+    public static synchronized void uninstall() {
+        if (!installed) {
+            return;
+        }
+        FlightRecorder.removeListener(STATE);
+        Instrumentation.removeListener(LISTENER);
+        listening = false;
+        installed = false;
+    }
+
+    /**
+     * Load QuickCLI event settings, to be used along with other settings
+     * when starting a recording programmatically.
+     *
+     * @return QuickCLI event settings.
+     * @throws IOException If settings can not be read.
+     */
+    public static Configuration settings() throws IOException {
+        InputStream in = JfrEvents.class.getResourceAsStream(SETTINGS);
+        if (in == null) {
+            throw new IOException("Missing " + SETTINGS);
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        } catch (ParseException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    private static synchronized void update() {
+        if (!installed) {
+            return;
+        }
+        boolean running = false;
+        if (FlightRecorder.isInitialized()) {
+            for (Recording recording : FlightRecorder.getFlightRecorder().getRecordings()) {
+                if (recording.getState() == RecordingState.RUNNING) {
+                    running = true;
+                    break;
+                }
+            }
+        }
+        if (running && !listening) {
+            Instrumentation.addListener(LISTENER);
+        } else if (!running && listening) {
+            Instrumentation.removeListener(LISTENER);
+        }
+        listening = running;
+    }
+}
@@ -0,0 +1,112 @@
+package com.github.apercova.quickcli.jfr;
+
+import com.github.apercova.quickcli.ArgumentDescriptor;
+import com.github.apercova.quickcli.ConverterRegistry;
+import com.github.apercova.quickcli.DatatypeConverter;
+import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import com.github.apercova.quickcli.instrument.CommandListener;
+import com.github.apercova.quickcli.instrument.Phase;
+import java.util.ArrayDeque;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Listener emitting Flight Recorder events. Events begin when their phase
+ * starts and are kept in a per-thread stack until it completes, since
+ * phases nest.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+final class JfrListener implements CommandListener {
+
+    private final ThreadLocal<ArrayDeque<Started>> started = new ThreadLocal<ArrayDeque<Started>>() {
+        @Override
+        protected ArrayDeque<Started> initialValue() {
+            return new ArrayDeque<Started>();
+        }
+    };
+
+    @Override
+    public void phaseStarted(Class<?> command, Phase phase, ArgumentDescriptor argument) {
+        CommandEvent event = newEvent(phase);
+        if (event == null) {
+            return;
+        }
+        if (event.isEnabled()) {
+            event.command = command;
+            if (event instanceof BindEvent && argument != null) {
+                ((BindEvent) event).argument = argument.getName();
+                ((BindEvent) event).converter = converter(argument);
+            }
+            event.begin();
+        } else {
+            event = null;
+        }
+        started.get().push(new Started(phase, event));
+    }
+
+    @Override
+    public void phaseCompleted(Class<?> command, Phase phase, long nanos, boolean succeeded) {
+        ArrayDeque<Started> stack = started.get();
+        Started top = stack.peek();
+        if (top == null || top.phase != phase) {
+            //Phase started before listener registration
+            return;
+        }
+        stack.pop();
+        CommandEvent event = top.event;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    private static CommandEvent newEvent(Phase phase) {
+        switch (phase) {
+            case CREATE:
+                return new CreateEvent();
+            case CONVERT:
+                return new BindEvent();
+            case VALIDATE:
+                return new ValidateEvent();
+            case EXECUTE:
+                return new ExecuteEvent();
+            default:
+                return null;
+        }
+    }
+
+    private static Class<?> converter(ArgumentDescriptor argument) {
+        if (argument.getConverter() != null) {
+            return argument.getConverter();
+        }
+        try {
+            DatatypeConverter<?> converter = ConverterRegistry.forType(argument.getType());
+            return converter != null ? converter.getClass() : null;
+        } catch (ReflectiveOperationException ex) {
+            Logger.getLogger(JfrListener.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Started phase and its event, <code>null</code> if event is disabled.
+     */
+    private static final class Started {
+
+        private final Phase phase;
+        private final CommandEvent event;
+
+        Started(Phase phase, CommandEvent event) {
+            this.phase = phase;
+            this.event = event;
+        }
+    }
+}
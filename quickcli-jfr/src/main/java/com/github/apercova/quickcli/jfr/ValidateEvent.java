@@ -0,0 +1,22 @@
+package com.github.apercova.quickcli.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * Validation of command arguments and default values.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+@Name(JfrEvents.PREFIX + "Validate")
+@Label("Command Validation")
+@Description("Validation of command arguments and default values.")
+@Threshold("20 ms")
+final class ValidateEvent extends CommandEvent {
+}
@@ -0,0 +1,108 @@
+package com.github.apercova.quickcli.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.apercova.quickcli.Command;
+import com.github.apercova.quickcli.CommandFactory;
+import com.github.apercova.quickcli.DatatypeConverter;
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
+import com.github.apercova.quickcli.exception.DatatypeConverterException;
+import com.github.apercova.quickcli.exception.ExecutionException;
+import com.github.apercova.quickcli.instrument.Instrumentation;
+
+public class JfrEventsTest {
+
+    public static class CharsetConverter implements DatatypeConverter<Charset> {
+
+        public Charset parse(String value) throws DatatypeConverterException {
+            return Charset.forName(value);
+        }
+
+        public String format(Charset value) throws DatatypeConverterException {
+            return value.name();
+        }
+    }
+
+    @CLICommand("recorded")
+    public static class Recorded extends Command<String> {
+
+        @CLIArgument(name = "--cs", value = "utf-8")
+        @CLIDatatypeConverter(CharsetConverter.class)
+        private Charset cs;
+
+        @Override
+        public String execute() throws ExecutionException {
+            return cs.name();
+        }
+    }
+
+    @After
+    public void tearDown() {
+        JfrEvents.uninstall();
+    }
+
+    @Test
+    public void testEvents() throws Exception {
+        JfrEvents.install();
+        assertFalse(Instrumentation.isEnabled());
+
+        List<RecordedEvent> events = new ArrayList<RecordedEvent>();
+        File file = File.createTempFile("quickcli", ".jfr");
+        try (Recording recording = new Recording()) {
+            for (String name : new String[]{"Create", "Bind", "Validate", "Execute"}) {
+                recording.enable(JfrEvents.PREFIX + name).withoutThreshold();
+            }
+            recording.start();
+            assertTrue(Instrumentation.isEnabled());
+
+            Recorded command = CommandFactory.create(new String[]{"--cs", "iso-8859-1"},
+                    Recorded.class, new StringWriter(), Locale.ENGLISH);
+            assertEquals("ISO-8859-1", Instrumentation.execute(command));
+
+            recording.stop();
+            assertFalse(Instrumentation.isEnabled());
+            recording.dump(file.toPath());
+            events.addAll(RecordingFile.readAllEvents(file.toPath()));
+        } finally {
+            file.delete();
+        }
+
+        List<String> names = new ArrayList<String>();
+        for (RecordedEvent event : events) {
+            names.add(event.getEventType().getName().substring(JfrEvents.PREFIX.length()));
+            assertEquals(Recorded.class.getName(), event.getClass("command").getName());
+            assertTrue(event.getBoolean("succeeded"));
+            if ("Bind".equals(names.get(names.size() - 1))) {
+                assertEquals("--cs", event.getString("argument"));
+                assertEquals(CharsetConverter.class.getName(), event.getClass("converter").getName());
+            }
+        }
+        assertTrue(names.toString(), names.contains("Create"));
+        assertTrue(names.toString(), names.contains("Bind"));
+        assertTrue(names.toString(), names.contains("Validate"));
+        assertTrue(names.toString(), names.contains("Execute"));
+    }
+
+    @Test
+    public void testSettings() throws Exception {
+        assertEquals("20 ms", JfrEvents.settings().getSettings().get(JfrEvents.PREFIX + "Create#threshold"));
+    }
+}
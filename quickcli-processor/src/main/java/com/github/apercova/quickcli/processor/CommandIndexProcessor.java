@@ -0,0 +1,208 @@
+package com.github.apercova.quickcli.processor;
+
+import com.github.apercova.quickcli.CommandIndex;
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor that writes the {@link CommandIndex} resource listing
+ * every {@link CLICommand} annotated class of the compilation, so commands can
+ * be discovered at runtime without classpath scanning.
+ * <br><br>
+ * An index left by a previous compilation is merged, so incremental builds
+ * keep commands that were not recompiled. Entries whose class no longer
+ * exists, or that were renamed, are dropped.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+@SupportedAnnotationTypes("com.github.apercova.quickcli.annotation.CLICommand")
+public class CommandIndexProcessor extends AbstractProcessor {
+
+    /**
+     * Index lines by command name. Rendered as commands are found since
+     * elements should not be retained across rounds.
+     */
+    private final Map<String, String> commands = new TreeMap<String, String>();
+    private final Map<String, String> classNames = new TreeMap<String, String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element e : roundEnv.getElementsAnnotatedWith(CLICommand.class)) {
+            if (e.getKind() == ElementKind.CLASS && !e.getModifiers().contains(Modifier.ABSTRACT)) {
+                TypeElement type = (TypeElement) e;
+                CLICommand command = type.getAnnotation(CLICommand.class);
+                String className = processingEnv.getElementUtils().getBinaryName(type).toString();
+                String previous = classNames.put(command.value(), className);
+                if (previous != null && !previous.equals(className)) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                            "Command name " + command.value() + " is also used by " + previous, type);
+                }
+                commands.put(command.value(), render(type, command, className));
+            }
+        }
+        if (roundEnv.processingOver() && !commands.isEmpty()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    private String render(TypeElement type, CLICommand command, String className) {
+        StringWriter lines = new StringWriter();
+        PrintWriter out = new PrintWriter(lines);
+        line(out, "C", command.value(), className, command.description());
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            CLIArgument arg = field.getAnnotation(CLIArgument.class);
+            if (arg != null) {
+                List<String> fields = new ArrayList<String>();
+                fields.add("A");
+                fields.add(arg.name());
+                fields.add(arg.value());
+                fields.add(String.valueOf(arg.required()));
+                fields.add(arg.usage());
+                for (String alias : arg.aliases()) {
+                    fields.add(alias);
+                }
+                line(out, fields.toArray(new String[fields.size()]));
+            }
+        }
+        out.flush();
+        return lines.toString();
+    }
+
+    /**
+     * Read entries of an index written by a previous compilation, skipping
+     * commands found in this one and commands whose class no longer exists.
+     */
+    private Map<String, String> readPreviousIndex() {
+        Map<String, String> previous = new TreeMap<String, String>();
+        CommandIndex index;
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "",
+                    CommandIndex.RESOURCE);
+            Reader in = new InputStreamReader(resource.openInputStream(), Charset.forName("UTF-8"));
+            try {
+                index = CommandIndex.read(in);
+            } finally {
+                in.close();
+            }
+        } catch (IOException ex) {
+            return previous;
+        } catch (IllegalArgumentException ex) {
+            return previous;
+        }
+        for (CommandIndex.Entry entry : index.getCommands()) {
+            if (commands.containsKey(entry.getName())
+                    || classNames.containsValue(entry.getClassName())
+                    || processingEnv.getElementUtils().getTypeElement(
+                            entry.getClassName().replace('$', '.')) == null) {
+                continue;
+            }
+            previous.put(entry.getName(), render(entry));
+        }
+        return previous;
+    }
+
+    private static String render(CommandIndex.Entry entry) {
+        StringWriter lines = new StringWriter();
+        PrintWriter out = new PrintWriter(lines);
+        line(out, "C", entry.getName(), entry.getClassName(), entry.getDescription());
+        for (CommandIndex.Argument arg : entry.getArguments()) {
+            List<String> fields = new ArrayList<String>();
+            fields.add("A");
+            fields.add(arg.getName());
+            fields.add(arg.getValue());
+            fields.add(String.valueOf(arg.isRequired()));
+            fields.add(arg.getUsage());
+            fields.addAll(arg.getAliases());
+            line(out, fields.toArray(new String[fields.size()]));
+        }
+        out.flush();
+        return lines.toString();
+    }
+
+    private void writeIndex() {
+        Map<String, String> index = readPreviousIndex();
+        index.putAll(commands);
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    CommandIndex.RESOURCE);
+            Writer out = new OutputStreamWriter(resource.openOutputStream(), Charset.forName("UTF-8"));
+            try {
+                out.write(CommandIndex.HEADER);
+                out.write('\n');
+                for (String lines : index.values()) {
+                    out.write(lines);
+                }
+            } finally {
+                out.close();
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write " + CommandIndex.RESOURCE + ": " + ex.getMessage());
+        }
+    }
+
+    private static void line(PrintWriter out, String... fields) {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.print('\t');
+            }
+            String field = fields[i];
+            for (int j = 0; j < field.length(); j++) {
+                char c = field.charAt(j);
+                switch (c) {
+                    case '\\':
+                        out.print("\\\\");
+                        break;
+                    case '\t':
+                        out.print("\\t");
+                        break;
+                    case '\n':
+                        out.print("\\n");
+                        break;
+                    case '\r':
+                        out.print("\\r");
+                        break;
+                    default:
+                        out.print(c);
+                }
+            }
+        }
+        out.print('\n');
+    }
+}
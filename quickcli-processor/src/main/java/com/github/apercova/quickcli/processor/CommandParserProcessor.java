@@ -0,0 +1,363 @@
+package com.github.apercova.quickcli.processor;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Annotation processor that generates a reflection-free parser for each
+ * {@link CLICommand} annotated class. Generated parsers are named after their
+ * command class plus the <code>Parser</code> suffix and extend
+ * {@link com.github.apercova.quickcli.CompiledParser CompiledParser}.
+ * <br><br>
+ * Argument fields must be non-private, since generated parsers assign them
+ * directly as reflective parsing does. If a command can not be compiled, a
+ * note is issued and the command is parsed reflectively at runtime.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+@SupportedAnnotationTypes("com.github.apercova.quickcli.annotation.CLICommand")
+public class CommandParserProcessor extends AbstractProcessor {
+
+    private static final String COMMAND = "com.github.apercova.quickcli.Command";
+    private static final String PARSER_SUFFIX = "Parser";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element e : roundEnv.getElementsAnnotatedWith(CLICommand.class)) {
+            if (e.getKind() == ElementKind.CLASS) {
+                TypeElement type = (TypeElement) e;
+                List<ArgumentModel> arguments = readArguments(type);
+                if (arguments != null) {
+                    writeParser(type, arguments);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read command's arguments.
+     *
+     * @param type Command type.
+     * @return Command's arguments or <code>null</code> if command can not be
+     * compiled.
+     */
+    private List<ArgumentModel> readArguments(TypeElement type) {
+        Elements elements = processingEnv.getElementUtils();
+        Types types = processingEnv.getTypeUtils();
+
+        TypeElement command = elements.getTypeElement(COMMAND);
+        if (type.getNestingKind() != NestingKind.TOP_LEVEL) {
+            return skip(type, "only top-level classes are supported");
+        }
+        if (!type.getTypeParameters().isEmpty()) {
+            return skip(type, "generic classes are not supported");
+        }
+        if (command == null || !types.isAssignable(types.erasure(type.asType()), types.erasure(command.asType()))) {
+            return skip(type, "class does not extend " + COMMAND);
+        }
+        if (elements.getTypeElement(type.getQualifiedName() + PARSER_SUFFIX) != null) {
+            return skip(type, "class " + type.getQualifiedName() + PARSER_SUFFIX + " already exists");
+        }
+
+        List<ArgumentModel> arguments = new ArrayList<ArgumentModel>();
+        Set<String> aliases = new HashSet<String>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            CLIArgument arg = field.getAnnotation(CLIArgument.class);
+            if (arg == null) {
+                continue;
+            }
+            ArgumentModel model = new ArgumentModel(arguments.size(), field, arg);
+            if (!aliases.add(arg.name())) {
+                return skip(type, "duplicated argument " + arg.name());
+            }
+            for (String alias : arg.aliases()) {
+                if (!aliases.add(alias)) {
+                    return skip(type, "duplicated argument " + alias);
+                }
+            }
+
+            if (isMultiValued(field.asType())) {
+                return skip(type, "multi-valued field " + field.getSimpleName() + " is not supported");
+            }
+            model.converter = converter(field);
+            if (model.converter == null && parseExpression(field.asType(), "value") == null) {
+                return skip(type, "unsupported type for field " + field.getSimpleName());
+            }
+            if (model.converter != null && !isInstantiable(model.converter, type)) {
+                return skip(type, "converter " + model.converter.getQualifiedName() + " can not be instantiated");
+            }
+
+            if (field.getModifiers().contains(Modifier.FINAL)) {
+                return skip(type, "field " + field.getSimpleName() + " is final");
+            }
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                return skip(type, "field " + field.getSimpleName() + " is private");
+            }
+            arguments.add(model);
+        }
+        return arguments;
+    }
+
+    private List<ArgumentModel> skip(TypeElement type, String reason) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                "No parser generated for " + type.getQualifiedName() + ", " + reason
+                + ". Command will be parsed reflectively.", type);
+        return null;
+    }
+
+    /**
+     * Retrieve field's converter type if any.
+     */
+    private TypeElement converter(VariableElement field) {
+        for (AnnotationMirror mirror : field.getAnnotationMirrors()) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotation.getQualifiedName().contentEquals(CLIDatatypeConverter.class.getName())) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                        : mirror.getElementValues().entrySet()) {
+                    if (entry.getKey().getSimpleName().contentEquals("value")) {
+                        TypeMirror value = (TypeMirror) entry.getValue().getValue();
+                        return (TypeElement) ((DeclaredType) value).asElement();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private boolean isInstantiable(TypeElement converter, TypeElement from) {
+        if (converter.getModifiers().contains(Modifier.ABSTRACT)
+                || (converter.getNestingKind() != NestingKind.TOP_LEVEL
+                && !converter.getModifiers().contains(Modifier.STATIC))) {
+            return false;
+        }
+        for (ExecutableElement ctor : ElementFilter.constructorsIn(converter.getEnclosedElements())) {
+            if (ctor.getParameters().isEmpty()) {
+                return isAccessible(converter, from);
+            }
+        }
+        return false;
+    }
+
+    private boolean isAccessible(Element element, TypeElement from) {
+        Set<Modifier> modifiers = element.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        Elements elements = processingEnv.getElementUtils();
+        return elements.getPackageOf(element).equals(elements.getPackageOf(from));
+    }
+
+    /**
+     * Retrieve the expression that parses a value of given type.
+     *
+     * @param type Value type.
+     * @param value Value expression.
+     * @return Parse expression or <code>null</code> if type is not supported.
+     */
+    private String parseExpression(TypeMirror type, String value) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return "Boolean.parseBoolean(" + value + ")";
+            case BYTE:
+                return "Byte.parseByte(" + value + ")";
+            case SHORT:
+                return "Short.parseShort(" + value + ")";
+            case INT:
+                return "Integer.parseInt(" + value + ")";
+            case LONG:
+                return "Long.parseLong(" + value + ")";
+            case FLOAT:
+                return "Float.parseFloat(" + value + ")";
+            case DOUBLE:
+                return "Double.parseDouble(" + value + ")";
+            case DECLARED:
+                String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+                if ("java.lang.String".equals(name)) {
+                    return value;
+                }
+                if ("java.lang.Boolean".equals(name)
+                        || "java.lang.Byte".equals(name)
+                        || "java.lang.Short".equals(name)
+                        || "java.lang.Integer".equals(name)
+                        || "java.lang.Long".equals(name)
+                        || "java.lang.Float".equals(name)
+                        || "java.lang.Double".equals(name)) {
+                    return name + ".valueOf(" + value + ")";
+                }
+                if ("java.math.BigInteger".equals(name) || "java.math.BigDecimal".equals(name)) {
+                    return "new " + name + "(" + value + ")";
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Determine if fields of given type hold multiple values, which are bound
+     * reflectively.
+     *
+     * @param type Field type.
+     * @return <code>true</code> for arrays, lists and sets.
+     */
+    private boolean isMultiValued(TypeMirror type) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return true;
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+        return "java.util.List".equals(name) || "java.util.Set".equals(name);
+    }
+
+    private String typeLiteral(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.toString();
+        }
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private void writeParser(TypeElement type, List<ArgumentModel> arguments) {
+        Elements elements = processingEnv.getElementUtils();
+        PackageElement pkg = elements.getPackageOf(type);
+        String commandName = type.getQualifiedName().toString();
+        String parserName = type.getSimpleName() + PARSER_SUFFIX;
+        CLICommand cmd = type.getAnnotation(CLICommand.class);
+
+        try {
+            Writer writer = processingEnv.getFiler()
+                    .createSourceFile(commandName + PARSER_SUFFIX, type)
+                    .openWriter();
+            PrintWriter out = new PrintWriter(writer);
+            try {
+                if (!pkg.isUnnamed()) {
+                    out.printf("package %s;%n%n", pkg.getQualifiedName());
+                }
+                out.printf("/**%n * Compiled parser for {@link %s}.%n * Generated by quickcli-processor, do not edit.%n */%n", commandName);
+                out.printf("public final class %s extends com.github.apercova.quickcli.CompiledParser<%s> {%n%n",
+                        parserName, commandName);
+
+                out.printf("    public %s() {%n", parserName);
+                out.printf("        super(%s.class, %s, %s", commandName,
+                        elements.getConstantExpression(cmd.value()),
+                        elements.getConstantExpression(cmd.description()));
+                for (ArgumentModel arg : arguments) {
+                    out.printf(",%n                argument(%d, %s, new String[]{", arg.index,
+                            elements.getConstantExpression(arg.annotation.name()));
+                    String[] aliases = arg.annotation.aliases();
+                    for (int i = 0; i < aliases.length; i++) {
+                        out.print((i > 0 ? ", " : "") + elements.getConstantExpression(aliases[i]));
+                    }
+                    out.printf("}, %s, %b, %s, %s.class, %s)",
+                            elements.getConstantExpression(arg.annotation.value()),
+                            arg.annotation.required(),
+                            elements.getConstantExpression(arg.annotation.usage()),
+                            typeLiteral(arg.field.asType()),
+                            arg.converter != null ? arg.converter.getQualifiedName() + ".class" : "null");
+                }
+                out.printf(");%n    }%n%n");
+
+                out.printf("    @Override%n    protected int indexOf(String alias) {%n");
+                out.printf("        switch (alias) {%n");
+                for (ArgumentModel arg : arguments) {
+                    out.printf("            case %s:%n", elements.getConstantExpression(arg.annotation.name()));
+                    for (String alias : arg.annotation.aliases()) {
+                        out.printf("            case %s:%n", elements.getConstantExpression(alias));
+                    }
+                    out.printf("                return %d;%n", arg.index);
+                }
+                out.printf("            default:%n                return -1;%n        }%n    }%n%n");
+
+                out.printf("    @Override%n    protected void bind(%s command, int index, String value)%n", commandName);
+                out.printf("            throws com.github.apercova.quickcli.exception.DatatypeConverterException,%n");
+                out.printf("            com.github.apercova.quickcli.exception.ReflectiveOperationException {%n");
+                out.printf("        switch (index) {%n");
+                for (ArgumentModel arg : arguments) {
+                    String expression = arg.converter != null
+                            ? "(" + typeLiteral(arg.field.asType()) + ") com.github.apercova.quickcli.ConverterRegistry.getConverter("
+                            + arg.converter.getQualifiedName() + ".class).parse(value)"
+                            : parseExpression(arg.field.asType(), "value");
+                    out.printf("            case %d:%n", arg.index);
+                    out.printf("                command.%s = %s;%n", arg.field.getSimpleName(), expression);
+                    out.printf("                break;%n");
+                }
+                out.printf("            default:%n                throw new IndexOutOfBoundsException(String.valueOf(index));%n        }%n    }%n%n");
+
+                out.printf("    @Override%n    protected Object get(%s command, int index) {%n", commandName);
+                out.printf("        switch (index) {%n");
+                for (ArgumentModel arg : arguments) {
+                    out.printf("            case %d:%n", arg.index);
+                    out.printf("                return command.%s;%n", arg.field.getSimpleName());
+                }
+                out.printf("            default:%n                throw new IndexOutOfBoundsException(String.valueOf(index));%n        }%n    }%n");
+                out.printf("}%n");
+            } finally {
+                out.close();
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Unable to write parser for " + commandName + ": " + ex.getMessage(), type);
+        }
+    }
+
+    /**
+     * Compile-time argument model.
+     */
+    private static final class ArgumentModel {
+
+        private final int index;
+        private final VariableElement field;
+        private final CLIArgument annotation;
+        private TypeElement converter;
+
+        ArgumentModel(int index, VariableElement field, CLIArgument annotation) {
+            this.index = index;
+            this.field = field;
+            this.annotation = annotation;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.apercova.quickcli.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.apercova.quickcli.CommandIndex;
+
+public class CommandIndexProcessorTest {
+
+    @Rule
+    public TemporaryFolder temp = new TemporaryFolder();
+
+    private static File source(File dir, String name, String command) throws Exception {
+        File pkg = new File(dir, "src/inc");
+        pkg.mkdirs();
+        File file = new File(pkg, name + ".java");
+        String src = "package inc;\n"
+                + "@com.github.apercova.quickcli.annotation.CLICommand(\"" + command + "\")\n"
+                + "public class " + name + " extends com.github.apercova.quickcli.Command<Void> {\n"
+                + "    @com.github.apercova.quickcli.annotation.CLIArgument(name = \"--" + command + "\")\n"
+                + "    String value;\n"
+                + "}\n";
+        Files.write(file.toPath(), src.getBytes("UTF-8"));
+        return file;
+    }
+
+    private static void compile(File out, File source) {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assertNotNull(compiler);
+        int status = compiler.run(null, null, null,
+                "-classpath", out.getPath() + File.pathSeparator + System.getProperty("java.class.path"),
+                "-processor", CommandIndexProcessor.class.getName(),
+                "-d", out.getPath(), source.getPath());
+        assertEquals(0, status);
+    }
+
+    private static CommandIndex index(File out) throws Exception {
+        Reader in = new InputStreamReader(Files.newInputStream(
+                new File(out, CommandIndex.RESOURCE).toPath()), Charset.forName("UTF-8"));
+        try {
+            return CommandIndex.read(in);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void testIncremental() throws Exception {
+        File dir = temp.getRoot();
+        File out = new File(dir, "classes");
+        out.mkdirs();
+        File alpha = source(dir, "Alpha", "alpha");
+        File beta = source(dir, "Beta", "beta");
+
+        compile(out, alpha);
+        compile(out, beta);
+        CommandIndex index = index(out);
+        assertEquals(Arrays.asList("alpha", "beta"), index.getNames());
+        assertEquals("--alpha", index.getCommand("alpha").getArguments().get(0).getName());
+
+        source(dir, "Beta", "gamma");
+        compile(out, beta);
+        assertEquals(Arrays.asList("alpha", "gamma"), index(out).getNames());
+
+        assertTrue(new File(out, "inc/Alpha.class").delete());
+        compile(out, beta);
+        assertEquals(Arrays.asList("gamma"), index(out).getNames());
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.apercova.quickcli.processor;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.CommandDescriptor;
+import com.github.apercova.quickcli.CommandFactory;
+import com.github.apercova.quickcli.CommandIndex;
+import com.github.apercova.quickcli.CompiledParser;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+
+public class CommandParserProcessorTest {
+
+    @Test
+    public void testCompiled() throws Exception {
+        CommandDescriptor descriptor = CommandDescriptor.forClass(Greet.class);
+        assertTrue(descriptor instanceof CompiledParser);
+        assertEquals("greet", descriptor.getName());
+        assertEquals("Greets \"someone\".", descriptor.getDescription());
+        assertEquals(6, descriptor.getArguments().size());
+        assertTrue(descriptor.getArgument("--shout").isFlag());
+    }
+
+    @Test
+    public void testParse() throws Exception {
+        Greet command = CommandFactory.create(
+                new String[]{"-n", "world", "-t", "2", "-g", "hi", "--shout", "--lang", "es"},
+                Greet.class, new StringWriter(), Locale.ENGLISH);
+        assertEquals("greet", command.getName());
+        assertEquals("world", command.name);
+        assertEquals(2, command.times);
+        assertEquals(new BigDecimal("0.15"), command.tip);
+        assertEquals("HI", command.greeting);
+        assertEquals("es", command.getLang());
+        assertTrue(command.shout);
+        assertEquals("HI WORLDHI WORLD", command.execute());
+    }
+
+    @Test(expected = CLIArgumentException.class)
+    public void testRequired() throws Exception {
+        CommandFactory.create(new String[]{"-t", "2"}, Greet.class, new StringWriter(), Locale.ENGLISH);
+    }
+
+    @Test(expected = CLIArgumentException.class)
+    public void testInvalidNumber() throws Exception {
+        CommandFactory.create(new String[]{"-n", "world", "-t", "two"}, Greet.class, new StringWriter(), Locale.ENGLISH);
+    }
+
+    @Test
+    public void testFallback() throws Exception {
+        assertFalse(CommandDescriptor.forClass(Fallback.class) instanceof CompiledParser);
+        Fallback command = CommandFactory.create(new String[]{"--value", "x"}, Fallback.class, new StringWriter(), Locale.ENGLISH);
+        assertEquals("x", command.getValue());
+    }
+
+    @Test
+    public void testMultiValued() throws Exception {
+        assertFalse(CommandDescriptor.forClass(Repeated.class) instanceof CompiledParser);
+        Repeated command = CommandFactory.create(new String[]{"--id", "1,2", "--word", "a", "--id", "3"},
+                Repeated.class, new StringWriter(), Locale.ENGLISH);
+        assertArrayEquals(new int[]{1, 2, 3}, command.ids);
+        assertEquals(Arrays.asList("A"), command.words);
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        CommandIndex index = CommandIndex.load(getClass().getClassLoader());
+        assertEquals(Arrays.asList("fallback", "greet", "repeated"), index.getNames());
+        assertEquals(Greet.class.getName(), index.getCommand("greet").getClassName());
+
+        StringWriter indexed = new StringWriter();
+        index.getCommand("greet").printUsage(new PrintWriter(indexed), Locale.ENGLISH);
+        Greet command = CommandFactory.create(new String[]{"-n", "world"}, Greet.class,
+                new StringWriter(), Locale.ENGLISH);
+        StringWriter loaded = new StringWriter();
+        command.setWriter(new PrintWriter(loaded));
+        command.printUsage();
+        command.getWriter().flush();
+        assertEquals(loaded.toString(), indexed.toString());
+    }
+}
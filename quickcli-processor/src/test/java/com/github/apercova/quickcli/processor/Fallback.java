@@ -0,0 +1,20 @@
+package com.github.apercova.quickcli.processor;
+
+import com.github.apercova.quickcli.Command;
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+
+@CLICommand("fallback")
+public class Fallback extends Command<Void> {
+
+    @CLIArgument(name = "--value")
+    private String value;
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = "set:" + value;
+    }
+}
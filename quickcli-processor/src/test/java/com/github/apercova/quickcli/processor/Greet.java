@@ -0,0 +1,44 @@
+package com.github.apercova.quickcli.processor;
+
+import java.math.BigDecimal;
+
+import com.github.apercova.quickcli.Command;
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
+import com.github.apercova.quickcli.exception.ExecutionException;
+
+@CLICommand(value = "greet", description = "Greets \"someone\".")
+public class Greet extends Command<String> {
+
+    @CLIArgument(name = "--name", aliases = {"-n"}, required = true)
+    String name;
+    @CLIArgument(name = "--times", aliases = {"-t"}, value = "1")
+    int times;
+    @CLIArgument(name = "--tip", value = "0.15")
+    BigDecimal tip;
+    @CLIArgument(name = "--shout")
+    boolean shout;
+    @CLIArgument(name = "--greeting", aliases = {"-g"}, value = "hello")
+    @CLIDatatypeConverter(UpperCaseConverter.class)
+    String greeting;
+    @CLIArgument(name = "--lang", value = "en")
+    String lang;
+
+    public String getLang() {
+        return lang;
+    }
+
+    public void setLang(String lang) {
+        this.lang = lang;
+    }
+
+    @Override
+    public String execute() throws ExecutionException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            sb.append(greeting).append(' ').append(name);
+        }
+        return shout ? sb.toString().toUpperCase() : sb.toString();
+    }
+}
@@ -0,0 +1,19 @@
+package com.github.apercova.quickcli.processor;
+
+import java.util.List;
+
+import com.github.apercova.quickcli.Command;
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
+
+@CLICommand("repeated")
+public class Repeated extends Command<Void> {
+
+    @CLIArgument(name = "--id")
+    int[] ids;
+
+    @CLIArgument(name = "--word")
+    @CLIDatatypeConverter(UpperCaseConverter.class)
+    List<String> words;
+}
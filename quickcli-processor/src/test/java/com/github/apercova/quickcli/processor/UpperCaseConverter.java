@@ -0,0 +1,17 @@
+package com.github.apercova.quickcli.processor;
+
+import java.util.Locale;
+
+import com.github.apercova.quickcli.DatatypeConverter;
+import com.github.apercova.quickcli.exception.DatatypeConverterException;
+
+public class UpperCaseConverter implements DatatypeConverter<String> {
+
+    public String parse(String value) throws DatatypeConverterException {
+        return value.toUpperCase(Locale.ROOT);
+    }
+
+    public String format(String value) throws DatatypeConverterException {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable description of a {@link CLIArgument} annotated field.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class ArgumentDescriptor {
+
+    private final int index;
+    private final String name;
+    private final List<String> aliases;
+    private final String value;
+    private final boolean required;
+    private final String usage;
+    private final Field field;
+    private final Class<?> type;
+    private final Class<? extends DatatypeConverter<?>> converter;
+    private final FieldBinder binder;
+
+    ArgumentDescriptor(int index, Field field) {
+        CLIArgument arg = field.getAnnotation(CLIArgument.class);
+        CLIDatatypeConverter conv = field.getAnnotation(CLIDatatypeConverter.class);
+        field.setAccessible(true);
+
+        this.index = index;
+        this.name = arg.name();
+        this.aliases = Collections.unmodifiableList(Arrays.asList(arg.aliases().clone()));
+        this.value = arg.value();
+        this.required = arg.required();
+        this.usage = arg.usage();
+        this.field = field;
+        this.type = field.getType();
+        this.converter = conv != null ? conv.value() : null;
+        this.binder = FieldBinder.forField(field, converter);
+    }
+
+    ArgumentDescriptor(int index, String name, String[] aliases, String value, boolean required, String usage,
+            Class<?> type, Class<? extends DatatypeConverter<?>> converter, FieldBinder binder) {
+        this.index = index;
+        this.name = name;
+        this.aliases = Collections.unmodifiableList(Arrays.asList(aliases.clone()));
+        this.value = value;
+        this.required = required;
+        this.usage = usage;
+        this.field = null;
+        this.type = type;
+        this.converter = converter;
+        this.binder = binder;
+    }
+
+    /**
+     * Retrieve argument's position within its command declared arguments.
+     *
+     * @return argument's position.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Retrieve argument's name.
+     *
+     * @return argument's name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieve argument's aliases.
+     *
+     * @return argument's aliases.
+     */
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    /**
+     * Retrieve argument's default value.
+     *
+     * @return argument's default value.
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Determine if argument is required.
+     *
+     * @return <code>true</code> if argument is required.
+     */
+    public boolean isRequired() {
+        return required;
+    }
+
+    /**
+     * Retrieve argument's usage.
+     *
+     * @return argument's usage.
+     */
+    public String getUsage() {
+        return usage;
+    }
+
+    /**
+     * Retrieve argument's accessible {@link Field}.
+     *
+     * @return argument's {@link Field} or <code>null</code> if argument was
+     * described at compile-time.
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Retrieve argument's value type.
+     *
+     * @return argument's value type.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Retrieve argument's {@link DatatypeConverter} class if any.
+     *
+     * @return argument's {@link DatatypeConverter} class or <code>null</code>.
+     */
+    public Class<? extends DatatypeConverter<?>> getConverter() {
+        return converter;
+    }
+
+    /**
+     * Retrieve argument's type-specialized {@link FieldBinder}.
+     *
+     * @return argument's binder or <code>null</code> if argument must be bound
+     * reflectively.
+     */
+    public FieldBinder getBinder() {
+        return binder;
+    }
+
+    /**
+     * Determine if argument is a flag, that is a boolean argument which takes
+     * no value.
+     *
+     * @return <code>true</code> if argument is a flag.
+     */
+    public boolean isFlag() {
+        return boolean.class.equals(type) || Boolean.class.equals(type);
+    }
+
+    @Override
+    public String toString() {
+        return "ArgumentDescriptor [name=" + name + ", aliases=" + aliases + ", type=" + type.getName() + "]";
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.apercova.quickcli;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Argument file tokenizer. File is read through a memory-mapped
+ * {@link FileChannel}, one window at a time, decoded as UTF-8 and split into
+ * tokens on demand, so memory use does not depend on file size.
+ * <br><br>
+ * Tokens are separated by whitespace. Single or double quotes group
+ * whitespace into a token, and a backslash escapes the next character inside
+ * double quotes. A <code>#</code> at the start of a token comments the rest of
+ * the line out.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class ArgumentFile extends ArgumentTokenizer {
+
+    private static final long WINDOW = 8L * 1024 * 1024;
+    private static final int CHARS = 8 * 1024;
+
+    private final File path;
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long size;
+    private final long windowSize;
+    private final CharsetDecoder decoder;
+    private final CharBuffer chars;
+    private ByteBuffer window;
+    private long offset;
+    private boolean done;
+
+    ArgumentFile(File path, long windowSize) throws IOException {
+        this.path = path;
+        this.windowSize = windowSize;
+        this.file = new RandomAccessFile(path, "r");
+        this.channel = file.getChannel();
+        this.size = channel.size();
+        this.decoder = Charset.forName("UTF-8").newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.chars = CharBuffer.allocate(CHARS);
+        this.chars.flip();
+    }
+
+    /**
+     * Opens an argument file.
+     *
+     * @param path Argument file.
+     * @return Argument file source.
+     * @throws IOException If file can not be opened.
+     */
+    public static ArgumentFile open(File path) throws IOException {
+        return new ArgumentFile(path, WINDOW);
+    }
+
+    @Override
+    protected String read() throws IOException {
+        try {
+            return super.read();
+        } catch (CharacterCodingException ex) {
+            throw new IOException(String.format("%s: Invalid UTF-8 content", path), ex);
+        } catch (IOException ex) {
+            throw new IOException(String.format("%s: %s", path, ex.getMessage()), ex);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        file.close();
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+
+    @Override
+    protected int nextChar() throws IOException {
+        if (!chars.hasRemaining() && !fill()) {
+            return -1;
+        }
+        return chars.get();
+    }
+
+    /**
+     * Decode next chars, mapping a new window when current one is consumed.
+     * A window may end in the middle of a multi-byte sequence, so next window
+     * starts at the first undecoded byte.
+     */
+    private boolean fill() throws IOException {
+        chars.clear();
+        while (!done && chars.position() == 0) {
+            boolean last = offset >= size;
+            if (window != null) {
+                CoderResult result = decoder.decode(window, chars, last);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (result.isOverflow() || chars.position() > 0) {
+                    continue;
+                }
+            }
+            if (last) {
+                if (window != null) {
+                    decoder.flush(chars);
+                }
+                done = true;
+            } else {
+                int remaining = window != null ? window.remaining() : 0;
+                long start = offset - remaining;
+                long length = Math.min(Math.max(windowSize, remaining + 1), size - start);
+                window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                offset = start + length;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+}
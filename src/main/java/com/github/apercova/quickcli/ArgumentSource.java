@@ -0,0 +1,187 @@
+package com.github.apercova.quickcli;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Lazy source of command line tokens with one-token lookahead.
+ * <br><br>
+ * Sources created by {@link #of(String[])} return arguments as given. Sources
+ * created by {@link #expanding(String[])} also expand <code>@path</code>
+ * arguments naming an existing file into the tokens of that file, see
+ * {@link ArgumentFile}. Only arguments in option position are expanded,
+ * never option values nor tokens read from an argument file, so expansion is
+ * meant for trusted <code>main</code>-style entry points only. Tokens are
+ * produced one at a time as the parser consumes them, so the full argument
+ * list is never held in memory.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public abstract class ArgumentSource implements Closeable {
+
+    private String lookahead;
+    private boolean peeked;
+
+    /**
+     * Creates a source over provided arguments. Arguments are returned as
+     * given.
+     *
+     * @param args Command line arguments.
+     * @return Argument source.
+     */
+    public static ArgumentSource of(String[] args) {
+        return new Literal(args);
+    }
+
+    /**
+     * Creates a source over provided arguments, expanding argument files in
+     * option position.
+     *
+     * @param args Command line arguments.
+     * @return Argument source.
+     */
+    public static ArgumentSource expanding(String[] args) {
+        return new Expanding(args);
+    }
+
+    /**
+     * Read next token.
+     *
+     * @return Next token or <code>null</code> if source is exhausted.
+     * @throws IOException If an I/O error occurs.
+     */
+    protected abstract String read() throws IOException;
+
+    /**
+     * Determine if there are more tokens.
+     *
+     * @return <code>true</code> if there are more tokens.
+     * @throws IOException If an I/O error occurs.
+     */
+    public final boolean hasNext() throws IOException {
+        return peek() != null;
+    }
+
+    /**
+     * Retrieve next token without consuming it.
+     *
+     * @return Next token or <code>null</code> if source is exhausted.
+     * @throws IOException If an I/O error occurs.
+     */
+    public final String peek() throws IOException {
+        if (!peeked) {
+            lookahead = read();
+            peeked = true;
+        }
+        return lookahead;
+    }
+
+    /**
+     * Consume next token.
+     *
+     * @return Next token or <code>null</code> if source is exhausted.
+     * @throws IOException If an I/O error occurs.
+     */
+    public final String next() throws IOException {
+        String token = peek();
+        peeked = false;
+        lookahead = null;
+        return token;
+    }
+
+    /**
+     * Expand an argument file named by last consumed token, if supported.
+     * Called by parser for tokens in option position only.
+     *
+     * @param token Last consumed token.
+     * @return <code>true</code> if token was expanded and its tokens follow.
+     * @throws IOException If argument file can not be opened.
+     */
+    boolean expand(String token) throws IOException {
+        return false;
+    }
+
+    /**
+     * Discard lookahead token, for sources reading a new input.
+     */
+    void reset() {
+        peeked = false;
+        lookahead = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+    }
+
+    /**
+     * Array source returning arguments as given.
+     */
+    private static class Literal extends ArgumentSource {
+
+        private final String[] args;
+        private int index;
+
+        Literal(String[] args) {
+            this.args = args;
+        }
+
+        @Override
+        protected String read() throws IOException {
+            return index < args.length ? args[index++] : null;
+        }
+    }
+
+    /**
+     * Array source expanding argument files on demand.
+     */
+    private static final class Expanding extends Literal {
+
+        private ArgumentFile file;
+        private boolean fromFile;
+
+        Expanding(String[] args) {
+            super(args);
+        }
+
+        @Override
+        protected String read() throws IOException {
+            if (file != null) {
+                String token = file.read();
+                if (token != null) {
+                    fromFile = true;
+                    return token;
+                }
+                file.close();
+                file = null;
+            }
+            fromFile = false;
+            return super.read();
+        }
+
+        @Override
+        boolean expand(String token) throws IOException {
+            if (fromFile || token.length() < 2 || token.charAt(0) != '@') {
+                return false;
+            }
+            File path = new File(token.substring(1));
+            if (!path.isFile()) {
+                return false;
+            }
+            file = ArgumentFile.open(path);
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (file != null) {
+                file.close();
+                file = null;
+            }
+        }
+    }
+}
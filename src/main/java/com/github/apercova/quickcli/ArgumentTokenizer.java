@@ -0,0 +1,128 @@
+package com.github.apercova.quickcli;
+
+import java.io.IOException;
+
+/**
+ * Argument tokenizer over a char stream.
+ * <br><br>
+ * Tokens are separated by whitespace. Single or double quotes group
+ * whitespace into a token, and a backslash escapes the next character inside
+ * double quotes. A <code>#</code> at the start of a token comments the rest of
+ * the line out.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+abstract class ArgumentTokenizer extends ArgumentSource {
+
+    private final StringBuilder token = new StringBuilder();
+
+    /**
+     * Creates a reusable tokenizer over a single line of text.
+     *
+     * @return Line tokenizer.
+     */
+    static Line forLines() {
+        return new Line();
+    }
+
+    /**
+     * Read next char.
+     *
+     * @return Next char or -1 at end of stream.
+     * @throws IOException If an I/O error occurs.
+     */
+    protected abstract int nextChar() throws IOException;
+
+    @Override
+    protected String read() throws IOException {
+        int c = skip();
+        if (c < 0) {
+            return null;
+        }
+        token.setLength(0);
+        int quote = 0;
+        for (; c >= 0; c = nextChar()) {
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                } else if (c == '\\' && quote == '"') {
+                    c = nextChar();
+                    if (c < 0) {
+                        break;
+                    }
+                    token.append(escape((char) c));
+                } else {
+                    token.append((char) c);
+                }
+            } else if (Character.isWhitespace(c)) {
+                break;
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else {
+                token.append((char) c);
+            }
+        }
+        if (quote != 0) {
+            throw new IOException("Unterminated quoted token");
+        }
+        return token.toString();
+    }
+
+    /**
+     * Skip whitespace and comments.
+     *
+     * @return First token char or -1 at end of stream.
+     */
+    private int skip() throws IOException {
+        int c = nextChar();
+        while (c >= 0) {
+            if (c == '#') {
+                while (c >= 0 && c != '\n' && c != '\r') {
+                    c = nextChar();
+                }
+            } else if (!Character.isWhitespace(c)) {
+                return c;
+            }
+            c = nextChar();
+        }
+        return c;
+    }
+
+    private static char escape(char c) {
+        switch (c) {
+            case 'n':
+                return '\n';
+            case 't':
+                return '\t';
+            case 'r':
+                return '\r';
+            default:
+                return c;
+        }
+    }
+
+    /**
+     * Tokenizer over a line of text, reset for every line.
+     */
+    static final class Line extends ArgumentTokenizer {
+
+        private CharSequence text;
+        private int position;
+
+        Line reset(CharSequence text) {
+            this.text = text;
+            this.position = 0;
+            reset();
+            return this;
+        }
+
+        @Override
+        protected int nextChar() {
+            return position < text.length() ? text.charAt(position++) : -1;
+        }
+    }
+}
@@ -1,16 +1,13 @@
 package com.github.apercova.quickcli;
 
 import com.github.apercova.quickcli.exception.ExecutionException;
-import com.github.apercova.quickcli.annotation.CLIArgument;
-import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.io.ChannelWriter;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.io.Writer;
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.Arrays;
 import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -48,6 +45,14 @@ public abstract class Command<T> implements Executable<T>, Closeable {
      * Command {@link PrintWriter}.
      */
     protected PrintWriter writer;
+    /**
+     * Owning {@link CommandPool} while a pooled instance is in use.
+     */
+    volatile CommandPool<?> pool;
+    /**
+     * Bitset of the arguments given to the last parse, by argument index.
+     */
+    long[] present;
 
     public Command() {
     }
@@ -72,6 +77,9 @@ public abstract class Command<T> implements Executable<T>, Closeable {
 
     /**
      * Set provided {@link Writer} as the underlying {@link PrintWriter}.
+     * A {@link ChannelWriter} is wrapped without auto-flush, since it follows
+     * its own {@link com.github.apercova.quickcli.io.FlushPolicy}. Other
+     * writers are wrapped with auto-flush.
      *
      * @param writer out writer.
      */
@@ -79,7 +87,7 @@ public abstract class Command<T> implements Executable<T>, Closeable {
         this.writer = ((writer != null)
                 ? (writer instanceof PrintWriter
                         ? (PrintWriter) writer
-                        : new PrintWriter(writer, true))
+                        : new PrintWriter(writer, !(writer instanceof ChannelWriter)))
                 : new PrintWriter(System.out, true));
     }
 
@@ -111,32 +119,23 @@ public abstract class Command<T> implements Executable<T>, Closeable {
     }
 
     /**
-     * Display auto-generated usage info.
+     * Display auto-generated usage info, wrapped to terminal width if the
+     * <code>COLUMNS</code> environment variable is set.
      */
     public void printUsage() {
-        if (getClass().isAnnotationPresent(CLICommand.class)) {
-            CLICommand command = getClass().getAnnotation(CLICommand.class);
-            if (command.value() != null && command.value().length() != 0) {
-                writer.printf(locale, "[%s]: ", command.value());
-            }
-            if (command.description() != null && command.description().length() != 0) {
-                writer.printf(locale, "%-100s", command.description());
-            }
-            writer.printf(locale, "%n");
-        }
-        writer.printf(locale, "%-5s%-15s%-25s %s%n", "", "option", "aliases", "usage");
-        writer.printf(locale, "%-5s%-15s%-25s %s%n", "", "----------", "---------------", "-------------------------");
-        for (Field f : getClass().getDeclaredFields()) {
-            if (f.isAnnotationPresent(CLIArgument.class)) {
-                CLIArgument arg = f.getAnnotation(CLIArgument.class);
-                if (arg.aliases().length > 0) {
-                    writer.printf(locale, "%-5s%-15s%-25s %s%n", "", arg.name(), Arrays.toString(arg.aliases()), arg.usage());
-                } else {
-                    writer.printf(locale, "%-5s%-40s %s%n", "", arg.name(), arg.usage());
-                }
+        printUsage(Usage.terminalWidth());
+    }
 
-            }
-        }
+    /**
+     * Display auto-generated usage info. Usage text is rendered once per
+     * command class, locale and width.
+     *
+     * @param width Terminal width, zero or less to disable wrapping.
+     * @since 1.1
+     */
+    public void printUsage(int width) {
+        writer.write(Usage.forCommand(getClass(), locale, width));
+        writer.flush();
     }
 
     /**
@@ -155,13 +154,9 @@ public abstract class Command<T> implements Executable<T>, Closeable {
         StringBuilder sb = new StringBuilder();
         sb.append(getClass().getSimpleName()).append(" [name=").append(name).append(", description=").append(description);
 
-        for (Field f : getClass().getDeclaredFields()) {
+        for (Field f : CommandDescriptor.forClass(getClass()).getProperties()) {
             try {
-                if (Modifier.isPublic(f.getModifiers())
-                        || f.isAnnotationPresent(CLIArgument.class)) {
-                    f.setAccessible(true);
-                    sb.append(String.format(", %s=%s", f.getName(), f.get(this)));
-                }
+                sb.append(String.format(", %s=%s", f.getName(), f.get(this)));
             } catch (IllegalAccessException e) {
                 LOGGER.log(Level.FINER, e.getMessage(), e);
             } catch (IllegalArgumentException e) {
@@ -172,10 +167,21 @@ public abstract class Command<T> implements Executable<T>, Closeable {
         return sb.toString();
     }
 
+    /**
+     * Close command's writer. Pooled instances are then given back to their
+     * {@link CommandPool} and must not be used any longer. Writer is closed
+     * on every instance, so commands writing to standard output close it.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
     public void close() throws IOException {
         if (writer != null) {
             writer.close();
         }
+        CommandPool<?> owner = pool;
+        if (owner != null) {
+            owner.recycle(this);
+        }
     }
 
 }
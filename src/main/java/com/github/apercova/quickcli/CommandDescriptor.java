@@ -0,0 +1,230 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Immutable and thread-safe description of a command class. It's built once
+ * per class and holds everything needed to parse, validate and display a
+ * command so no reflective lookups are needed afterwards.
+ * <br><br>
+ * If a {@link CompiledParser} generated at compile-time is available for a
+ * command class, it's used as the class descriptor. Other ways descriptor is
+ * built reflectively.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public class CommandDescriptor {
+
+    private static final ClassValue<CommandDescriptor> DESCRIPTORS = new ClassValue<CommandDescriptor>() {
+        @Override
+        protected CommandDescriptor computeValue(Class<?> type) {
+            CommandDescriptor compiled = compiled(type);
+            return compiled != null ? compiled : new CommandDescriptor(type);
+        }
+    };
+
+    private final Class<?> type;
+    private final String name;
+    private final String description;
+    private final List<ArgumentDescriptor> arguments;
+    private final Map<String, ArgumentDescriptor> aliases;
+    private volatile List<Field> properties;
+
+    private CommandDescriptor(Class<?> type) {
+        CLICommand command = type.getAnnotation(CLICommand.class);
+        List<ArgumentDescriptor> args = new ArrayList<ArgumentDescriptor>();
+
+        for (Field f : type.getDeclaredFields()) {
+            if (f.isAnnotationPresent(CLIArgument.class)) {
+                args.add(new ArgumentDescriptor(args.size(), f));
+            }
+        }
+
+        this.type = type;
+        this.name = command != null ? command.value() : null;
+        this.description = command != null ? command.description() : null;
+        this.arguments = Collections.unmodifiableList(args);
+        this.aliases = aliases(args);
+    }
+
+    /**
+     * Creates a descriptor from already resolved arguments.
+     *
+     * @param type Command class.
+     * @param name Command's name.
+     * @param description Command's description.
+     * @param arguments Command's arguments in declaration order.
+     */
+    protected CommandDescriptor(Class<?> type, String name, String description, List<ArgumentDescriptor> arguments) {
+        this.type = type;
+        this.name = name;
+        this.description = description;
+        this.arguments = Collections.unmodifiableList(new ArrayList<ArgumentDescriptor>(arguments));
+        this.aliases = aliases(arguments);
+    }
+
+    private static Map<String, ArgumentDescriptor> aliases(List<ArgumentDescriptor> arguments) {
+        Map<String, ArgumentDescriptor> argMap = new HashMap<String, ArgumentDescriptor>();
+        for (ArgumentDescriptor arg : arguments) {
+            argMap.put(arg.getName(), arg);
+            for (String alias : arg.getAliases()) {
+                argMap.put(alias, arg);
+            }
+        }
+        return Collections.unmodifiableMap(argMap);
+    }
+
+    /**
+     * Look up for a {@link CompiledParser} named after the command class. The
+     * candidate class is not initialized unless it is a compiled parser.
+     *
+     * @param type Command class.
+     * @return Compiled parser or <code>null</code> if none is available.
+     */
+    private static CommandDescriptor compiled(Class<?> type) {
+        if (!type.isAnnotationPresent(CLICommand.class) || type.getClassLoader() == null) {
+            return null;
+        }
+        try {
+            Class<?> parser = Class.forName(type.getName() + "Parser", false, type.getClassLoader());
+            if (CompiledParser.class.isAssignableFrom(parser)) {
+                CommandDescriptor descriptor = (CommandDescriptor) parser.getDeclaredConstructor().newInstance();
+                if (type.equals(descriptor.getType())) {
+                    return descriptor;
+                }
+            }
+        } catch (ClassNotFoundException ex) {
+            Logger.getLogger(CommandDescriptor.class.getName()).log(Level.FINEST, ex.getMessage(), ex);
+        } catch (InstantiationException ex) {
+            Logger.getLogger(CommandDescriptor.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+        } catch (IllegalAccessException ex) {
+            Logger.getLogger(CommandDescriptor.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+        } catch (NoSuchMethodException ex) {
+            Logger.getLogger(CommandDescriptor.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+        } catch (InvocationTargetException ex) {
+            Logger.getLogger(CommandDescriptor.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+        }
+        return null;
+    }
+
+    /**
+     * Retrieve the descriptor for the provided command class. Descriptors are
+     * built on first request and cached afterwards.
+     *
+     * @param type Command class.
+     * @return Command descriptor.
+     */
+    public static CommandDescriptor forClass(Class<?> type) {
+        return DESCRIPTORS.get(type);
+    }
+
+    /**
+     * Retrieve described command class.
+     *
+     * @return command class.
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Determine if described class is annotated with {@link CLICommand}.
+     *
+     * @return <code>true</code> if described class is a command.
+     */
+    public boolean isCommand() {
+        return name != null;
+    }
+
+    /**
+     * Retrieve command's name.
+     *
+     * @return command's name or <code>null</code> if class is not a command.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieve command's description.
+     *
+     * @return command's description or <code>null</code> if class is not a
+     * command.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Retrieve command's arguments in declaration order.
+     *
+     * @return command's arguments.
+     */
+    public List<ArgumentDescriptor> getArguments() {
+        return arguments;
+    }
+
+    /**
+     * Retrieve the argument declared with provided name or alias.
+     *
+     * @param alias Argument name or alias.
+     * @return Argument or <code>null</code> if there is no such argument.
+     */
+    public ArgumentDescriptor getArgument(String alias) {
+        return aliases.get(alias);
+    }
+
+    /**
+     * Determine if given alias is a valid argument.
+     *
+     * @param alias Test alias.
+     * @return <code>true</code> if given alias is a valid argument.
+     * <code>false</code> other ways.
+     */
+    public boolean isArgument(String alias) {
+        return aliases.containsKey(alias);
+    }
+
+    /**
+     * Retrieve accessible fields that are part of command's text-based
+     * representation, that is public and argument fields.
+     *
+     * @return accessible fields.
+     */
+    public List<Field> getProperties() {
+        List<Field> props = properties;
+        if (props == null) {
+            props = new ArrayList<Field>();
+            for (Field f : type.getDeclaredFields()) {
+                if (f.isAnnotationPresent(CLIArgument.class)
+                        || Modifier.isPublic(f.getModifiers())) {
+                    f.setAccessible(true);
+                    props.add(f);
+                }
+            }
+            props = Collections.unmodifiableList(props);
+            properties = props;
+        }
+        return props;
+    }
+
+    @Override
+    public String toString() {
+        return "CommandDescriptor [type=" + type.getName() + ", name=" + name + ", arguments=" + arguments + "]";
+    }
+}
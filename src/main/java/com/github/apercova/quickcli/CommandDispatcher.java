@@ -0,0 +1,263 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Dispatches argument vectors to registered commands.
+ * <br><br>
+ * Command names are resolved through a {@link PrefixTrie}, so any unique
+ * prefix of a name selects the command. Names made of several space-separated
+ * words register nested subcommands, e.g. <code>"remote add"</code>.
+ * Commands registered by class name are loaded and initialized only when
+ * first selected.
+ * <br><br>
+ * Registration is not thread-safe. Once populated, a dispatcher can be shared
+ * by concurrent callers.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class CommandDispatcher {
+
+    private static final Logger LOGGER = Logger.getLogger(CommandDispatcher.class.getName());
+
+    private final Entry root = new Entry();
+    private final ClassLoader loader;
+
+    /**
+     * Creates a dispatcher loading commands through the context class loader.
+     */
+    public CommandDispatcher() {
+        this(null);
+    }
+
+    /**
+     * Creates a dispatcher loading commands through provided class loader.
+     *
+     * @param loader Command class loader.
+     */
+    public CommandDispatcher(ClassLoader loader) {
+        if (loader == null) {
+            loader = Thread.currentThread().getContextClassLoader();
+        }
+        this.loader = loader != null ? loader : CommandDispatcher.class.getClassLoader();
+    }
+
+    /**
+     * Registers a command under provided name. Command class is not loaded
+     * until the command is selected.
+     *
+     * @param name Command name. Space-separated words for nested subcommands.
+     * @param className Fully qualified command class name.
+     * @return This dispatcher.
+     */
+    public CommandDispatcher register(String name, String className) {
+        if (className == null) {
+            throw new IllegalArgumentException("className must not be null");
+        }
+        entry(name).className = className;
+        return this;
+    }
+
+    /**
+     * Registers every command of a build-time index. No command class is
+     * loaded.
+     *
+     * @param index Command index.
+     * @return This dispatcher.
+     */
+    public CommandDispatcher register(CommandIndex index) {
+        for (CommandIndex.Entry entry : index.getCommands()) {
+            register(entry.getName(), entry.getClassName());
+        }
+        return this;
+    }
+
+    /**
+     * Registers a command under its {@link CLICommand} name.
+     *
+     * @param clazz Command type class.
+     * @return This dispatcher.
+     */
+    public CommandDispatcher register(Class<? extends Command<?>> clazz) {
+        CLICommand command = clazz.getAnnotation(CLICommand.class);
+        if (command == null) {
+            throw new IllegalArgumentException(String.format("Not a command type: %s", clazz.getName()));
+        }
+        return register(command.value(), clazz);
+    }
+
+    /**
+     * Registers a command under provided name.
+     *
+     * @param name Command name. Space-separated words for nested subcommands.
+     * @param clazz Command type class.
+     * @return This dispatcher.
+     */
+    public CommandDispatcher register(String name, Class<? extends Command<?>> clazz) {
+        Entry entry = entry(name);
+        entry.className = clazz.getName();
+        entry.type = clazz;
+        return this;
+    }
+
+    /**
+     * Resolves and creates the command selected by leading arguments.
+     *
+     * @param args Command name words followed by command arguments.
+     * @return Command instance.
+     * @throws CLIArgumentException If command cannot be resolved or an error
+     * occurs at command creation.
+     */
+    public Command<?> dispatch(String[] args) throws CLIArgumentException {
+        return dispatch(args, new OutputStreamWriter(System.out, Charset.defaultCharset()), Locale.getDefault());
+    }
+
+    /**
+     * Resolves and creates the command selected by leading arguments.
+     *
+     * @param args Command name words followed by command arguments.
+     * @param locale Output locale.
+     * @return Command instance.
+     * @throws CLIArgumentException If command cannot be resolved or an error
+     * occurs at command creation.
+     */
+    public Command<?> dispatch(String[] args, Locale locale) throws CLIArgumentException {
+        return dispatch(args, new OutputStreamWriter(System.out, Charset.defaultCharset()), locale);
+    }
+
+    /**
+     * Resolves and creates the command selected by leading arguments.
+     *
+     * @param args Command name words followed by command arguments.
+     * @param writer Output writer.
+     * @param locale Output locale.
+     * @return Command instance.
+     * @throws CLIArgumentException If command cannot be resolved or an error
+     * occurs at command creation.
+     */
+    public Command<?> dispatch(String[] args, Writer writer, Locale locale) throws CLIArgumentException {
+        locale = locale == null ? Locale.getDefault() : locale;
+        Messages messages = Messages.forLocale(locale);
+        Entry entry = root;
+        int i = 0;
+        while (i < args.length && entry.subcommands != null) {
+            Entry next = entry.subcommands.resolve(args[i]);
+            if (next == null) {
+                if (entry.className == null) {
+                    throw unresolved(entry, args[i], messages);
+                }
+                break;
+            }
+            entry = next;
+            i++;
+        }
+        if (entry.className == null) {
+            throw messages.error("command.invalid", join(args, i));
+        }
+        return CommandFactory.create(Arrays.copyOfRange(args, i, args.length), entry.type(loader, messages),
+                writer, locale);
+    }
+
+    /**
+     * Retrieve registered command names starting with provided prefix, at
+     * provided nesting level.
+     *
+     * @param path Enclosing command words, empty for top-level commands.
+     * @param prefix Name prefix.
+     * @return Matching names in alphabetical order.
+     */
+    public List<String> names(String[] path, String prefix) {
+        Entry entry = root;
+        for (String word : path) {
+            entry = entry.subcommands != null ? entry.subcommands.get(word) : null;
+            if (entry == null) {
+                return Collections.emptyList();
+            }
+        }
+        return entry.subcommands != null
+                ? entry.subcommands.keys(prefix)
+                : Collections.<String>emptyList();
+    }
+
+    private Entry entry(String name) {
+        if (name == null || name.trim().length() == 0) {
+            throw new IllegalArgumentException("name must not be empty");
+        }
+        Entry entry = root;
+        for (String word : name.trim().split("\\s+")) {
+            if (entry.subcommands == null) {
+                entry.subcommands = new PrefixTrie<Entry>();
+            }
+            Entry next = entry.subcommands.get(word);
+            if (next == null) {
+                next = new Entry();
+                entry.subcommands.put(word, next);
+            }
+            entry = next;
+        }
+        return entry;
+    }
+
+    private static CLIArgumentException unresolved(Entry entry, String word, Messages messages) {
+        List<String> candidates = entry.subcommands.keys(word);
+        if (candidates.size() > 1) {
+            return messages.error("command.ambiguous", word, candidates);
+        }
+        return messages.error("command.invalid", word);
+    }
+
+    private static String join(String[] args, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i > 0 ? " " : "").append(args[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Command trie entry. An entry may be both a command and a group of
+     * subcommands.
+     */
+    private static final class Entry {
+
+        private String className;
+        private volatile Class<? extends Command<?>> type;
+        private PrefixTrie<Entry> subcommands;
+
+        @SuppressWarnings("unchecked")
+        Class<? extends Command<?>> type(ClassLoader loader, Messages messages) throws CLIArgumentException {
+            Class<? extends Command<?>> clazz = type;
+            if (clazz == null) {
+                try {
+                    Class<?> loaded = Class.forName(className, true, loader);
+                    if (!Command.class.isAssignableFrom(loaded)) {
+                        throw messages.error("type.invalid", className);
+                    }
+                    clazz = (Class<? extends Command<?>>) loaded;
+                    type = clazz;
+                } catch (ClassNotFoundException ex) {
+                    LOGGER.log(Level.FINE, ex.getMessage(), ex);
+                    throw messages.error(ex, "type.invalid", className);
+                } catch (LinkageError ex) {
+                    LOGGER.log(Level.FINE, ex.getMessage(), ex);
+                    throw messages.error(ex, "type.invalid", className);
+                }
+            }
+            return clazz;
+        }
+    }
+}
@@ -1,20 +1,38 @@
 package com.github.apercova.quickcli;
 
-import com.github.apercova.quickcli.annotation.CLICommand;
 import com.github.apercova.quickcli.exception.CLIArgumentException;
 import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import com.github.apercova.quickcli.exception.UncheckedCLIArgumentException;
+import com.github.apercova.quickcli.instrument.Instrumentation;
+import com.github.apercova.quickcli.instrument.Phase;
+import com.github.apercova.quickcli.io.ChannelWriter;
+import com.github.apercova.quickcli.io.FlushPolicy;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.io.Writer;
 import java.nio.charset.Charset;
-import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
-import java.util.ResourceBundle;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * Factory for {@link Command } creation.
+ * <br><br>
+ * Factory methods are safe for concurrent use and take no lock. Each call
+ * works on its own command instance, either new or taken from a
+ * {@link CommandPool}, and only shares immutable or thread-safe state:
+ * command descriptors and field binders, resolved once per class and
+ * published through {@link ClassValue}, cached {@link Messages}, and
+ * converters, which are shared only if annotated as thread-safe and are
+ * one per thread other ways. Returned commands are not thread-safe
+ * themselves. The optional {@link ParseCache} is a concurrent map as well.
  *
  * @author
  * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
@@ -24,8 +42,6 @@ import java.util.logging.Logger;
  */
 public final class CommandFactory {
 
-    private static final String MESSAGE_BOUNDLE = "com.github.apercova.quickcli.i18n.messages";
-
     private CommandFactory() {
         super();
     }
@@ -127,6 +143,32 @@ public final class CommandFactory {
         return create(args, clazz, writer, locale);
     }
 
+    /**
+     * Creates a command of the provided {@link Class} type writing to a
+     * buffered {@link ChannelWriter}. Output is written as provided policy
+     * dictates rather than flushed on every <code>println</code>, and when the
+     * command is closed, which also closes provided stream.
+     *
+     * @param <T> Command type.
+     * @param args CLI Arguments.
+     * @param clazz Command type class.
+     * @param out Output stream.
+     * @param cs Output character set.
+     * @param locale Output locale.
+     * @param policy Output flush policy.
+     * @return Command {@link Command} instance.
+     * @throws CLIArgumentException If any error occurs at command creation.
+     */
+    public static <T extends Command<?>> T create(String[] args, Class<T> clazz, OutputStream out, Charset cs, Locale locale, FlushPolicy policy)
+            throws CLIArgumentException {
+        Writer writer = ChannelWriter.forStream(
+                (out != null ? out : System.out),
+                (cs != null ? cs : Charset.defaultCharset()),
+                (policy != null ? policy : FlushPolicy.LINE)
+        );
+        return create(args, clazz, writer, locale);
+    }
+
     /**
      * Creates a command of the provided {@link Class} type.
      *
@@ -155,34 +197,270 @@ public final class CommandFactory {
      */
     public static <T extends Command<?>> T create(String[] args, Class<T> clazz, Writer writer, Locale locale)
             throws CLIArgumentException {
-        writer = writer == null ? new OutputStreamWriter(System.out, Charset.defaultCharset()): writer;
+        writer = writer == null ? new OutputStreamWriter(System.out, Charset.defaultCharset()) : writer;
         locale = locale == null ? Locale.getDefault() : locale;
-        ResourceBundle messages = ResourceBundle.getBundle(MESSAGE_BOUNDLE, locale);
+        Messages messages = Messages.forLocale(locale);
 
-        try {
-            if (clazz.isAnnotationPresent(CLICommand.class)) {
-                T command = clazz.newInstance();
-                command.setLocale(locale);
-                command.setWriter(writer);
-
-                synchronized (command) {
-                    CommandParser.parse(command, args, messages);
-                    CommandParser.validate(command, messages);
+        if (!CommandDescriptor.forClass(clazz).isCommand()) {
+            throw messages.error("type.invalid", clazz.getName());
+        }
+        return newCommand(args, null, clazz, writer, locale, messages);
+    }
+
+    /**
+     * Creates a command of the provided {@link Class} type from an argument
+     * source, like one created by {@link ArgumentSource#expanding(String[])}
+     * for a <code>main</code> method expanding argument files. Source is
+     * closed when done and results are never cached.
+     *
+     * @param <T> Command type.
+     * @param args CLI Arguments source.
+     * @param clazz Command type class.
+     * @param writer Output writer.
+     * @param locale Output locale.
+     * @return Command Command instance.
+     * @throws CLIArgumentException If any error occurs at command creation.
+     */
+    public static <T extends Command<?>> T create(ArgumentSource args, Class<T> clazz, Writer writer, Locale locale)
+            throws CLIArgumentException {
+        writer = writer == null ? new OutputStreamWriter(System.out, Charset.defaultCharset()) : writer;
+        locale = locale == null ? Locale.getDefault() : locale;
+        Messages messages = Messages.forLocale(locale);
+
+        if (!CommandDescriptor.forClass(clazz).isCommand()) {
+            throw messages.error("type.invalid", clazz.getName());
+        }
+        return newCommand(null, args, clazz, writer, locale, messages);
+    }
+
+    /**
+     * Creates a command of the provided {@link Class} type for each argument
+     * vector.
+     *
+     * @param <T> Command type.
+     * @param args CLI Arguments, one vector per command.
+     * @param clazz Command type class.
+     * @return Command instances in input order.
+     * @throws CLIArgumentException If any error occurs at command creation.
+     */
+    public static <T extends Command<?>> List<T> createAll(Iterable<String[]> args, Class<T> clazz)
+            throws CLIArgumentException {
+        return createAll(args, clazz, null, Locale.getDefault(), false);
+    }
+
+    /**
+     * Creates a command of the provided {@link Class} type for each argument
+     * vector.
+     *
+     * @param <T> Command type.
+     * @param args CLI Arguments, one vector per command.
+     * @param clazz Command type class.
+     * @param locale Output locale.
+     * @return Command instances in input order.
+     * @throws CLIArgumentException If any error occurs at command creation.
+     */
+    public static <T extends Command<?>> List<T> createAll(Iterable<String[]> args, Class<T> clazz, Locale locale)
+            throws CLIArgumentException {
+        return createAll(args, clazz, null, locale, false);
+    }
+
+    /**
+     * Creates a command of the provided {@link Class} type for each argument
+     * vector. Commands share the command model, message bundle and output
+     * writer. On parallel mode, commands are created across a
+     * {@link ForkJoinPool}.
+     *
+     * @param <T> Command type.
+     * @param args CLI Arguments, one vector per command.
+     * @param clazz Command type class.
+     * @param writer Output writer shared by all commands.
+     * @param locale Output locale.
+     * @param parallel Whether to create commands in parallel.
+     * @return Command instances in input order.
+     * @throws CLIArgumentException If any error occurs at command creation.
+     * When several commands fail, the error of the first one in input order is
+     * thrown.
+     */
+    public static <T extends Command<?>> List<T> createAll(Iterable<String[]> args, Class<T> clazz, Writer writer, Locale locale, boolean parallel)
+            throws CLIArgumentException {
+        Batch<T> batch = new Batch<T>(clazz, writer, locale);
+        List<T> commands = new ArrayList<T>();
+        if (!parallel) {
+            for (String[] a : args) {
+                commands.add(batch.create(a));
+            }
+            return commands;
+        }
+
+        List<String[]> argList = new ArrayList<String[]>();
+        for (String[] a : args) {
+            argList.add(a);
+        }
+        Object[] results = new Object[argList.size()];
+        ForkJoinPool.commonPool().invoke(new BatchTask<T>(batch, argList, results, 0, results.length));
+        for (Object result : results) {
+            if (result instanceof CLIArgumentException) {
+                throw (CLIArgumentException) result;
+            }
+            commands.add(clazz.cast(result));
+        }
+        return commands;
+    }
+
+    /**
+     * Creates a lazy stream of commands of the provided {@link Class} type,
+     * one per argument vector. Commands share the command model, message
+     * bundle and output writer. Parallel streams are created in parallel and
+     * keep input order.
+     *
+     * @param <T> Command type.
+     * @param args CLI Arguments, one vector per command.
+     * @param clazz Command type class.
+     * @param writer Output writer shared by all commands.
+     * @param locale Output locale.
+     * @return Command stream. Creation errors are thrown as
+     * {@link UncheckedCLIArgumentException} when stream is consumed.
+     * @throws CLIArgumentException If clazz is not a valid command type.
+     */
+    public static <T extends Command<?>> Stream<T> createAll(Stream<String[]> args, Class<T> clazz, Writer writer, Locale locale)
+            throws CLIArgumentException {
+        final Batch<T> batch = new Batch<T>(clazz, writer, locale);
+        return args.map(new Function<String[], T>() {
+            @Override
+            public T apply(String[] a) {
+                try {
+                    return batch.create(a);
+                } catch (CLIArgumentException ex) {
+                    throw new UncheckedCLIArgumentException(ex);
                 }
-                return command;
+            }
+        });
+    }
+
+    private static <T extends Command<?>> T newCommand(String[] args, ArgumentSource source, Class<T> clazz, Writer writer, Locale locale, Messages messages)
+            throws CLIArgumentException {
+        if (!Instrumentation.isEnabled()) {
+            return createCommand(args, source, clazz, writer, locale, messages);
+        }
+        long start = Instrumentation.start(clazz, Phase.CREATE, null);
+        boolean succeeded = false;
+        try {
+            T command = createCommand(args, source, clazz, writer, locale, messages);
+            succeeded = true;
+            return command;
+        } finally {
+            Instrumentation.record(clazz, Phase.CREATE, start, succeeded);
+        }
+    }
+
+    private static <T extends Command<?>> T createCommand(String[] args, ArgumentSource source, Class<T> clazz, Writer writer, Locale locale, Messages messages)
+            throws CLIArgumentException {
+        CommandPool<T> pool = CommandPool.forClass(clazz);
+        T command = null;
+        try {
+            command = pool != null ? pool.acquire() : clazz.newInstance();
+            command.setLocale(locale);
+            command.setWriter(writer);
+
+            ParseCache cache = source == null ? ParseCache.current() : null;
+            CommandSnapshot cached = cache != null ? cache.lookup(clazz, args) : null;
+            if (cached != null) {
+                CommandParser.readProperties(command);
+                cached.restore(command);
             } else {
-                throw new CLIArgumentException(MessageFormat.format(messages.getString("type.invalid"), clazz.getName()));
+                CommandParser.parse(command, source != null ? source : ArgumentSource.of(args), messages);
+                CommandParser.validate(command, messages);
+                if (cache != null) {
+                    cache.store(args, command);
+                }
             }
+            T created = command;
+            command = null;
+            return created;
         } catch (ReflectiveOperationException ex) {
-            throw new CLIArgumentException(MessageFormat.format(messages.getString("type.invalid"), clazz.getName()), ex);
+            throw messages.error(ex, "type.invalid", clazz.getName());
         } catch (InstantiationException ex) {
             Throwable cause = new ReflectiveOperationException(ex);
             Logger.getLogger(CommandFactory.class.getName()).log(Level.SEVERE, ex.getMessage(), cause);
-            throw new CLIArgumentException(MessageFormat.format(messages.getString("type.invalid"), clazz.getName()), cause);
+            throw messages.error(cause, "type.invalid", clazz.getName());
         } catch (IllegalAccessException ex) {
             Throwable cause = new ReflectiveOperationException(ex);
             Logger.getLogger(CommandFactory.class.getName()).log(Level.SEVERE, ex.getMessage(), cause);
-            throw new CLIArgumentException(MessageFormat.format(messages.getString("type.invalid"), clazz.getName()), cause);
+            throw messages.error(cause, "type.invalid", clazz.getName());
+        } finally {
+            if (pool != null && command != null) {
+                pool.release(command);
+            }
+        }
+    }
+
+    /**
+     * Batch creation state shared by all commands of a batch.
+     */
+    private static final class Batch<T extends Command<?>> {
+
+        private final Class<T> clazz;
+        private final PrintWriter writer;
+        private final Locale locale;
+        private final Messages messages;
+
+        Batch(Class<T> clazz, Writer writer, Locale locale) throws CLIArgumentException {
+            writer = writer == null ? new OutputStreamWriter(System.out, Charset.defaultCharset()) : writer;
+            this.clazz = clazz;
+            this.writer = writer instanceof PrintWriter
+                    ? (PrintWriter) writer
+                    : new PrintWriter(writer, !(writer instanceof ChannelWriter));
+            this.locale = locale == null ? Locale.getDefault() : locale;
+            this.messages = Messages.forLocale(this.locale);
+
+            if (!CommandDescriptor.forClass(clazz).isCommand()) {
+                throw messages.error("type.invalid", clazz.getName());
+            }
+        }
+
+        T create(String[] args) throws CLIArgumentException {
+            return newCommand(args, null, clazz, writer, locale, messages);
+        }
+    }
+
+    /**
+     * Fork-join task creating a range of batch commands. Results are stored
+     * by input position, either a command or its creation error.
+     */
+    private static final class BatchTask<T extends Command<?>> extends RecursiveAction {
+
+        private static final long serialVersionUID = -3915496430874546617L;
+        private static final int THRESHOLD = 256;
+
+        private final transient Batch<T> batch;
+        private final transient List<String[]> args;
+        private final transient Object[] results;
+        private final int from;
+        private final int to;
+
+        BatchTask(Batch<T> batch, List<String[]> args, Object[] results, int from, int to) {
+            this.batch = batch;
+            this.args = args;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    try {
+                        results[i] = batch.create(args.get(i));
+                    } catch (CLIArgumentException ex) {
+                        results[i] = ex;
+                    }
+                }
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new BatchTask<T>(batch, args, results, from, middle),
+                        new BatchTask<T>(batch, args, results, middle, to));
+            }
         }
     }
 }
@@ -0,0 +1,318 @@
+package com.github.apercova.quickcli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Build-time index of {@link com.github.apercova.quickcli.annotation.CLICommand}
+ * classes, as written by <code>quickcli-processor</code> to
+ * {@value #RESOURCE}.
+ * <br><br>
+ * The index lists command names, class names, descriptions and argument
+ * definitions, so commands can be listed, their usage rendered and
+ * invocations routed without loading any command class. Indexes found in
+ * every classpath entry are merged.
+ * <br><br>
+ * Index format is line oriented UTF-8 text. First line is the
+ * {@value #HEADER} header, then a <code>C</code> line per command followed by
+ * an <code>A</code> line per argument. Fields are tab-separated and escape
+ * backslash, tab and line terminators:
+ * <pre>
+ * C name class description
+ * A name value required usage [alias...]
+ * </pre>
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class CommandIndex {
+
+    /**
+     * Index resource name.
+     */
+    public static final String RESOURCE = "META-INF/quickcli/commands.idx";
+    /**
+     * Index format header.
+     */
+    public static final String HEADER = "quickcli-index 1";
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Map<String, Entry> commands;
+
+    private CommandIndex(Map<String, Entry> commands) {
+        this.commands = commands;
+    }
+
+    /**
+     * Loads indexes visible to the context class loader.
+     *
+     * @return Command index.
+     * @throws IOException If an index can not be read.
+     */
+    public static CommandIndex load() throws IOException {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return load(loader != null ? loader : CommandIndex.class.getClassLoader());
+    }
+
+    /**
+     * Loads indexes visible to provided class loader.
+     *
+     * @param loader Class loader.
+     * @return Command index.
+     * @throws IOException If an index can not be read.
+     */
+    public static CommandIndex load(ClassLoader loader) throws IOException {
+        Map<String, Entry> commands = new TreeMap<String, Entry>();
+        Enumeration<URL> resources = loader.getResources(RESOURCE);
+        while (resources.hasMoreElements()) {
+            InputStream in = resources.nextElement().openStream();
+            try {
+                read(new InputStreamReader(in, UTF_8), commands);
+            } finally {
+                in.close();
+            }
+        }
+        return new CommandIndex(commands);
+    }
+
+    /**
+     * Reads an index.
+     *
+     * @param reader Index reader.
+     * @return Command index.
+     * @throws IOException If index can not be read or is malformed.
+     */
+    public static CommandIndex read(Reader reader) throws IOException {
+        Map<String, Entry> commands = new TreeMap<String, Entry>();
+        read(reader, commands);
+        return new CommandIndex(commands);
+    }
+
+    private static void read(Reader reader, Map<String, Entry> commands) throws IOException {
+        BufferedReader in = new BufferedReader(reader);
+        String line = in.readLine();
+        if (line == null) {
+            return;
+        }
+        if (!HEADER.equals(line)) {
+            throw new IOException(String.format("Unsupported command index: %s", line));
+        }
+        Entry entry = null;
+        int number = 1;
+        while ((line = in.readLine()) != null) {
+            number++;
+            if (line.length() == 0) {
+                continue;
+            }
+            List<String> fields = split(line);
+            String kind = fields.get(0);
+            if ("C".equals(kind) && fields.size() == 4) {
+                entry = new Entry(fields.get(1), fields.get(2), fields.get(3));
+                commands.put(entry.name, entry);
+            } else if ("A".equals(kind) && fields.size() >= 5 && entry != null) {
+                List<String> aliases = fields.subList(5, fields.size());
+                entry.arguments.add(new Argument(fields.get(1),
+                        Collections.unmodifiableList(new ArrayList<String>(aliases)),
+                        fields.get(2), Boolean.parseBoolean(fields.get(3)), fields.get(4)));
+            } else {
+                throw new IOException(String.format("Malformed command index at line %d", number));
+            }
+        }
+    }
+
+    private static List<String> split(String line) throws IOException {
+        List<String> fields = new ArrayList<String>();
+        StringBuilder field = new StringBuilder();
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '\t') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\\' && i + 1 < line.length()) {
+                c = line.charAt(++i);
+                field.append(c == 't' ? '\t' : c == 'n' ? '\n' : c == 'r' ? '\r' : c);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Retrieve indexed command names.
+     *
+     * @return Command names in alphabetical order.
+     */
+    public List<String> getNames() {
+        return Collections.unmodifiableList(new ArrayList<String>(commands.keySet()));
+    }
+
+    /**
+     * Retrieve an indexed command.
+     *
+     * @param name Command name.
+     * @return Indexed command or <code>null</code> if not indexed.
+     */
+    public Entry getCommand(String name) {
+        return commands.get(name);
+    }
+
+    /**
+     * Retrieve indexed commands.
+     *
+     * @return Indexed commands sorted by name.
+     */
+    public List<Entry> getCommands() {
+        return Collections.unmodifiableList(new ArrayList<Entry>(commands.values()));
+    }
+
+    /**
+     * Print command names and descriptions.
+     *
+     * @param writer Output writer.
+     * @param locale Output locale.
+     */
+    public void printCommands(PrintWriter writer, Locale locale) {
+        for (Entry entry : commands.values()) {
+            writer.printf(locale, "%-5s%-40s %s%n", "", entry.name, entry.description);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Indexed command.
+     */
+    public static final class Entry {
+
+        private final String name;
+        private final String className;
+        private final String description;
+        private final List<Argument> arguments;
+        private final Usage.Cache usage = new Usage.Cache();
+
+        Entry(String name, String className, String description) {
+            this.name = name;
+            this.className = className;
+            this.description = description;
+            this.arguments = new ArrayList<Argument>();
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public List<Argument> getArguments() {
+            return Collections.unmodifiableList(arguments);
+        }
+
+        /**
+         * Print command usage as {@link Command#printUsage()} does, without
+         * loading command class.
+         *
+         * @param writer Output writer.
+         * @param locale Output locale.
+         */
+        public void printUsage(PrintWriter writer, Locale locale) {
+            printUsage(writer, locale, Usage.terminalWidth());
+        }
+
+        /**
+         * Print command usage as {@link Command#printUsage(int)} does,
+         * without loading command class.
+         *
+         * @param writer Output writer.
+         * @param locale Output locale.
+         * @param width Terminal width, zero or less to disable wrapping.
+         */
+        public void printUsage(PrintWriter writer, final Locale locale, final int width) {
+            writer.write(usage.get(locale, width, new Usage.Renderer() {
+                @Override
+                public char[] render() {
+                    List<String[]> rows = new ArrayList<String[]>();
+                    for (Argument arg : arguments) {
+                        rows.add(Usage.row(arg.name, arg.aliases, arg.usage));
+                    }
+                    return Usage.render(true, name, description, rows, locale, width);
+                }
+            }));
+            writer.flush();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s [name=%s, className=%s, arguments=%s]",
+                    getClass().getSimpleName(), name, className, arguments);
+        }
+    }
+
+    /**
+     * Indexed argument.
+     */
+    public static final class Argument {
+
+        private final String name;
+        private final List<String> aliases;
+        private final String value;
+        private final boolean required;
+        private final String usage;
+
+        Argument(String name, List<String> aliases, String value, boolean required, String usage) {
+            this.name = name;
+            this.aliases = aliases;
+            this.value = value;
+            this.required = required;
+            this.usage = usage;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public List<String> getAliases() {
+            return aliases;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        public String getUsage() {
+            return usage;
+        }
+
+        @Override
+        public String toString() {
+            return name + " " + aliases;
+        }
+    }
+}
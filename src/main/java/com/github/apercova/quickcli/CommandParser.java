@@ -1,15 +1,17 @@
 package com.github.apercova.quickcli;
 
 import com.github.apercova.quickcli.annotation.CLIArgument;
-import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.annotation.CLIConverter;
 import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
 import com.github.apercova.quickcli.exception.CLIArgumentException;
 import com.github.apercova.quickcli.exception.DatatypeConverterException;
 import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import com.github.apercova.quickcli.instrument.Instrumentation;
+import com.github.apercova.quickcli.instrument.Phase;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -17,11 +19,25 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Command parser.
+ * <br><br>
+ * Parsing and validation only write to the given command instance, so
+ * different commands can be parsed concurrently. Fields are made accessible
+ * once, when the command's descriptor is built, never while parsing.
+ * <br><br>
+ * Values of arguments whose converter is annotated with
+ * <code>{@literal @}CLIConverter(threadSafe = true, independent = true)</code>
+ * are converted concurrently on {@link TaskExecutors#shared()} once every argument is read,
+ * so parse time tracks the slowest of them rather than their sum. Only the
+ * last occurrence of a repeated independent argument is converted. Parse
+ * returns once every conversion is done; errors found while reading arguments
+ * are reported first, then conversion errors in argument order.
  *
  * @author
  * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
@@ -47,66 +63,127 @@ public abstract class CommandParser<T extends Command<?>> {
      */
     public static <T extends Command<?>> T parse(T command, String[] args, ResourceBundle messages)
             throws CLIArgumentException, ReflectiveOperationException {
+        return parse(command, args, Messages.of(messages));
+    }
 
-        //Command properties
-        readProperties(command);
+    /**
+     * Parse command line arguments an initialize a command instance.
+     *
+     * @param <T> Command type.
+     * @param command {@link Command} instance.
+     * @param args Command's arguments.
+     * @param messages {@link Messages} messages.
+     * @return Parsed command instance.
+     * @throws CLIArgumentException If an exception occurs when parsing a
+     * command.
+     * @throws ReflectiveOperationException If a java reflection-related
+     * exception occurs.
+     */
+    public static <T extends Command<?>> T parse(T command, String[] args, Messages messages)
+            throws CLIArgumentException, ReflectiveOperationException {
+        return parse(command, ArgumentSource.of(args), messages);
+    }
+
+    /**
+     * Parse command line tokens an initialize a command instance. Tokens are
+     * consumed one at a time and source is closed when done.
+     *
+     * @param <T> Command type.
+     * @param command {@link Command} instance.
+     * @param args Command's arguments source.
+     * @param messages {@link Messages} messages.
+     * @return Parsed command instance.
+     * @throws CLIArgumentException If an exception occurs when parsing a
+     * command or reading its arguments.
+     * @throws ReflectiveOperationException If a java reflection-related
+     * exception occurs.
+     */
+    public static <T extends Command<?>> T parse(T command, ArgumentSource args, Messages messages)
+            throws CLIArgumentException, ReflectiveOperationException {
+        if (!Instrumentation.isEnabled()) {
+            return parseArguments(command, args, messages);
+        }
+        long start = Instrumentation.start(command.getClass(), Phase.PARSE, null);
+        boolean succeeded = false;
+        try {
+            T parsed = parseArguments(command, args, messages);
+            succeeded = true;
+            return parsed;
+        } finally {
+            Instrumentation.record(command.getClass(), Phase.PARSE, start, succeeded);
+        }
+    }
 
-        //CLI Arguments
-        List<String> argSet = new ArrayList<String>(Arrays.asList(args));
+    private static <T extends Command<?>> T parseArguments(T command, ArgumentSource args, Messages messages)
+            throws CLIArgumentException, ReflectiveOperationException {
 
-        //Declared argument map
-        Map<String, CLIArgument> argMap = readArguments(command);
+        CommandDescriptor descriptor = CommandDescriptor.forClass(command.getClass());
+
+        //Command properties
+        if (Instrumentation.isEnabled()) {
+            long start = Instrumentation.start(command.getClass(), Phase.READ_PROPERTIES, null);
+            readProperties(command, descriptor);
+            Instrumentation.record(command.getClass(), Phase.READ_PROPERTIES, start, true);
+        } else {
+            readProperties(command, descriptor);
+        }
 
         String alias = null;
-        boolean lookArg = true;
-        for (int i = 0; i < argSet.size(); i++) {
-
-            String arg = argSet.get(i);
-            if (lookArg) {
-                if (isArgument(arg, argMap)) {
-                    lookArg = false;
-                    alias = arg;
-                    Field field = getArgumentField(argMap.get(arg), command);
-                    if (field != null) {
-                        field.setAccessible(true);
-                        if (boolean.class.equals(field.getType()) || Boolean.class.equals(field.getType())) {
-                            parseValue(argMap.get(arg), field, String.valueOf(Boolean.TRUE), command, messages);
-                            lookArg = true;
-                            alias = null;
-
-                        } else if (!argMap.get(arg).required()) {
-                            if ((i + 1) < argSet.size() && !isArgument(argSet.get((i + 1)), argMap)) {
-                                parseValue(argMap.get(arg), field, argSet.get((i + 1)), command, messages);
-                                i++;
+        ArgumentDescriptor pending = null;
+        Collector collector = new Collector(descriptor);
+        long[] present = clearPresence(command, descriptor.getArguments().size());
+        try {
+            while (args.hasNext()) {
+
+                String arg = args.next();
+                if (pending == null) {
+                    ArgumentDescriptor argument = descriptor.getArgument(arg);
+                    if (argument != null) {
+                        present[argument.getIndex() >>> 6] |= 1L << argument.getIndex();
+                        if (argument.isFlag()) {
+                            parseValue(argument, String.valueOf(Boolean.TRUE), command, messages);
+
+                        } else if (!argument.isRequired()) {
+                            String next = args.peek();
+                            if (next != null && !isArgument(next, descriptor)) {
+                                collector.parse(argument, args.next(), command, messages);
 
                             } else {
-                                parseValue(argMap.get(arg), field, argMap.get(arg).value(), command, messages);
+                                collector.parse(argument, argument.getValue(), command, messages);
 
                             }
-                            lookArg = true;
-                            alias = null;
                         } else {
-                            if ((i + 1) >= argSet.size()) {
-                                throw new CLIArgumentException(MessageFormat.format(messages.getString("arg.required"), alias));
+                            if (!args.hasNext()) {
+                                throw messages.error("arg.required", arg);
                             }
+                            pending = argument;
+                            alias = arg;
                         }
+                    } else if (!args.expand(arg)) {
+                        throw messages.error("arg.invalid", arg);
                     }
                 } else {
-                    throw new CLIArgumentException(MessageFormat.format(messages.getString("arg.invalid"), arg));
-                }
-            } else {
-                if (!isArgument(arg, argMap)) {
-                    Field field = getArgumentField(argMap.get(alias), command);
-                    if (field != null) {
-                        field.setAccessible(true);
-                        parseValue(argMap.get(alias), field, arg, command, messages);
-                        lookArg = true;
+                    if (!isArgument(arg, descriptor)) {
+                        if (arg.length() == 0 && String.class.equals(pending.getType())) {
+                            throw messages.error("arg.required", alias);
+                        }
+                        collector.parse(pending, arg, command, messages);
+                        pending = null;
                         alias = null;
+                    } else {
+                        throw messages.error("arg.required", alias);
                     }
-                } else {
-                    throw new CLIArgumentException(MessageFormat.format(messages.getString("arg.required"), alias));
                 }
             }
+            collector.store(command, messages);
+        } catch (IOException ex) {
+            throw messages.error(ex, "argfile.error", ex.getMessage());
+        } finally {
+            try {
+                args.close();
+            } catch (IOException ex) {
+                Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+            }
         }
 
         return command;
@@ -126,40 +203,132 @@ public abstract class CommandParser<T extends Command<?>> {
      */
     public static <T extends Command<?>> void validate(T command, ResourceBundle messages)
             throws CLIArgumentException, ReflectiveOperationException {
+        validate(command, Messages.of(messages));
+    }
 
-        //Validating fields
-        for (Field f : command.getClass().getDeclaredFields()) {
-            if (f.isAnnotationPresent(CLIArgument.class)) {
-                try {
-                    f.setAccessible(true);
-                    Object value = f.get(command);
-                    CLIArgument arg = f.getAnnotation(CLIArgument.class);
-
-                    if (value == null) {
-                        if (!arg.required()) {
-                            parseValue(arg, f, arg.value(), command, messages);
-                        } else {
-                            throw new CLIArgumentException(
-                                    MessageFormat.format(messages.getString("arg.required"), arg.name())
-                            );
-                        }
-                    } else {
-                        if (value instanceof String
-                                && ((String) value).length() == 0
-                                && arg.required()) {
-                            throw new CLIArgumentException(
-                                    MessageFormat.format(messages.getString("arg.required"), arg.name())
-                            );
+    /**
+     * validate command arguments. Only arguments missing from the last parse
+     * are visited: required ones are reported and others get their default
+     * value. Every argument field is checked if command was not parsed.
+     *
+     * @param <T> Command type.
+     * @param command {@link Command} instance.
+     * @param messages {@link Messages} messages.
+     * @throws CLIArgumentException If an exception occurs when parsing a
+     * command.
+     * @throws ReflectiveOperationException If a java reflection-related
+     * exception occurs.
+     */
+    public static <T extends Command<?>> void validate(T command, Messages messages)
+            throws CLIArgumentException, ReflectiveOperationException {
+        if (!Instrumentation.isEnabled()) {
+            validateArguments(command, messages);
+            return;
+        }
+        long start = Instrumentation.start(command.getClass(), Phase.VALIDATE, null);
+        boolean succeeded = false;
+        try {
+            validateArguments(command, messages);
+            succeeded = true;
+        } finally {
+            Instrumentation.record(command.getClass(), Phase.VALIDATE, start, succeeded);
+        }
+    }
 
-                        }
-                    }
-                } catch (IllegalArgumentException ex) {
-                    Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
-                    throw new ReflectiveOperationException(ex);
-                } catch (IllegalAccessException ex) {
-                    Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
-                    throw new ReflectiveOperationException(ex);
-                }
+    private static <T extends Command<?>> void validateArguments(T command, Messages messages)
+            throws CLIArgumentException, ReflectiveOperationException {
+        long[] present = command.present;
+        if (present == null) {
+            validateFields(command, messages);
+            return;
+        }
+
+        //Visiting missing arguments only
+        List<ArgumentDescriptor> arguments = CommandDescriptor.forClass(command.getClass()).getArguments();
+        int size = arguments.size();
+        for (int w = 0; w < present.length; w++) {
+            int base = w << 6;
+            long missing = ~present[w];
+            if (size - base < 64) {
+                missing &= (1L << (size - base)) - 1L;
+            }
+            while (missing != 0L) {
+                ArgumentDescriptor arg = arguments.get(base + Long.numberOfTrailingZeros(missing));
+                missing &= missing - 1L;
+                applyDefault(arg, command, messages);
+            }
+        }
+    }
+
+    /**
+     * Check a missing argument and apply its default value. Primitive
+     * arguments get their default only when it is not empty, except flags,
+     * which are only set when given. Other arguments get their default, even
+     * if empty, while still <code>null</code>.
+     */
+    private static <T extends Command<?>> void applyDefault(ArgumentDescriptor arg, T command, Messages messages)
+            throws CLIArgumentException, ReflectiveOperationException {
+        if (arg.isRequired()) {
+            throw messages.error("arg.required", arg.getName());
+        }
+        String value = arg.getValue();
+        if (arg.getType().isPrimitive()) {
+            if (!arg.isFlag() && value.length() != 0) {
+                parseValue(arg, value, command, messages);
+            }
+            return;
+        }
+        if (value(arg, command) == null) {
+            parseValue(arg, value, command, messages);
+        }
+    }
+
+    private static Object value(ArgumentDescriptor arg, Command<?> command) throws ReflectiveOperationException {
+        if (arg.getBinder() != null) {
+            return arg.getBinder().get(command);
+        }
+        try {
+            return arg.getField().get(command);
+        } catch (IllegalArgumentException ex) {
+            Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+            throw new ReflectiveOperationException(ex);
+        } catch (IllegalAccessException ex) {
+            Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+            throw new ReflectiveOperationException(ex);
+        }
+    }
+
+    private static long[] clearPresence(Command<?> command, int size) {
+        long[] present = command.present;
+        int words = (size + 63) >>> 6;
+        if (present == null || present.length != words) {
+            present = new long[words];
+            command.present = present;
+        } else {
+            Arrays.fill(present, 0L);
+        }
+        return present;
+    }
+
+    /**
+     * Validate fields of a command that was not parsed, which can not tell
+     * missing arguments from given ones. Primitive fields are not checked.
+     */
+    private static <T extends Command<?>> void validateFields(T command, Messages messages)
+            throws CLIArgumentException, ReflectiveOperationException {
+
+        //Validating fields
+        for (ArgumentDescriptor arg : CommandDescriptor.forClass(command.getClass()).getArguments()) {
+            if (arg.getType().isPrimitive()) {
+                continue;
+            }
+            Object value = value(arg, command);
+            if (value == null) {
+                applyDefault(arg, command, messages);
+            } else if (value instanceof String
+                    && ((String) value).length() == 0
+                    && arg.isRequired()) {
+                throw messages.error("arg.required", arg.getName());
             }
         }
     }
@@ -174,26 +343,31 @@ public abstract class CommandParser<T extends Command<?>> {
      */
     protected static <T extends Command<?>> void readProperties(T command)
             throws ReflectiveOperationException {
+        readProperties(command, CommandDescriptor.forClass(command.getClass()));
+    }
 
-        CLICommand props = command.getClass().getAnnotation(CLICommand.class);
-        if (command instanceof Command) {
-            try {
-                Field sfield = Command.class.getDeclaredField("name");
-                sfield.setAccessible(true);
-                sfield.set(command, props.value());
-
-                sfield = Command.class.getDeclaredField("description");
-                sfield.setAccessible(true);
-                sfield.set(command, props.description());
-            } catch (NoSuchFieldException ex) {
-                Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
-                throw new ReflectiveOperationException(ex);
-            } catch (IllegalAccessException ex) {
-                Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
-                throw new ReflectiveOperationException(ex);
-            }
-        }
+    /**
+     * Set command's properties from its descriptor.
+     *
+     * @param <T> Command type.
+     * @param command {@link Command} Instance.
+     * @param descriptor Command's descriptor.
+     */
+    protected static <T extends Command<?>> void readProperties(T command, CommandDescriptor descriptor) {
+        command.name = descriptor.getName();
+        command.description = descriptor.getDescription();
+    }
 
+    /**
+     * Determine if given alias is a valid {@link CLIArgument}
+     *
+     * @param alias Test alias.
+     * @param descriptor {@link Command} descriptor.
+     * @return <code>true</code> if given alias is a valid {@link CLIArgument}.
+     * <code>false</code> other ways.
+     */
+    protected static boolean isArgument(String alias, CommandDescriptor descriptor) {
+        return descriptor.isArgument(alias);
     }
 
     /**
@@ -202,7 +376,9 @@ public abstract class CommandParser<T extends Command<?>> {
      * @param <T> Command type.
      * @param command {@link Command} instance.
      * @return Command's {@link CLIArgument} map.
+     * @deprecated Use {@link CommandDescriptor#forClass(Class)} arguments.
      */
+    @Deprecated
     protected static <T extends Command<?>> Map<String, CLIArgument> readArguments(T command) {
         Map<String, CLIArgument> argMap = new HashMap<String, CLIArgument>();
         for (Field f : command.getClass().getDeclaredFields()) {
@@ -224,7 +400,9 @@ public abstract class CommandParser<T extends Command<?>> {
      * @param args {@link Command} arguments
      * @return <code>true</code> if given alias is a valid {@link CLIArgument}.
      * <code>false</code> other ways.
+     * @deprecated Use {@link #isArgument(String, CommandDescriptor)}.
      */
+    @Deprecated
     protected static boolean isArgument(String alias, Map<String, CLIArgument> args) {
         return args.containsKey(alias);
     }
@@ -236,19 +414,61 @@ public abstract class CommandParser<T extends Command<?>> {
      * @param argument {@link CLIArgument} annotation.
      * @param command {@link Command} instance.
      * @return Field that has been annotated with {@link CLIArgument}.
+     * @deprecated Use {@link ArgumentDescriptor#getField()}.
      */
+    @Deprecated
     protected static <T extends Command<?>> Field getArgumentField(CLIArgument argument, T command) {
-        Field field = null;
         for (Field f : command.getClass().getDeclaredFields()) {
-            if (f.isAnnotationPresent(CLIArgument.class)) {
-                CLIArgument arg = f.getAnnotation(CLIArgument.class);
-                if (arg.equals(argument)) {
-                    field = f;
-                    break;
-                }
+            if (f.isAnnotationPresent(CLIArgument.class)
+                    && f.getAnnotation(CLIArgument.class).equals(argument)) {
+                return f;
             }
         }
-        return field;
+        return null;
+    }
+
+    /**
+     * Resolve the descriptor of an argument field, for legacy field-based
+     * methods.
+     */
+    private static ArgumentDescriptor argument(Field field, Command<?> command) {
+        for (ArgumentDescriptor arg : CommandDescriptor.forClass(command.getClass()).getArguments()) {
+            if (field.equals(arg.getField())) {
+                return arg;
+            }
+        }
+        return new ArgumentDescriptor(-1, field);
+    }
+
+    /**
+     * Parse a command argument value. Value is stored through argument's
+     * {@link FieldBinder} if any, reflectively other ways.
+     *
+     * @param <T> Command type.
+     * @param arg Command argument.
+     * @param value Argument value as string.
+     * @param command {@link Command} instance.
+     * @param messages {@link Messages} messages.
+     * @throws CLIArgumentException If an exception occurs when parsing a
+     * command.
+     * @throws ReflectiveOperationException If a java reflection-related
+     * exception occurs.
+     */
+    protected static <T extends Command<?>> void parseValue(ArgumentDescriptor arg, String value, T command, Messages messages)
+            throws CLIArgumentException, ReflectiveOperationException {
+        if (!Instrumentation.isEnabled()
+                || (arg.getConverter() == null && FieldBinder.isBuiltIn(arg.getType()))) {
+            bindValue(arg, value, command, messages);
+            return;
+        }
+        long start = Instrumentation.start(command.getClass(), Phase.CONVERT, arg);
+        boolean succeeded = false;
+        try {
+            bindValue(arg, value, command, messages);
+            succeeded = true;
+        } finally {
+            Instrumentation.record(command.getClass(), Phase.CONVERT, start, succeeded);
+        }
     }
 
     /**
@@ -264,37 +484,83 @@ public abstract class CommandParser<T extends Command<?>> {
      * command.
      * @throws ReflectiveOperationException If a java reflection-related
      * exception occurs.
+     * @deprecated Use
+     * {@link #parseValue(ArgumentDescriptor, String, Command, Messages)}.
      */
+    @Deprecated
     protected static <T extends Command<?>> void parseValue(CLIArgument arg, Field field, String value, T command, ResourceBundle messages)
             throws CLIArgumentException, ReflectiveOperationException {
-        if (!field.isAccessible()) {
-            field.setAccessible(true);
-        }
-        if (field.isAnnotationPresent(CLIDatatypeConverter.class)) {
-            CLIDatatypeConverter converter = field.getAnnotation(CLIDatatypeConverter.class);
-            parseCustomValue(arg, converter, field, value, command, messages);
+        parseValue(argument(field, command), value, command, Messages.of(messages));
+    }
+
+    private static <T extends Command<?>> void bindValue(ArgumentDescriptor arg, String value, T command, Messages messages)
+            throws CLIArgumentException, ReflectiveOperationException {
+        FieldBinder binder = arg.getBinder();
+        if (binder != null) {
+            try {
+                binder.bind(command, value);
+            } catch (NumberFormatException e) {
+                throw messages.error(e, "arg.number.invalid", value, arg.getName(), arg.getType().getName());
+            } catch (DatatypeConverterException e) {
+                throw messages.error(e, "arg.conversion.error", arg.getName(), value);
+            }
+        } else if (arg.getConverter() != null || !FieldBinder.isBuiltIn(arg.getType())) {
+            parseCustomValue(arg, value, command, messages);
         } else {
-            parsePrimitiveValue(arg, field, value, command, messages);
+            parsePrimitiveValue(arg, value, command, messages);
         }
     }
 
     /**
-     * Parse a primitive command argument value.
+     * Parse a command argument value from a slice of a text source. Primitive
+     * values are parsed without creating a substring when argument has a
+     * {@link FieldBinder}.
+     *
+     * @param <T> Command type.
+     * @param arg Command argument.
+     * @param src Source text.
+     * @param start Value start, inclusive.
+     * @param end Value end, exclusive.
+     * @param command {@link Command} instance.
+     * @param messages {@link Messages} messages.
+     * @throws CLIArgumentException If an exception occurs when parsing a
+     * command.
+     * @throws ReflectiveOperationException If a java reflection-related
+     * exception occurs.
+     */
+    protected static <T extends Command<?>> void parseValue(ArgumentDescriptor arg, CharSequence src, int start, int end, T command, Messages messages)
+            throws CLIArgumentException, ReflectiveOperationException {
+        FieldBinder binder = arg.getBinder();
+        if (binder == null) {
+            parseValue(arg, src.subSequence(start, end).toString(), command, messages);
+            return;
+        }
+        try {
+            binder.bind(command, src, start, end);
+        } catch (NumberFormatException e) {
+            throw messages.error(e, "arg.number.invalid", src.subSequence(start, end).toString(), arg.getName(), arg.getType().getName());
+        } catch (DatatypeConverterException e) {
+            throw messages.error(e, "arg.conversion.error", arg.getName(), src.subSequence(start, end).toString());
+        }
+    }
+
+    /**
+     * Parse a primitive command argument value reflectively.
      *
      * @param <T> Command type.
      * @param arg Command argument.
-     * @param field {@link Field} for storing parsed value.
      * @param value Argument value as string.
      * @param command {@link Command} instance.
-     * @param messages {@link ResourceBundle} messages.
+     * @param messages {@link Messages} messages.
      * @throws CLIArgumentException If an exception occurs when parsing a
      * command.
      * @throws ReflectiveOperationException If a java reflection-related
      * exception occurs.
      */
-    protected static <T extends Command<?>> void parsePrimitiveValue(CLIArgument arg, Field field, String value, T command, ResourceBundle messages)
+    protected static <T extends Command<?>> void parsePrimitiveValue(ArgumentDescriptor arg, String value, T command, Messages messages)
             throws CLIArgumentException, ReflectiveOperationException {
 
+        Field field = arg.getField();
         try {
             if (String.class.equals(field.getType())) {
                 field.set(command, value);
@@ -338,10 +604,7 @@ public abstract class CommandParser<T extends Command<?>> {
                     field.set(command, new BigDecimal(value));
                 }
             } catch (NumberFormatException e) {
-                throw new CLIArgumentException(
-                        MessageFormat.format(messages.getString("arg.number.invalid"), value, arg.name(), field.getType().getName()),
-                        e
-                );
+                throw messages.error(e, "arg.number.invalid", value, arg.getName(), field.getType().getName());
             }
 
         } catch (IllegalArgumentException ex) {
@@ -353,6 +616,63 @@ public abstract class CommandParser<T extends Command<?>> {
         }
     }
 
+    /**
+     * Parse a primitive command argument value.
+     *
+     * @param <T> Command type.
+     * @param arg Command argument.
+     * @param field {@link Field} for storing parsed value.
+     * @param value Argument value as string.
+     * @param command {@link Command} instance.
+     * @param messages {@link ResourceBundle} messages.
+     * @throws CLIArgumentException If an exception occurs when parsing a
+     * command.
+     * @throws ReflectiveOperationException If a java reflection-related
+     * exception occurs.
+     * @deprecated Use
+     * {@link #parsePrimitiveValue(ArgumentDescriptor, String, Command, Messages)}.
+     */
+    @Deprecated
+    protected static <T extends Command<?>> void parsePrimitiveValue(CLIArgument arg, Field field, String value, T command, ResourceBundle messages)
+            throws CLIArgumentException, ReflectiveOperationException {
+        parsePrimitiveValue(argument(field, command), value, command, Messages.of(messages));
+    }
+
+    /**
+     * Parse a custom-type command argument value reflectively.
+     *
+     * @param <T> Command type.
+     * @param arg Command argument.
+     * @param value Argument value as string.
+     * @param command {@link Command} instance.
+     * @param messages {@link Messages} messages.
+     * @throws CLIArgumentException If an exception occurs when parsing a
+     * command.
+     * @throws ReflectiveOperationException If a java reflection-related
+     * exception occurs.
+     */
+    protected static <T extends Command<?>> void parseCustomValue(ArgumentDescriptor arg, String value, T command, Messages messages)
+            throws CLIArgumentException, ReflectiveOperationException {
+
+        try {
+            DatatypeConverter<?> converter = arg.getConverter() != null
+                    ? ConverterRegistry.getConverter(arg.getConverter())
+                    : ConverterRegistry.forType(arg.getType());
+            if (converter != null) {
+                arg.getField().set(command, converter.parse(value));
+            }
+        } catch (DatatypeConverterException e) {
+            throw messages.error(e, "arg.conversion.error", arg.getName(), value);
+        } catch (IllegalArgumentException ex) {
+            Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+            throw new ReflectiveOperationException(ex);
+        } catch (IllegalAccessException ex) {
+            Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+            throw new ReflectiveOperationException(ex);
+        }
+
+    }
+
     /**
      * Parse a custom-type command argument value.
      *
@@ -367,29 +687,196 @@ public abstract class CommandParser<T extends Command<?>> {
      * command.
      * @throws ReflectiveOperationException If a java reflection-related
      * exception occurs.
+     * @deprecated Use
+     * {@link #parseCustomValue(ArgumentDescriptor, String, Command, Messages)}.
      */
+    @Deprecated
     protected static <T extends Command<?>> void parseCustomValue(CLIArgument arg, CLIDatatypeConverter converter, Field field, String value, T command, ResourceBundle messages)
             throws CLIArgumentException, ReflectiveOperationException {
 
         try {
-            Class<? extends DatatypeConverter<?>> converterClass = converter.value();
-            Object converterImpl = converterClass.newInstance();
-            field.set(command, converterClass.cast(converterImpl).parse(value));
+            if (!field.isAccessible()) {
+                field.setAccessible(true);
+            }
+            field.set(command, ConverterRegistry.getConverter(converter.value()).parse(value));
         } catch (DatatypeConverterException e) {
-            throw new CLIArgumentException(
-                    MessageFormat.format(messages.getString("arg.conversion.error"), arg.name(), value),
-                    e
-            );
+            throw Messages.of(messages).error(e, "arg.conversion.error", arg.name(), value);
         } catch (IllegalArgumentException ex) {
             Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
             throw new ReflectiveOperationException(ex);
         } catch (IllegalAccessException ex) {
             Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
             throw new ReflectiveOperationException(ex);
-        } catch (InstantiationException ex) {
-            Logger.getLogger(CommandFactory.class.getName()).log(Level.FINE, ex.getMessage(), ex);
-            throw new ReflectiveOperationException(ex);
         }
 
     }
+
+    /**
+     * Collects the values of multi-valued arguments while parsing, so
+     * repeated arguments add up and field values are stored once. Values of
+     * arguments with independent converters are set aside and converted
+     * concurrently when parsing ends. Other arguments are parsed right away.
+     */
+    private static final class Collector {
+
+        private final CommandDescriptor descriptor;
+        private MultiValueBinder.Buffer[] buffers;
+        private List<Conversion> conversions;
+
+        Collector(CommandDescriptor descriptor) {
+            this.descriptor = descriptor;
+        }
+
+        <T extends Command<?>> void parse(ArgumentDescriptor arg, String value, T command, Messages messages)
+                throws CLIArgumentException, ReflectiveOperationException {
+            if (!(arg.getBinder() instanceof MultiValueBinder)) {
+                if (isIndependent(arg)) {
+                    defer(arg, value);
+                } else {
+                    parseValue(arg, value, command, messages);
+                }
+                return;
+            }
+            MultiValueBinder binder = (MultiValueBinder) arg.getBinder();
+            if (buffers == null) {
+                buffers = new MultiValueBinder.Buffer[descriptor.getArguments().size()];
+            }
+            MultiValueBinder.Buffer buffer = buffers[arg.getIndex()];
+            if (buffer == null) {
+                buffer = binder.newBuffer();
+                buffers[arg.getIndex()] = buffer;
+            }
+            try {
+                binder.add(buffer, value, 0, value.length());
+            } catch (NumberFormatException e) {
+                throw messages.error(e, "arg.number.invalid", value, arg.getName(), binder.getElementType().getName());
+            } catch (DatatypeConverterException e) {
+                throw messages.error(e, "arg.conversion.error", arg.getName(), value);
+            }
+        }
+
+        private static boolean isIndependent(ArgumentDescriptor arg) throws ReflectiveOperationException {
+            Class<?> converter = arg.getConverter();
+            if (converter == null) {
+                if (FieldBinder.isBuiltIn(arg.getType())) {
+                    return false;
+                }
+                DatatypeConverter<?> registered = ConverterRegistry.forType(arg.getType());
+                if (registered == null) {
+                    return false;
+                }
+                converter = registered.getClass();
+            }
+            CLIConverter options = converter.getAnnotation(CLIConverter.class);
+            //Converters not thread-safe would be instantiated per task thread
+            return options != null && options.independent() && options.threadSafe();
+        }
+
+        private void defer(ArgumentDescriptor arg, String value) {
+            if (conversions == null) {
+                conversions = new ArrayList<Conversion>();
+            }
+            for (int i = 0; i < conversions.size(); i++) {
+                if (conversions.get(i).arg == arg) {
+                    conversions.remove(i);
+                    break;
+                }
+            }
+            conversions.add(new Conversion(arg, value));
+        }
+
+        <T extends Command<?>> void store(T command, Messages messages)
+                throws CLIArgumentException, ReflectiveOperationException {
+            if (buffers != null) {
+                List<ArgumentDescriptor> arguments = descriptor.getArguments();
+                for (int i = 0; i < buffers.length; i++) {
+                    if (buffers[i] != null) {
+                        ((MultiValueBinder) arguments.get(i).getBinder()).store(command, buffers[i]);
+                    }
+                }
+            }
+            if (conversions != null) {
+                convert(command, messages);
+            }
+        }
+
+        /**
+         * Run deferred conversions, the last one on calling thread, and wait
+         * for all of them so no conversion outlives the parse. First failure
+         * in argument order is thrown.
+         */
+        private <T extends Command<?>> void convert(final T command, final Messages messages)
+                throws CLIArgumentException, ReflectiveOperationException {
+            int last = conversions.size() - 1;
+            List<Future<Void>> futures = new ArrayList<Future<Void>>(last);
+            for (int i = 0; i < last; i++) {
+                final Conversion conversion = conversions.get(i);
+                futures.add(TaskExecutors.shared().submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        parseValue(conversion.arg, conversion.value, command, messages);
+                        return null;
+                    }
+                }));
+            }
+            Throwable failure = null;
+            Conversion conversion = conversions.get(last);
+            try {
+                parseValue(conversion.arg, conversion.value, command, messages);
+            } catch (CLIArgumentException ex) {
+                failure = ex;
+            } catch (ReflectiveOperationException ex) {
+                failure = ex;
+            } catch (RuntimeException ex) {
+                failure = ex;
+            }
+            //Joining backwards, so the earliest failure is kept
+            boolean interrupted = false;
+            for (int i = last - 1; i >= 0; i--) {
+                while (true) {
+                    try {
+                        futures.get(i).get();
+                        break;
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                    } catch (java.util.concurrent.ExecutionException ex) {
+                        failure = ex.getCause();
+                        break;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure instanceof CLIArgumentException) {
+                throw (CLIArgumentException) failure;
+            }
+            if (failure instanceof ReflectiveOperationException) {
+                throw (ReflectiveOperationException) failure;
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            if (failure != null) {
+                throw new ReflectiveOperationException(failure);
+            }
+        }
+    }
+
+    /**
+     * Deferred conversion of an argument value.
+     */
+    private static final class Conversion {
+
+        private final ArgumentDescriptor arg;
+        private final String value;
+
+        Conversion(ArgumentDescriptor arg, String value) {
+            this.arg = arg;
+            this.value = value;
+        }
+    }
 }
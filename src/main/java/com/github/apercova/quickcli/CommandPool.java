@@ -0,0 +1,216 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of reusable command instances.
+ * <br><br>
+ * Pools are opt-in per command class through {@link #register(Class, int)}.
+ * {@link CommandFactory} takes instances from the registered pool instead of
+ * constructing them, and {@link Command#close()} gives them back. Returned
+ * instances are reset to their post-construction
+ * {@link com.github.apercova.quickcli.annotation.CLIArgument} values from a
+ * snapshot taken once per pool.
+ * <br><br>
+ * Closing a command also closes its writer. Commands whose writer must stay
+ * open, like those created with the default standard output writer, are
+ * given back through {@link #release(Command)} instead.
+ * <br><br>
+ * Pool slots are split in stripes, one per core rounded to a power of two.
+ * Threads start looking up and returning instances in their own stripe and
+ * move to the next stripes when it is empty or full. Slots are claimed with
+ * compare-and-set, so the pool never blocks. Instances returned to a full
+ * pool are discarded.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @param <T> Command type
+ * @since 1.1
+ *
+ */
+public final class CommandPool<T extends Command<?>> {
+
+    private static final ConcurrentMap<Class<?>, CommandPool<?>> POOLS
+            = new ConcurrentHashMap<Class<?>, CommandPool<?>>();
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<Command, CommandPool> OWNER
+            = AtomicReferenceFieldUpdater.newUpdater(Command.class, CommandPool.class, "pool");
+
+    private final Class<T> clazz;
+    private final AtomicReferenceArray<T> slots;
+    private final int stripes;
+    private final int stripeSize;
+    private volatile CommandSnapshot snapshot;
+
+    private CommandPool(Class<T> clazz, int capacity) {
+        int n = 1;
+        while (n < Runtime.getRuntime().availableProcessors() && n * 2 <= capacity) {
+            n *= 2;
+        }
+        this.clazz = clazz;
+        this.stripes = n;
+        this.stripeSize = (capacity + n - 1) / n;
+        this.slots = new AtomicReferenceArray<T>(n * stripeSize);
+    }
+
+    /**
+     * Registers a pool for provided command class, replacing any previous
+     * one.
+     *
+     * @param <T> Command type.
+     * @param clazz Command type class.
+     * @param capacity Maximum number of idle instances.
+     * @return Registered pool.
+     */
+    public static <T extends Command<?>> CommandPool<T> register(Class<T> clazz, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        CommandPool<T> pool = new CommandPool<T>(clazz, capacity);
+        POOLS.put(clazz, pool);
+        return pool;
+    }
+
+    /**
+     * Removes the pool of provided command class. Instances already handed
+     * out are discarded when closed.
+     *
+     * @param clazz Command type class.
+     */
+    public static void unregister(Class<?> clazz) {
+        POOLS.remove(clazz);
+    }
+
+    /**
+     * Retrieve the pool registered for provided command class.
+     *
+     * @param <T> Command type.
+     * @param clazz Command type class.
+     * @return Registered pool or <code>null</code>.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Command<?>> CommandPool<T> forClass(Class<T> clazz) {
+        return (CommandPool<T>) POOLS.get(clazz);
+    }
+
+    /**
+     * Retrieve pool capacity.
+     *
+     * @return Maximum number of idle instances.
+     */
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    /**
+     * Retrieve the number of idle instances. Value is approximate while the
+     * pool is in use.
+     *
+     * @return Number of idle instances.
+     */
+    public int getIdle() {
+        int idle = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                idle++;
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * Take an idle instance or create a new one.
+     *
+     * @return Command instance, owned by caller until closed.
+     * @throws ReflectiveOperationException If a new instance can not be
+     * created.
+     */
+    public T acquire() throws ReflectiveOperationException {
+        int start = stripe();
+        for (int k = 0; k < stripes; k++) {
+            int base = ((start + k) & (stripes - 1)) * stripeSize;
+            for (int i = base; i < base + stripeSize; i++) {
+                T command = slots.get(i);
+                if (command != null && slots.compareAndSet(i, command, null)) {
+                    command.pool = this;
+                    return command;
+                }
+            }
+        }
+        return create();
+    }
+
+    /**
+     * Reset an instance and give it back to the pool. Command writer is left
+     * open. Instances not in use from this pool, either foreign or already
+     * released, are rejected.
+     *
+     * @param command Command instance obtained from this pool.
+     * @return <code>true</code> if instance was pooled, <code>false</code> if
+     * it was discarded or rejected.
+     */
+    public boolean release(T command) {
+        if (command == null || !OWNER.compareAndSet(command, this, null)) {
+            return false;
+        }
+        command.writer = null;
+        try {
+            snapshot.restore(command);
+        } catch (ReflectiveOperationException ex) {
+            Logger.getLogger(CommandPool.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+            return false;
+        }
+        if (POOLS.get(clazz) != this) {
+            return false;
+        }
+        int start = stripe();
+        for (int k = 0; k < stripes; k++) {
+            int base = ((start + k) & (stripes - 1)) * stripeSize;
+            for (int i = base; i < base + stripeSize; i++) {
+                if (slots.get(i) == null && slots.compareAndSet(i, null, command)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    void recycle(Command<?> command) {
+        if (clazz.isInstance(command)) {
+            release((T) command);
+        }
+    }
+
+    private T create() throws ReflectiveOperationException {
+        try {
+            T command = clazz.getDeclaredConstructor().newInstance();
+            if (snapshot == null) {
+                snapshot = CommandSnapshot.of(command);
+            }
+            command.pool = this;
+            return command;
+        } catch (InstantiationException ex) {
+            throw new ReflectiveOperationException(ex);
+        } catch (IllegalAccessException ex) {
+            throw new ReflectiveOperationException(ex);
+        } catch (NoSuchMethodException ex) {
+            throw new ReflectiveOperationException(ex);
+        } catch (InvocationTargetException ex) {
+            throw new ReflectiveOperationException(ex);
+        }
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 16)) & (stripes - 1);
+    }
+}
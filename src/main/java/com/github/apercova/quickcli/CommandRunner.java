@@ -0,0 +1,253 @@
+package com.github.apercova.quickcli;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * Asynchronous runner for many {@link Executable} instances.
+ * <br><br>
+ * Executions run on a task executor, the shared virtual-thread executor by
+ * default. An optional global limit bounds in-flight executions, and
+ * per-class limits bound executions of a given command class. Executions over
+ * a limit are queued without holding a thread and dispatched as running ones
+ * complete.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class CommandRunner {
+
+    private final Executor executor;
+    private final ConcurrentMap<Class<?>, Executor> limits;
+
+    /**
+     * Creates an unlimited runner on the shared task executor.
+     */
+    public CommandRunner() {
+        this(TaskExecutors.shared(), 0);
+    }
+
+    /**
+     * Creates a runner.
+     *
+     * @param executor Task executor.
+     * @param maxConcurrency Maximum number of in-flight executions, zero or
+     * less for no limit.
+     */
+    public CommandRunner(Executor executor, int maxConcurrency) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        this.executor = maxConcurrency > 0 ? new Limiter(executor, maxConcurrency) : executor;
+        this.limits = new ConcurrentHashMap<Class<?>, Executor>();
+    }
+
+    /**
+     * Limits concurrent executions of provided class. Limits apply to
+     * executions submitted afterwards.
+     *
+     * @param type Executable class.
+     * @param maxConcurrency Maximum number of in-flight executions of class.
+     * @return This runner.
+     */
+    public CommandRunner limit(Class<? extends Executable<?>> type, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be positive");
+        }
+        limits.put(type, new Limiter(executor, maxConcurrency));
+        return this;
+    }
+
+    /**
+     * Submits an execution.
+     *
+     * @param <T> Execution result type.
+     * @param executable Executable instance.
+     * @return Future completed with execution result, or exceptionally with
+     * the execution error.
+     */
+    public <T> CompletableFuture<T> submit(Executable<T> executable) {
+        Executor limited = limits.get(executable.getClass());
+        return executable.executeAsync(limited != null ? limited : executor);
+    }
+
+    /**
+     * Submits many executions and aggregates their outcomes.
+     *
+     * @param <T> Execution result type.
+     * @param executables Executable instances.
+     * @return Future completed when every execution has completed. It never
+     * completes exceptionally because of execution errors.
+     */
+    public <T> CompletableFuture<Results<T>> submitAll(Collection<? extends Executable<? extends T>> executables) {
+        final int size = executables.size();
+        final Object[] values = new Object[size];
+        final Throwable[] errors = new Throwable[size];
+        final AtomicInteger pending = new AtomicInteger(size);
+        final CompletableFuture<Results<T>> results = new CompletableFuture<Results<T>>();
+        if (size == 0) {
+            results.complete(new Results<T>(values, errors));
+            return results;
+        }
+        int i = 0;
+        for (Executable<? extends T> executable : executables) {
+            final int index = i++;
+            submit(executable).whenComplete(new BiConsumer<Object, Throwable>() {
+                @Override
+                public void accept(Object value, Throwable error) {
+                    values[index] = value;
+                    errors[index] = error;
+                    if (pending.decrementAndGet() == 0) {
+                        results.complete(new Results<T>(values, errors));
+                    }
+                }
+            });
+        }
+        return results;
+    }
+
+    /**
+     * Aggregated outcomes of many executions, in submission order.
+     *
+     * @param <T> Execution result type.
+     */
+    public static final class Results<T> {
+
+        private final List<T> values;
+        private final List<Throwable> errors;
+        private final int failed;
+
+        @SuppressWarnings("unchecked")
+        Results(Object[] values, Throwable[] errors) {
+            List<T> v = new ArrayList<T>(values.length);
+            List<Throwable> e = new ArrayList<Throwable>(errors.length);
+            int count = 0;
+            for (int i = 0; i < values.length; i++) {
+                v.add((T) values[i]);
+                e.add(errors[i]);
+                count += errors[i] != null ? 1 : 0;
+            }
+            this.values = Collections.unmodifiableList(v);
+            this.errors = Collections.unmodifiableList(e);
+            this.failed = count;
+        }
+
+        /**
+         * Retrieve execution results, <code>null</code> for failed
+         * executions.
+         *
+         * @return Execution results.
+         */
+        public List<T> getValues() {
+            return values;
+        }
+
+        /**
+         * Retrieve execution errors, <code>null</code> for successful
+         * executions.
+         *
+         * @return Execution errors.
+         */
+        public List<Throwable> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Retrieve number of successful executions.
+         *
+         * @return Number of successful executions.
+         */
+        public int getSucceeded() {
+            return values.size() - failed;
+        }
+
+        /**
+         * Retrieve number of failed executions.
+         *
+         * @return Number of failed executions.
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s [succeeded=%d, failed=%d]", getClass().getSimpleName(), getSucceeded(), failed);
+        }
+    }
+
+    /**
+     * Executor admitting a bounded number of running tasks into a target
+     * executor. Tasks over the bound wait in a queue, not in a thread.
+     */
+    private static final class Limiter implements Executor {
+
+        private final Executor target;
+        private final AtomicInteger permits;
+        private final Queue<Runnable> queue;
+
+        Limiter(Executor target, int permits) {
+            this.target = target;
+            this.permits = new AtomicInteger(permits);
+            this.queue = new ConcurrentLinkedQueue<Runnable>();
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            queue.add(task);
+            drain();
+        }
+
+        private void drain() {
+            while (!queue.isEmpty() && tryAcquire()) {
+                final Runnable task = queue.poll();
+                if (task == null) {
+                    permits.incrementAndGet();
+                    continue;
+                }
+                try {
+                    target.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                task.run();
+                            } finally {
+                                permits.incrementAndGet();
+                                drain();
+                            }
+                        }
+                    });
+                } catch (RejectedExecutionException ex) {
+                    permits.incrementAndGet();
+                    throw ex;
+                }
+            }
+        }
+
+        private boolean tryAcquire() {
+            for (;;) {
+                int available = permits.get();
+                if (available == 0) {
+                    return false;
+                }
+                if (permits.compareAndSet(available, available - 1)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Snapshot of a command's {@link CLIArgument} field values, used to reset a
+ * reused command instance to its initial state without reconstructing it.
+ * Field accessors are resolved once per command class. Arrays, lists and
+ * sets are copied when captured and when restored, so instances never share
+ * mutable multi-valued arguments.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+final class CommandSnapshot {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<Accessor[]> ACCESSORS = new ClassValue<Accessor[]>() {
+        @Override
+        protected Accessor[] computeValue(Class<?> type) {
+            List<Accessor> accessors = new ArrayList<Accessor>();
+            for (Field f : type.getDeclaredFields()) {
+                if (f.isAnnotationPresent(CLIArgument.class)
+                        && !Modifier.isStatic(f.getModifiers())
+                        && !Modifier.isFinal(f.getModifiers())) {
+                    f.setAccessible(true);
+                    accessors.add(new Accessor(f));
+                }
+            }
+            return accessors.toArray(new Accessor[accessors.size()]);
+        }
+    };
+
+    private final Accessor[] accessors;
+    private final Object[] values;
+
+    private CommandSnapshot(Accessor[] accessors, Object[] values) {
+        this.accessors = accessors;
+        this.values = values;
+    }
+
+    /**
+     * Capture current argument values of a command.
+     *
+     * @param command Command instance.
+     * @return Command snapshot.
+     * @throws ReflectiveOperationException If a field can not be read.
+     */
+    static CommandSnapshot of(Command<?> command) throws ReflectiveOperationException {
+        Accessor[] accessors = ACCESSORS.get(command.getClass());
+        Object[] values = new Object[accessors.length];
+        for (int i = 0; i < accessors.length; i++) {
+            values[i] = copy(accessors[i].get(command));
+        }
+        return new CommandSnapshot(accessors, values);
+    }
+
+    /**
+     * Restore captured argument values into a command of the same class.
+     *
+     * @param command Command instance.
+     * @throws ReflectiveOperationException If a field can not be written.
+     */
+    void restore(Command<?> command) throws ReflectiveOperationException {
+        for (int i = 0; i < accessors.length; i++) {
+            accessors[i].set(command, copy(values[i]));
+        }
+    }
+
+    private static Object copy(Object value) {
+        if (value instanceof int[]) {
+            return ((int[]) value).clone();
+        }
+        if (value instanceof long[]) {
+            return ((long[]) value).clone();
+        }
+        if (value instanceof Set) {
+            return new LinkedHashSet<Object>((Set<?>) value);
+        }
+        if (value instanceof List) {
+            return new ArrayList<Object>((List<?>) value);
+        }
+        return value;
+    }
+
+    /**
+     * Field accessor through method handles, reflective if handles can not
+     * be resolved.
+     */
+    private static final class Accessor {
+
+        private final Field field;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+
+        Accessor(Field field) {
+            this.field = field;
+            MethodHandle get = null;
+            MethodHandle set = null;
+            try {
+                get = LOOKUP.unreflectGetter(field)
+                        .asType(MethodType.methodType(Object.class, Object.class));
+                set = LOOKUP.unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            } catch (IllegalAccessException ex) {
+                Logger.getLogger(CommandSnapshot.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+                get = null;
+                set = null;
+            }
+            this.getter = get;
+            this.setter = set;
+        }
+
+        Object get(Object target) throws ReflectiveOperationException {
+            try {
+                return getter != null ? (Object) getter.invokeExact(target) : field.get(target);
+            } catch (Throwable t) {
+                throw FieldBinder.failure(t);
+            }
+        }
+
+        void set(Object target, Object value) throws ReflectiveOperationException {
+            try {
+                if (setter != null) {
+                    setter.invokeExact(target, value);
+                } else {
+                    field.set(target, value);
+                }
+            } catch (Throwable t) {
+                throw FieldBinder.failure(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.exception.DatatypeConverterException;
+import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import java.util.Arrays;
+
+/**
+ * Base class for command parsers generated at compile-time by
+ * <code>quickcli-processor</code>. A generated parser is named after its
+ * command class plus the <code>Parser</code> suffix and resolves arguments
+ * through a hard-coded alias switch and direct field assignments, so no
+ * reflection is involved at parse time.
+ * <br><br>
+ * Generated parsers are picked up by {@link CommandDescriptor#forClass(Class)}
+ * and thus by {@link CommandFactory}. Commands without a generated parser are
+ * parsed reflectively.
+ *
+ * @param <T> Command type.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public abstract class CompiledParser<T extends Command<?>> extends CommandDescriptor {
+
+    private final Class<T> commandType;
+
+    /**
+     * Creates a compiled parser.
+     *
+     * @param type Command class.
+     * @param name Command's name.
+     * @param description Command's description.
+     * @param arguments Command's arguments created through
+     * {@link #argument(int, String, String[], String, boolean, String, Class, Class)}
+     * in declaration order.
+     */
+    protected CompiledParser(Class<T> type, String name, String description, ArgumentDescriptor... arguments) {
+        super(type, name, description, Arrays.asList(arguments));
+        this.commandType = type;
+        for (ArgumentDescriptor arg : arguments) {
+            ((CompiledBinder) arg.getBinder()).parser = this;
+        }
+    }
+
+    /**
+     * Describe a command argument.
+     *
+     * @param index Argument's position in declaration order.
+     * @param name Argument's name.
+     * @param aliases Argument's aliases.
+     * @param value Argument's default value.
+     * @param required Whether argument is required.
+     * @param usage Argument's usage.
+     * @param type Argument's value type.
+     * @param converter Argument's {@link DatatypeConverter} class or
+     * <code>null</code>.
+     * @return Argument descriptor.
+     */
+    protected static ArgumentDescriptor argument(int index, String name, String[] aliases, String value,
+            boolean required, String usage, Class<?> type, Class<? extends DatatypeConverter<?>> converter) {
+        return new ArgumentDescriptor(index, name, aliases, value, required, usage, type, converter,
+                new CompiledBinder(index));
+    }
+
+    /**
+     * Resolve argument's position from one of its aliases.
+     *
+     * @param alias Argument name or alias, never <code>null</code>.
+     * @return Argument's position or <code>-1</code> if there is no such
+     * argument.
+     */
+    protected abstract int indexOf(String alias);
+
+    /**
+     * Parse a text value and store it into command's argument field.
+     *
+     * @param command Command instance.
+     * @param index Argument's position.
+     * @param value Value as string.
+     * @throws DatatypeConverterException If value can not be converted.
+     * @throws ReflectiveOperationException If value converter can not be
+     * instantiated.
+     * @throws NumberFormatException If value is not a valid number.
+     */
+    protected abstract void bind(T command, int index, String value)
+            throws DatatypeConverterException, ReflectiveOperationException;
+
+    /**
+     * Retrieve command's argument field value.
+     *
+     * @param command Command instance.
+     * @param index Argument's position.
+     * @return Field value, primitives are boxed.
+     */
+    protected abstract Object get(T command, int index);
+
+    @Override
+    public ArgumentDescriptor getArgument(String alias) {
+        int index = alias != null ? indexOf(alias) : -1;
+        return index >= 0 ? getArguments().get(index) : null;
+    }
+
+    @Override
+    public boolean isArgument(String alias) {
+        return alias != null && indexOf(alias) >= 0;
+    }
+
+    /**
+     * Binder delegating to generated code.
+     */
+    private static final class CompiledBinder extends FieldBinder {
+
+        private final int index;
+        private CompiledParser<?> parser;
+
+        CompiledBinder(int index) {
+            super(null);
+            this.index = index;
+        }
+
+        @Override
+        public void bind(Object target, String value)
+                throws DatatypeConverterException, ReflectiveOperationException {
+            bind(parser, target, value);
+        }
+
+        @Override
+        public Object get(Object target) throws ReflectiveOperationException {
+            return get(parser, target);
+        }
+
+        private <T extends Command<?>> void bind(CompiledParser<T> parser, Object target, String value)
+                throws DatatypeConverterException, ReflectiveOperationException {
+            T command;
+            try {
+                command = parser.commandType.cast(target);
+            } catch (ClassCastException ex) {
+                throw new ReflectiveOperationException(ex);
+            }
+            parser.bind(command, index, value);
+        }
+
+        private <T extends Command<?>> Object get(CompiledParser<T> parser, Object target)
+                throws ReflectiveOperationException {
+            T command;
+            try {
+                command = parser.commandType.cast(target);
+            } catch (ClassCastException ex) {
+                throw new ReflectiveOperationException(ex);
+            }
+            return parser.get(command, index);
+        }
+    }
+}
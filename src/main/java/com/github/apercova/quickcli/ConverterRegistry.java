@@ -0,0 +1,162 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.annotation.CLIConverter;
+import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of {@link DatatypeConverter} instances.
+ * <br><br>
+ * Converter instances are created once and reused afterwards. Converters
+ * annotated as {@link CLIConverter#threadSafe() thread-safe} are shared among
+ * threads, other ways each thread gets its own instance.
+ * <br><br>
+ * Converters can also be registered by target type, so fields of that type
+ * don't need to be annotated with
+ * {@link com.github.apercova.quickcli.annotation.CLIDatatypeConverter CLIDatatypeConverter}.
+ * Built-in types are always parsed natively.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class ConverterRegistry {
+
+    private static final ClassValue<Instances> INSTANCES = new ClassValue<Instances>() {
+        @Override
+        protected Instances computeValue(Class<?> type) {
+            return new Instances(type);
+        }
+    };
+
+    private static final ConcurrentMap<Class<?>, Object> CONVERTERS = new ConcurrentHashMap<Class<?>, Object>();
+
+    private ConverterRegistry() {
+        super();
+    }
+
+    /**
+     * Retrieve a cached instance of the provided converter class.
+     *
+     * @param <C> Converter type.
+     * @param converterClass Converter class.
+     * @return Converter instance.
+     * @throws ReflectiveOperationException If converter can not be
+     * instantiated.
+     */
+    public static <C extends DatatypeConverter<?>> C getConverter(Class<C> converterClass)
+            throws ReflectiveOperationException {
+        return converterClass.cast(INSTANCES.get(converterClass).get());
+    }
+
+    /**
+     * Register a converter instance for the provided target type. Converter
+     * is shared among threads, so it must be thread-safe.
+     *
+     * @param <V> Target type.
+     * @param type Target type.
+     * @param converter Converter instance.
+     */
+    public static <V> void register(Class<V> type, DatatypeConverter<? extends V> converter) {
+        CONVERTERS.put(type, converter);
+    }
+
+    /**
+     * Register a converter class for the provided target type. Converter
+     * instances are cached according to converter's thread-safety.
+     *
+     * @param <V> Target type.
+     * @param type Target type.
+     * @param converterClass Converter class.
+     */
+    public static <V> void register(Class<V> type, Class<? extends DatatypeConverter<? extends V>> converterClass) {
+        CONVERTERS.put(type, converterClass);
+    }
+
+    /**
+     * Remove converter registered for the provided target type.
+     *
+     * @param type Target type.
+     */
+    public static void unregister(Class<?> type) {
+        CONVERTERS.remove(type);
+    }
+
+    /**
+     * Retrieve converter registered for the provided target type.
+     *
+     * @param type Target type.
+     * @return Converter instance or <code>null</code> if no converter has been
+     * registered for given type.
+     * @throws ReflectiveOperationException If converter can not be
+     * instantiated.
+     */
+    public static DatatypeConverter<?> forType(Class<?> type) throws ReflectiveOperationException {
+        Object converter = CONVERTERS.get(type);
+        if (converter instanceof Class) {
+            return (DatatypeConverter<?>) INSTANCES.get((Class<?>) converter).get();
+        }
+        return (DatatypeConverter<?>) converter;
+    }
+
+    /**
+     * Cached instances of a converter class.
+     */
+    private static final class Instances {
+
+        private final Class<?> type;
+        private final boolean shared;
+        private final ThreadLocal<Object> local;
+        private volatile Object instance;
+
+        Instances(Class<?> type) {
+            CLIConverter options = type.getAnnotation(CLIConverter.class);
+            this.type = type;
+            this.shared = options != null && options.threadSafe();
+            this.local = shared ? null : new ThreadLocal<Object>();
+        }
+
+        Object get() throws ReflectiveOperationException {
+            if (shared) {
+                Object converter = instance;
+                if (converter == null) {
+                    synchronized (this) {
+                        converter = instance;
+                        if (converter == null) {
+                            converter = newInstance();
+                            instance = converter;
+                        }
+                    }
+                }
+                return converter;
+            }
+            Object converter = local.get();
+            if (converter == null) {
+                converter = newInstance();
+                local.set(converter);
+            }
+            return converter;
+        }
+
+        private Object newInstance() throws ReflectiveOperationException {
+            try {
+                Constructor<?> ctor = type.getDeclaredConstructor();
+                ctor.setAccessible(true);
+                return ctor.newInstance();
+            } catch (NoSuchMethodException ex) {
+                throw new ReflectiveOperationException(ex);
+            } catch (InstantiationException ex) {
+                throw new ReflectiveOperationException(ex);
+            } catch (IllegalAccessException ex) {
+                throw new ReflectiveOperationException(ex);
+            } catch (InvocationTargetException ex) {
+                throw new ReflectiveOperationException(ex);
+            }
+        }
+    }
+}
@@ -24,6 +24,21 @@ public interface DatatypeConverter<T> {
      */
     public T parse(String value) throws DatatypeConverterException;
 
+    /**
+     * Parses a value from a slice of a text source. Converters able to parse
+     * slices without creating a substring should override this method.
+     *
+     * @param src Source text.
+     * @param start Slice start, inclusive.
+     * @param end Slice end, exclusive.
+     * @return Parsed value.
+     * @throws DatatypeConverterException If an exception occurs.
+     * @since 1.1
+     */
+    default T parse(CharSequence src, int start, int end) throws DatatypeConverterException {
+        return parse(src.subSequence(start, end).toString());
+    }
+
     /**
      * Retrieves a text-based object's representation.
      *
@@ -1,6 +1,10 @@
 package com.github.apercova.quickcli;
 
 import com.github.apercova.quickcli.exception.ExecutionException;
+import com.github.apercova.quickcli.instrument.Instrumentation;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Executable object.Represents an executable object.
@@ -22,4 +26,48 @@ public interface Executable<T> {
      */
     public T execute() throws ExecutionException;
 
+    /**
+     * Run execution asynchronously on the shared task executor, on a virtual
+     * thread when the JVM supports them.
+     *
+     * @return Future completed with execution result, or exceptionally with
+     * the execution error.
+     * @since 1.1
+     */
+    default CompletableFuture<T> executeAsync() {
+        return executeAsync(TaskExecutors.shared());
+    }
+
+    /**
+     * Run execution asynchronously on provided executor.
+     *
+     * @param executor Task executor.
+     * @return Future completed with execution result, or exceptionally with
+     * the execution error.
+     * @since 1.1
+     */
+    default CompletableFuture<T> executeAsync(Executor executor) {
+        final CompletableFuture<T> future = new CompletableFuture<T>();
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        future.complete(Instrumentation.execute(Executable.this));
+                    } catch (ExecutionException ex) {
+                        future.completeExceptionally(ex);
+                    } catch (RuntimeException ex) {
+                        future.completeExceptionally(ex);
+                    } catch (Error ex) {
+                        future.completeExceptionally(ex);
+                        throw ex;
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
 }
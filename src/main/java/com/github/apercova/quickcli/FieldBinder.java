@@ -0,0 +1,481 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.exception.DatatypeConverterException;
+import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Type-specialized field binder. A binder is resolved once per field and
+ * writes parsed values through a {@link MethodHandle}, so primitive values
+ * are stored without wrapper allocation or reflective {@link Field#set}
+ * calls. Primitive values are parsed from text slices through
+ * {@link PrimitiveParser}.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public abstract class FieldBinder {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /**
+     * Field getter of type <code>(Object)Object</code>.
+     */
+    protected final MethodHandle getter;
+
+    protected FieldBinder(MethodHandle getter) {
+        this.getter = getter;
+    }
+
+    /**
+     * Parse a text value and store it into target's field.
+     *
+     * @param target Target object.
+     * @param value Value as string.
+     * @throws DatatypeConverterException If value can not be converted.
+     * @throws ReflectiveOperationException If value can not be stored.
+     * @throws NumberFormatException If value is not a valid number.
+     */
+    public abstract void bind(Object target, String value)
+            throws DatatypeConverterException, ReflectiveOperationException;
+
+    /**
+     * Parse a slice of a text source and store it into target's field.
+     * Primitive values are parsed without creating a substring.
+     *
+     * @param target Target object.
+     * @param src Source text.
+     * @param start Slice start, inclusive.
+     * @param end Slice end, exclusive.
+     * @throws DatatypeConverterException If value can not be converted.
+     * @throws ReflectiveOperationException If value can not be stored.
+     * @throws NumberFormatException If value is not a valid number.
+     */
+    public void bind(Object target, CharSequence src, int start, int end)
+            throws DatatypeConverterException, ReflectiveOperationException {
+        bind(target, src.subSequence(start, end).toString());
+    }
+
+    /**
+     * Retrieve target's field value.
+     *
+     * @param target Target object.
+     * @return Field value, primitives are boxed.
+     * @throws ReflectiveOperationException If value can not be retrieved.
+     */
+    public Object get(Object target) throws ReflectiveOperationException {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Throwable t) {
+            throw failure(t);
+        }
+    }
+
+    /**
+     * Resolve a binder for an accessible field.
+     *
+     * @param field Accessible field.
+     * @param converter Field's {@link DatatypeConverter} class or
+     * <code>null</code>.
+     * @return Field binder or <code>null</code> if field setter can not be
+     * resolved, in which case reflective binding must be used.
+     */
+    public static FieldBinder forField(Field field, Class<? extends DatatypeConverter<?>> converter) {
+        try {
+            Class<?> type = field.getType();
+            MethodHandle getter = LOOKUP.unreflectGetter(field)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            MethodHandle setter = LOOKUP.unreflectSetter(field);
+
+            if (MultiValueBinder.isMultiValued(type)) {
+                return MultiValueBinder.forField(field, converter, getter, setter(setter, Object.class));
+            }
+            if (converter != null) {
+                return new ConverterBinder(getter, setter(setter, Object.class), converter);
+            }
+            if (type.isPrimitive()) {
+                setter = setter(setter, type);
+                if (boolean.class.equals(type)) {
+                    return new BooleanBinder(getter, setter);
+                }
+                if (byte.class.equals(type)) {
+                    return new ByteBinder(getter, setter);
+                }
+                if (short.class.equals(type)) {
+                    return new ShortBinder(getter, setter);
+                }
+                if (int.class.equals(type)) {
+                    return new IntBinder(getter, setter);
+                }
+                if (long.class.equals(type)) {
+                    return new LongBinder(getter, setter);
+                }
+                if (float.class.equals(type)) {
+                    return new FloatBinder(getter, setter);
+                }
+                if (double.class.equals(type)) {
+                    return new DoubleBinder(getter, setter);
+                }
+                return null;
+            }
+            if (isBuiltIn(type)) {
+                return new ObjectBinder(getter, setter(setter, Object.class), type);
+            }
+            return new TypeConverterBinder(getter, setter(setter, Object.class), type);
+        } catch (IllegalAccessException ex) {
+            Logger.getLogger(FieldBinder.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Determine if values of given type are parsed natively, that is primitive,
+     * wrapper, {@link String}, {@link BigInteger} and {@link BigDecimal} types.
+     *
+     * @param type Value type.
+     * @return <code>true</code> if type is parsed natively.
+     */
+    static boolean isBuiltIn(Class<?> type) {
+        return type.isPrimitive()
+                || String.class.equals(type)
+                || Boolean.class.equals(type)
+                || Byte.class.equals(type)
+                || Short.class.equals(type)
+                || Integer.class.equals(type)
+                || Long.class.equals(type)
+                || Float.class.equals(type)
+                || Double.class.equals(type)
+                || BigInteger.class.equals(type)
+                || BigDecimal.class.equals(type);
+    }
+
+    private static MethodHandle setter(MethodHandle setter, Class<?> type) {
+        return setter.asType(MethodType.methodType(void.class, Object.class, type));
+    }
+
+    /**
+     * Translate a {@link MethodHandle} invocation failure.
+     *
+     * @param t Invocation failure.
+     * @return {@link ReflectiveOperationException} wrapping a checked failure.
+     */
+    protected static ReflectiveOperationException failure(Throwable t) {
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new ReflectiveOperationException(t);
+    }
+
+    private static final class BooleanBinder extends FieldBinder {
+
+        private final MethodHandle setter;
+
+        BooleanBinder(MethodHandle getter, MethodHandle setter) {
+            super(getter);
+            this.setter = setter;
+        }
+
+        @Override
+        public void bind(Object target, String value) throws ReflectiveOperationException {
+            bind(target, value, 0, value != null ? value.length() : 0);
+        }
+
+        @Override
+        public void bind(Object target, CharSequence src, int start, int end) throws ReflectiveOperationException {
+            boolean v = PrimitiveParser.parseBoolean(src, start, end);
+            try {
+                setter.invokeExact(target, v);
+            } catch (Throwable t) {
+                throw failure(t);
+            }
+        }
+    }
+
+    private static final class ByteBinder extends FieldBinder {
+
+        private final MethodHandle setter;
+
+        ByteBinder(MethodHandle getter, MethodHandle setter) {
+            super(getter);
+            this.setter = setter;
+        }
+
+        @Override
+        public void bind(Object target, String value) throws ReflectiveOperationException {
+            bind(target, value, 0, value != null ? value.length() : 0);
+        }
+
+        @Override
+        public void bind(Object target, CharSequence src, int start, int end) throws ReflectiveOperationException {
+            byte v = PrimitiveParser.parseByte(src, start, end);
+            try {
+                setter.invokeExact(target, v);
+            } catch (Throwable t) {
+                throw failure(t);
+            }
+        }
+    }
+
+    private static final class ShortBinder extends FieldBinder {
+
+        private final MethodHandle setter;
+
+        ShortBinder(MethodHandle getter, MethodHandle setter) {
+            super(getter);
+            this.setter = setter;
+        }
+
+        @Override
+        public void bind(Object target, String value) throws ReflectiveOperationException {
+            bind(target, value, 0, value != null ? value.length() : 0);
+        }
+
+        @Override
+        public void bind(Object target, CharSequence src, int start, int end) throws ReflectiveOperationException {
+            short v = PrimitiveParser.parseShort(src, start, end);
+            try {
+                setter.invokeExact(target, v);
+            } catch (Throwable t) {
+                throw failure(t);
+            }
+        }
+    }
+
+    private static final class IntBinder extends FieldBinder {
+
+        private final MethodHandle setter;
+
+        IntBinder(MethodHandle getter, MethodHandle setter) {
+            super(getter);
+            this.setter = setter;
+        }
+
+        @Override
+        public void bind(Object target, String value) throws ReflectiveOperationException {
+            bind(target, value, 0, value != null ? value.length() : 0);
+        }
+
+        @Override
+        public void bind(Object target, CharSequence src, int start, int end) throws ReflectiveOperationException {
+            int v = PrimitiveParser.parseInt(src, start, end);
+            try {
+                setter.invokeExact(target, v);
+            } catch (Throwable t) {
+                throw failure(t);
+            }
+        }
+    }
+
+    private static final class LongBinder extends FieldBinder {
+
+        private final MethodHandle setter;
+
+        LongBinder(MethodHandle getter, MethodHandle setter) {
+            super(getter);
+            this.setter = setter;
+        }
+
+        @Override
+        public void bind(Object target, String value) throws ReflectiveOperationException {
+            bind(target, value, 0, value != null ? value.length() : 0);
+        }
+
+        @Override
+        public void bind(Object target, CharSequence src, int start, int end) throws ReflectiveOperationException {
+            long v = PrimitiveParser.parseLong(src, start, end);
+            try {
+                setter.invokeExact(target, v);
+            } catch (Throwable t) {
+                throw failure(t);
+            }
+        }
+    }
+
+    private static final class FloatBinder extends FieldBinder {
+
+        private final MethodHandle setter;
+
+        FloatBinder(MethodHandle getter, MethodHandle setter) {
+            super(getter);
+            this.setter = setter;
+        }
+
+        @Override
+        public void bind(Object target, String value) throws ReflectiveOperationException {
+            bind(target, value, 0, value != null ? value.length() : 0);
+        }
+
+        @Override
+        public void bind(Object target, CharSequence src, int start, int end) throws ReflectiveOperationException {
+            float v = PrimitiveParser.parseFloat(src, start, end);
+            try {
+                setter.invokeExact(target, v);
+            } catch (Throwable t) {
+                throw failure(t);
+            }
+        }
+    }
+
+    private static final class DoubleBinder extends FieldBinder {
+
+        private final MethodHandle setter;
+
+        DoubleBinder(MethodHandle getter, MethodHandle setter) {
+            super(getter);
+            this.setter = setter;
+        }
+
+        @Override
+        public void bind(Object target, String value) throws ReflectiveOperationException {
+            bind(target, value, 0, value != null ? value.length() : 0);
+        }
+
+        @Override
+        public void bind(Object target, CharSequence src, int start, int end) throws ReflectiveOperationException {
+            double v = PrimitiveParser.parseDouble(src, start, end);
+            try {
+                setter.invokeExact(target, v);
+            } catch (Throwable t) {
+                throw failure(t);
+            }
+        }
+    }
+
+    /**
+     * Binder for {@link String}, wrapper and big number fields.
+     */
+    private static final class ObjectBinder extends FieldBinder {
+
+        private final MethodHandle setter;
+        private final Class<?> type;
+
+        ObjectBinder(MethodHandle getter, MethodHandle setter, Class<?> type) {
+            super(getter);
+            this.setter = setter;
+            this.type = type;
+        }
+
+        @Override
+        public void bind(Object target, String value) throws ReflectiveOperationException {
+            Object v = parse(value);
+            try {
+                setter.invokeExact(target, v);
+            } catch (Throwable t) {
+                throw failure(t);
+            }
+        }
+
+        private Object parse(String value) {
+            if (String.class.equals(type)) {
+                return value;
+            }
+            if (Boolean.class.equals(type)) {
+                return Boolean.valueOf(value);
+            }
+            if (Byte.class.equals(type)) {
+                return Byte.valueOf(value);
+            }
+            if (Short.class.equals(type)) {
+                return Short.valueOf(value);
+            }
+            if (Integer.class.equals(type)) {
+                return Integer.valueOf(value);
+            }
+            if (Long.class.equals(type)) {
+                return Long.valueOf(value);
+            }
+            if (Float.class.equals(type)) {
+                return Float.valueOf(value);
+            }
+            if (Double.class.equals(type)) {
+                return Double.valueOf(value);
+            }
+            if (BigInteger.class.equals(type)) {
+                return new BigInteger(value);
+            }
+            return new BigDecimal(value);
+        }
+    }
+
+    /**
+     * Binder for fields annotated with a custom {@link DatatypeConverter}.
+     */
+    private static final class ConverterBinder extends FieldBinder {
+
+        private final MethodHandle setter;
+        private final Class<? extends DatatypeConverter<?>> converter;
+
+        ConverterBinder(MethodHandle getter, MethodHandle setter, Class<? extends DatatypeConverter<?>> converter) {
+            super(getter);
+            this.setter = setter;
+            this.converter = converter;
+        }
+
+        @Override
+        public void bind(Object target, String value)
+                throws DatatypeConverterException, ReflectiveOperationException {
+            Object v = ConverterRegistry.getConverter(converter).parse(value);
+            try {
+                setter.invokeExact(target, v);
+            } catch (Throwable t) {
+                throw failure(t);
+            }
+        }
+
+        @Override
+        public void bind(Object target, CharSequence src, int start, int end)
+                throws DatatypeConverterException, ReflectiveOperationException {
+            Object v = ConverterRegistry.getConverter(converter).parse(src, start, end);
+            try {
+                setter.invokeExact(target, v);
+            } catch (Throwable t) {
+                throw failure(t);
+            }
+        }
+    }
+
+    /**
+     * Binder for fields whose type converter is registered on
+     * {@link ConverterRegistry}. Values of types without a registered
+     * converter are ignored.
+     */
+    private static final class TypeConverterBinder extends FieldBinder {
+
+        private final MethodHandle setter;
+        private final Class<?> type;
+
+        TypeConverterBinder(MethodHandle getter, MethodHandle setter, Class<?> type) {
+            super(getter);
+            this.setter = setter;
+            this.type = type;
+        }
+
+        @Override
+        public void bind(Object target, String value)
+                throws DatatypeConverterException, ReflectiveOperationException {
+            DatatypeConverter<?> converter = ConverterRegistry.forType(type);
+            if (converter == null) {
+                return;
+            }
+            Object v = converter.parse(value);
+            try {
+                setter.invokeExact(target, v);
+            } catch (Throwable t) {
+                throw failure(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+import com.github.apercova.quickcli.exception.ExecutionException;
+import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import com.github.apercova.quickcli.instrument.Instrumentation;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streaming command runner. Reads one argument line at a time and executes a
+ * single reusable command instance for each line.
+ * <br><br>
+ * Between lines the command's {@link com.github.apercova.quickcli.annotation.CLIArgument}
+ * fields are reset to the values they had after construction. Lines are
+ * tokenized in place following {@link ArgumentFile} quoting rules, blank
+ * lines are skipped. Commands write to one shared buffered writer, and
+ * non-null execution results are printed to it. Argument and execution
+ * errors are collected per line and do not stop the run.
+ * <br><br>
+ * A runner is not thread-safe.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @param <T> Command type
+ * @since 1.1
+ *
+ */
+public final class LineRunner<T extends Command<?>> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Class<T> clazz;
+    private final Locale locale;
+    private final Messages messages;
+    private final PrintWriter writer;
+    private final ArgumentTokenizer.Line tokenizer;
+    private T command;
+    private CommandSnapshot snapshot;
+
+    /**
+     * Creates a runner writing to standard output.
+     *
+     * @param clazz Command type class.
+     * @throws CLIArgumentException If class is not a valid command type.
+     */
+    public LineRunner(Class<T> clazz) throws CLIArgumentException {
+        this(clazz, new OutputStreamWriter(System.out, Charset.defaultCharset()), Locale.getDefault());
+    }
+
+    /**
+     * Creates a runner.
+     *
+     * @param clazz Command type class.
+     * @param writer Output writer, buffered and shared by all lines.
+     * @param locale Output locale.
+     * @throws CLIArgumentException If class is not a valid command type.
+     */
+    public LineRunner(Class<T> clazz, Writer writer, Locale locale) throws CLIArgumentException {
+        writer = writer == null ? new OutputStreamWriter(System.out, Charset.defaultCharset()) : writer;
+        this.clazz = clazz;
+        this.locale = locale == null ? Locale.getDefault() : locale;
+        this.messages = Messages.forLocale(this.locale);
+        this.writer = new PrintWriter(new BufferedWriter(writer, BUFFER_SIZE), false);
+        this.tokenizer = ArgumentTokenizer.forLines();
+
+        if (!CommandDescriptor.forClass(clazz).isCommand()) {
+            throw messages.error("type.invalid", clazz.getName());
+        }
+    }
+
+    /**
+     * Runs a command for each line of a byte stream.
+     *
+     * @param in Input stream.
+     * @param cs Input charset.
+     * @return Run report.
+     * @throws IOException If input can not be read.
+     * @throws CLIArgumentException If command can not be instantiated.
+     */
+    public Report run(InputStream in, Charset cs) throws IOException, CLIArgumentException {
+        return run(new InputStreamReader(in, cs));
+    }
+
+    /**
+     * Runs a command for each line of a byte channel.
+     *
+     * @param in Input channel.
+     * @param cs Input charset.
+     * @return Run report.
+     * @throws IOException If input can not be read.
+     * @throws CLIArgumentException If command can not be instantiated.
+     */
+    public Report run(ReadableByteChannel in, Charset cs) throws IOException, CLIArgumentException {
+        return run(Channels.newReader(in, cs.newDecoder(), BUFFER_SIZE));
+    }
+
+    /**
+     * Runs a command for each line of a char stream.
+     *
+     * @param in Input reader.
+     * @return Run report.
+     * @throws IOException If input can not be read.
+     * @throws CLIArgumentException If command can not be instantiated.
+     */
+    public Report run(Reader in) throws IOException, CLIArgumentException {
+        BufferedReader reader = new BufferedReader(in, BUFFER_SIZE);
+        List<LineError> errors = new ArrayList<LineError>();
+        long number = 0;
+        long executed = 0;
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                number++;
+                if (line.trim().length() == 0) {
+                    continue;
+                }
+                executed++;
+                try {
+                    Object result = execute(line);
+                    if (result != null) {
+                        writer.println(result);
+                    }
+                } catch (CLIArgumentException ex) {
+                    errors.add(new LineError(number, line, ex));
+                } catch (ExecutionException ex) {
+                    errors.add(new LineError(number, line, ex));
+                } catch (RuntimeException ex) {
+                    Logger.getLogger(LineRunner.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+                    errors.add(new LineError(number, line, ex));
+                }
+            }
+        } finally {
+            writer.flush();
+        }
+        return new Report(executed, errors);
+    }
+
+    private Object execute(String line) throws CLIArgumentException, ExecutionException {
+        T cmd = command();
+        try {
+            snapshot.restore(cmd);
+            CommandParser.parse(cmd, tokenizer.reset(line), messages);
+            CommandParser.validate(cmd, messages);
+        } catch (ReflectiveOperationException ex) {
+            throw messages.error(ex, "type.invalid", clazz.getName());
+        }
+        return Instrumentation.execute(cmd);
+    }
+
+    private T command() throws CLIArgumentException {
+        if (command == null) {
+            try {
+                T cmd = clazz.getDeclaredConstructor().newInstance();
+                cmd.setLocale(locale);
+                cmd.setWriter(writer);
+                snapshot = CommandSnapshot.of(cmd);
+                command = cmd;
+            } catch (ReflectiveOperationException ex) {
+                throw messages.error(ex, "type.invalid", clazz.getName());
+            } catch (InstantiationException ex) {
+                throw messages.error(new ReflectiveOperationException(ex), "type.invalid", clazz.getName());
+            } catch (IllegalAccessException ex) {
+                throw messages.error(new ReflectiveOperationException(ex), "type.invalid", clazz.getName());
+            } catch (NoSuchMethodException ex) {
+                throw messages.error(new ReflectiveOperationException(ex), "type.invalid", clazz.getName());
+            } catch (InvocationTargetException ex) {
+                throw messages.error(new ReflectiveOperationException(ex), "type.invalid", clazz.getName());
+            }
+        }
+        return command;
+    }
+
+    /**
+     * Run report.
+     */
+    public static final class Report {
+
+        private final long executed;
+        private final List<LineError> errors;
+
+        Report(long executed, List<LineError> errors) {
+            this.executed = executed;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * Retrieve number of non-blank lines run.
+         *
+         * @return Number of lines run.
+         */
+        public long getExecuted() {
+            return executed;
+        }
+
+        /**
+         * Retrieve number of lines run without errors.
+         *
+         * @return Number of successful lines.
+         */
+        public long getSucceeded() {
+            return executed - errors.size();
+        }
+
+        /**
+         * Retrieve per-line errors in input order.
+         *
+         * @return Line errors.
+         */
+        public List<LineError> getErrors() {
+            return errors;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s [executed=%d, errors=%d]", getClass().getSimpleName(), executed, errors.size());
+        }
+    }
+
+    /**
+     * Error raised by a line.
+     */
+    public static final class LineError {
+
+        private final long line;
+        private final String text;
+        private final Exception error;
+
+        LineError(long line, String text, Exception error) {
+            this.line = line;
+            this.text = text;
+            this.error = error;
+        }
+
+        /**
+         * Retrieve line number, starting at 1.
+         *
+         * @return Line number.
+         */
+        public long getLine() {
+            return line;
+        }
+
+        /**
+         * Retrieve line text.
+         *
+         * @return Line text.
+         */
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Retrieve line error, either a {@link CLIArgumentException}, an
+         * {@link ExecutionException} or a runtime exception.
+         *
+         * @return Line error.
+         */
+        public Exception getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d: %s", line, error.getMessage());
+        }
+    }
+}
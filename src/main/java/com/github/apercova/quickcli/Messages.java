@@ -0,0 +1,161 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+import java.text.MessageFormat;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Localized QuickCLI messages. Instances are cached per {@link Locale}; the
+ * underlying {@link ResourceBundle} is loaded and message templates are
+ * compiled only when a message is actually needed, so successful command
+ * creation never touches i18n resources.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class Messages {
+
+    private static final String MESSAGE_BOUNDLE = "com.github.apercova.quickcli.i18n.messages";
+
+    private static final ConcurrentMap<Locale, Messages> MESSAGES = new ConcurrentHashMap<Locale, Messages>();
+
+    private final Locale locale;
+    private final ConcurrentMap<String, MessageFormat> templates = new ConcurrentHashMap<String, MessageFormat>();
+    private volatile ResourceBundle bundle;
+
+    private Messages(Locale locale, ResourceBundle bundle) {
+        this.locale = locale;
+        this.bundle = bundle;
+    }
+
+    /**
+     * Retrieve messages for the provided {@link Locale}.
+     *
+     * @param locale Messages locale, default locale if <code>null</code>.
+     * @return Cached messages.
+     */
+    public static Messages forLocale(Locale locale) {
+        locale = locale == null ? Locale.getDefault() : locale;
+        Messages messages = MESSAGES.get(locale);
+        if (messages == null) {
+            messages = new Messages(locale, null);
+            Messages current = MESSAGES.putIfAbsent(locale, messages);
+            messages = current != null ? current : messages;
+        }
+        return messages;
+    }
+
+    /**
+     * Wrap an already loaded {@link ResourceBundle}.
+     *
+     * @param bundle Message bundle.
+     * @return Messages backed by given bundle.
+     */
+    public static Messages of(ResourceBundle bundle) {
+        return new Messages(bundle.getLocale(), bundle);
+    }
+
+    /**
+     * Retrieve messages {@link Locale}.
+     *
+     * @return messages locale.
+     */
+    public Locale getLocale() {
+        return locale;
+    }
+
+    /**
+     * Format a message.
+     *
+     * @param key Message key.
+     * @param args Message arguments.
+     * @return Formatted message.
+     */
+    public String format(String key, Object... args) {
+        MessageFormat template = templates.get(key);
+        if (template == null) {
+            template = new MessageFormat(bundle().getString(key), locale);
+            MessageFormat current = templates.putIfAbsent(key, template);
+            template = current != null ? current : template;
+        }
+        synchronized (template) {
+            return template.format(args);
+        }
+    }
+
+    /**
+     * Creates a {@link CLIArgumentException} whose message is formatted only
+     * when read.
+     *
+     * @param key Message key.
+     * @param args Message arguments.
+     * @return Argument exception.
+     */
+    public CLIArgumentException error(String key, Object... args) {
+        return new LocalizedArgumentException(this, key, args, null);
+    }
+
+    /**
+     * Creates a {@link CLIArgumentException} whose message is formatted only
+     * when read.
+     *
+     * @param cause Exception cause.
+     * @param key Message key.
+     * @param args Message arguments.
+     * @return Argument exception.
+     */
+    public CLIArgumentException error(Throwable cause, String key, Object... args) {
+        return new LocalizedArgumentException(this, key, args, cause);
+    }
+
+    private ResourceBundle bundle() {
+        ResourceBundle messages = bundle;
+        if (messages == null) {
+            messages = ResourceBundle.getBundle(MESSAGE_BOUNDLE, locale);
+            bundle = messages;
+        }
+        return messages;
+    }
+
+    /**
+     * Argument exception with a lazily formatted message.
+     */
+    private static final class LocalizedArgumentException extends CLIArgumentException {
+
+        private static final long serialVersionUID = -6570519431047244713L;
+
+        private final transient Messages messages;
+        private final transient String key;
+        private final transient Object[] args;
+        private volatile String message;
+
+        LocalizedArgumentException(Messages messages, String key, Object[] args, Throwable cause) {
+            super(null, cause);
+            this.messages = messages;
+            this.key = key;
+            this.args = args;
+        }
+
+        @Override
+        public String getMessage() {
+            String msg = message;
+            if (msg == null && messages != null) {
+                msg = messages.format(key, args);
+                message = msg;
+            }
+            return msg;
+        }
+
+        private Object writeReplace() {
+            CLIArgumentException ex = new CLIArgumentException(getMessage(), getCause());
+            ex.setStackTrace(getStackTrace());
+            return ex;
+        }
+    }
+}
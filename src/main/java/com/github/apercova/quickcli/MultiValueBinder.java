@@ -0,0 +1,369 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.exception.DatatypeConverterException;
+import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Binder for multi-valued fields, that is <code>int[]</code>,
+ * <code>long[]</code>, {@link List} and {@link Set} fields.
+ * <br><br>
+ * Values are collected into a {@link Buffer} from every occurrence of the
+ * argument, each one split on the argument's
+ * {@link CLIArgument#separator() separator}, and stored once parsing ends.
+ * Tokens are split in place: numeric elements are parsed from slices of the
+ * token through {@link PrimitiveParser}, and numeric arrays grow in
+ * primitive buffers, so no intermediate string or wrapper is created per
+ * element. Empty elements are ignored. Lists keep elements in order, sets
+ * keep them in first-occurrence order.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+abstract class MultiValueBinder extends FieldBinder {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final MethodHandle setter;
+    private final String separator;
+
+    MultiValueBinder(MethodHandle getter, MethodHandle setter, String separator) {
+        super(getter);
+        this.setter = setter;
+        this.separator = separator;
+    }
+
+    /**
+     * Determine if fields of given type hold multiple values.
+     *
+     * @param type Field type.
+     * @return <code>true</code> for <code>int[]</code>, <code>long[]</code>,
+     * {@link List} and {@link Set} types.
+     */
+    static boolean isMultiValued(Class<?> type) {
+        return int[].class.equals(type)
+                || long[].class.equals(type)
+                || List.class.equals(type)
+                || Set.class.equals(type);
+    }
+
+    /**
+     * Resolve the binder of a multi-valued field.
+     *
+     * @param field Multi-valued field.
+     * @param converter Elements {@link DatatypeConverter} class or
+     * <code>null</code>.
+     * @param getter Field getter of type <code>(Object)Object</code>.
+     * @param setter Field setter of type <code>(Object,Object)void</code>.
+     * @return Field binder.
+     */
+    static MultiValueBinder forField(Field field, Class<? extends DatatypeConverter<?>> converter,
+            MethodHandle getter, MethodHandle setter) {
+        Class<?> type = field.getType();
+        CLIArgument arg = field.getAnnotation(CLIArgument.class);
+        String separator = arg != null ? arg.separator() : "";
+        if (int[].class.equals(type)) {
+            return new IntArrayBinder(getter, setter, separator);
+        }
+        if (long[].class.equals(type)) {
+            return new LongArrayBinder(getter, setter, separator);
+        }
+        return new CollectionBinder(getter, setter, separator, Set.class.equals(type),
+                elementType(field), converter);
+    }
+
+    private static Class<?> elementType(Field field) {
+        Type generic = field.getGenericType();
+        if (generic instanceof ParameterizedType) {
+            Type element = ((ParameterizedType) generic).getActualTypeArguments()[0];
+            if (element instanceof Class) {
+                return (Class<?>) element;
+            }
+            if (element instanceof ParameterizedType) {
+                return (Class<?>) ((ParameterizedType) element).getRawType();
+            }
+        }
+        return String.class;
+    }
+
+    /**
+     * Retrieve the type of single values.
+     *
+     * @return Element type.
+     */
+    abstract Class<?> getElementType();
+
+    /**
+     * Creates an empty value buffer.
+     *
+     * @return Value buffer.
+     */
+    abstract Buffer newBuffer();
+
+    /**
+     * Split a text slice into elements and add them to a buffer.
+     *
+     * @param buffer Value buffer.
+     * @param src Source text.
+     * @param start Slice start, inclusive.
+     * @param end Slice end, exclusive.
+     * @throws DatatypeConverterException If an element can not be converted.
+     * @throws ReflectiveOperationException If element converter can not be
+     * instantiated.
+     * @throws NumberFormatException If an element is not a valid number.
+     */
+    void add(Buffer buffer, CharSequence src, int start, int end)
+            throws DatatypeConverterException, ReflectiveOperationException {
+        int sep = separator.length();
+        if (sep == 0) {
+            if (start < end) {
+                buffer.add(src, start, end);
+            }
+            return;
+        }
+        int from = start;
+        for (int i = start; i <= end - sep; i++) {
+            if (matches(src, i)) {
+                if (from < i) {
+                    buffer.add(src, from, i);
+                }
+                i += sep - 1;
+                from = i + 1;
+            }
+        }
+        if (from < end) {
+            buffer.add(src, from, end);
+        }
+    }
+
+    private boolean matches(CharSequence src, int index) {
+        for (int j = 0; j < separator.length(); j++) {
+            if (src.charAt(index + j) != separator.charAt(j)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Store buffered values into target's field.
+     *
+     * @param target Target object.
+     * @param buffer Value buffer.
+     * @throws ReflectiveOperationException If value can not be stored.
+     */
+    void store(Object target, Buffer buffer) throws ReflectiveOperationException {
+        Object value = buffer.toValue();
+        try {
+            setter.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw failure(t);
+        }
+    }
+
+    /**
+     * Replace field value with the elements of a single value.
+     */
+    @Override
+    public void bind(Object target, String value)
+            throws DatatypeConverterException, ReflectiveOperationException {
+        bind(target, value, 0, value.length());
+    }
+
+    /**
+     * Replace field value with the elements of a text slice.
+     */
+    @Override
+    public void bind(Object target, CharSequence src, int start, int end)
+            throws DatatypeConverterException, ReflectiveOperationException {
+        Buffer buffer = newBuffer();
+        add(buffer, src, start, end);
+        store(target, buffer);
+    }
+
+    /**
+     * Growable buffer of parsed elements.
+     */
+    abstract static class Buffer {
+
+        abstract void add(CharSequence src, int start, int end)
+                throws DatatypeConverterException, ReflectiveOperationException;
+
+        abstract Object toValue();
+    }
+
+    /**
+     * Binder for <code>int[]</code> fields.
+     */
+    private static final class IntArrayBinder extends MultiValueBinder {
+
+        IntArrayBinder(MethodHandle getter, MethodHandle setter, String separator) {
+            super(getter, setter, separator);
+        }
+
+        @Override
+        Class<?> getElementType() {
+            return int.class;
+        }
+
+        @Override
+        Buffer newBuffer() {
+            return new Buffer() {
+                private int[] values = new int[INITIAL_CAPACITY];
+                private int size;
+
+                @Override
+                void add(CharSequence src, int start, int end) {
+                    int value = PrimitiveParser.parseInt(src, start, end);
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, size << 1);
+                    }
+                    values[size++] = value;
+                }
+
+                @Override
+                Object toValue() {
+                    return Arrays.copyOf(values, size);
+                }
+            };
+        }
+    }
+
+    /**
+     * Binder for <code>long[]</code> fields.
+     */
+    private static final class LongArrayBinder extends MultiValueBinder {
+
+        LongArrayBinder(MethodHandle getter, MethodHandle setter, String separator) {
+            super(getter, setter, separator);
+        }
+
+        @Override
+        Class<?> getElementType() {
+            return long.class;
+        }
+
+        @Override
+        Buffer newBuffer() {
+            return new Buffer() {
+                private long[] values = new long[INITIAL_CAPACITY];
+                private int size;
+
+                @Override
+                void add(CharSequence src, int start, int end) {
+                    long value = PrimitiveParser.parseLong(src, start, end);
+                    if (size == values.length) {
+                        values = Arrays.copyOf(values, size << 1);
+                    }
+                    values[size++] = value;
+                }
+
+                @Override
+                Object toValue() {
+                    return Arrays.copyOf(values, size);
+                }
+            };
+        }
+    }
+
+    /**
+     * Binder for {@link List} and {@link Set} fields. Elements are built-in
+     * types or are converted through argument's converter, or the converter
+     * registered for element type. Elements of types without a converter are
+     * ignored.
+     */
+    private static final class CollectionBinder extends MultiValueBinder {
+
+        private final boolean set;
+        private final Class<?> type;
+        private final Class<? extends DatatypeConverter<?>> converter;
+
+        CollectionBinder(MethodHandle getter, MethodHandle setter, String separator, boolean set,
+                Class<?> type, Class<? extends DatatypeConverter<?>> converter) {
+            super(getter, setter, separator);
+            this.set = set;
+            this.type = type;
+            this.converter = converter;
+        }
+
+        @Override
+        Class<?> getElementType() {
+            return type;
+        }
+
+        @Override
+        Buffer newBuffer() {
+            final Collection<Object> values = set
+                    ? new LinkedHashSet<Object>()
+                    : new ArrayList<Object>();
+            return new Buffer() {
+                @Override
+                void add(CharSequence src, int start, int end)
+                        throws DatatypeConverterException, ReflectiveOperationException {
+                    if (converter != null) {
+                        values.add(ConverterRegistry.getConverter(converter).parse(src, start, end));
+                    } else if (FieldBinder.isBuiltIn(type)) {
+                        values.add(parse(src, start, end));
+                    } else {
+                        DatatypeConverter<?> registered = ConverterRegistry.forType(type);
+                        if (registered != null) {
+                            values.add(registered.parse(src, start, end));
+                        }
+                    }
+                }
+
+                @Override
+                Object toValue() {
+                    return values;
+                }
+            };
+        }
+
+        private Object parse(CharSequence src, int start, int end) {
+            if (Integer.class.equals(type)) {
+                return PrimitiveParser.parseInt(src, start, end);
+            }
+            if (Long.class.equals(type)) {
+                return PrimitiveParser.parseLong(src, start, end);
+            }
+            if (Short.class.equals(type)) {
+                return PrimitiveParser.parseShort(src, start, end);
+            }
+            if (Byte.class.equals(type)) {
+                return PrimitiveParser.parseByte(src, start, end);
+            }
+            if (Double.class.equals(type)) {
+                return PrimitiveParser.parseDouble(src, start, end);
+            }
+            if (Float.class.equals(type)) {
+                return PrimitiveParser.parseFloat(src, start, end);
+            }
+            if (Boolean.class.equals(type)) {
+                return PrimitiveParser.parseBoolean(src, start, end);
+            }
+            String value = src.subSequence(start, end).toString();
+            if (BigInteger.class.equals(type)) {
+                return new BigInteger(value);
+            }
+            if (BigDecimal.class.equals(type)) {
+                return new BigDecimal(value);
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.github.apercova.quickcli;
+
+import com.github.apercova.quickcli.annotation.CLIConverter;
+import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of parse results keyed by command class and argument vector.
+ * <br><br>
+ * The cache is opt-in through {@link #enable(int)}. While enabled,
+ * {@link CommandFactory} looks up the argument values of a command before
+ * parsing it. On a hit, a new instance is populated with the cached values
+ * and no parsing, conversion or validation takes place. On a miss, the
+ * command is parsed as usual and its values are stored once validated.
+ * Failed parses are never cached.
+ * <br><br>
+ * Entries are kept in a {@link ConcurrentHashMap}, so lookups take no lock.
+ * Every hit stamps its entry with the current time. Once the cache is full,
+ * a store evicts the entries with the oldest stamps, in batches of a
+ * sixteenth of capacity for large caches, so eviction order is
+ * approximately least-recently-used and the cache may briefly hold more
+ * entries than its maximum while other threads store. Commands having an
+ * argument whose converter is annotated with
+ * <code>{@literal @}CLIConverter(cacheable = false)</code> are not cached.
+ * Argument vectors are cached as given, argument files are only expanded
+ * from an {@link ArgumentSource}, whose results are never cached.
+ * <br><br>
+ * Arrays, lists and sets are copied into every instance populated from an
+ * entry. Other values are shared, so commands must not modify them.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class ParseCache {
+
+    private static volatile ParseCache shared;
+
+    private final int maxEntries;
+    private final int evictionBatch;
+    private final ConcurrentMap<Key, Entry> entries;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private ParseCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.evictionBatch = maxEntries >= 64 ? maxEntries / 16 : 0;
+        this.entries = new ConcurrentHashMap<Key, Entry>();
+    }
+
+    /**
+     * Enables parse result caching, replacing any previous cache.
+     *
+     * @param maxEntries Maximum number of cached argument vectors.
+     * @return Enabled cache.
+     */
+    public static ParseCache enable(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        ParseCache cache = new ParseCache(maxEntries);
+        shared = cache;
+        return cache;
+    }
+
+    /**
+     * Disables parse result caching and discards cached entries.
+     */
+    public static void disable() {
+        shared = null;
+    }
+
+    /**
+     * Retrieve the enabled cache.
+     *
+     * @return Enabled cache or <code>null</code> if caching is disabled.
+     */
+    public static ParseCache current() {
+        return shared;
+    }
+
+    /**
+     * Retrieve the maximum number of cached entries.
+     *
+     * @return Maximum number of cached argument vectors.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Retrieve the number of cached entries.
+     *
+     * @return Number of cached argument vectors.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieve the number of lookups that found a cached entry.
+     *
+     * @return Hit count.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieve the number of lookups that did not find a cached entry.
+     *
+     * @return Miss count.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieve the number of entries evicted to keep the cache bounded.
+     *
+     * @return Eviction count.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Discards cached entries of provided command class.
+     *
+     * @param clazz Command type class.
+     */
+    public void invalidate(Class<?> clazz) {
+        Iterator<Key> it = entries.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().type == clazz) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Discards every cached entry. Counters are kept.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Look up the argument values cached for a command class and argument
+     * vector.
+     *
+     * @param clazz Command type class.
+     * @param args CLI arguments.
+     * @return Cached values or <code>null</code>.
+     */
+    CommandSnapshot lookup(Class<?> clazz, String[] args) {
+        Entry entry = entries.get(new Key(clazz, args));
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        entry.access = System.nanoTime();
+        hits.increment();
+        return entry.snapshot;
+    }
+
+    /**
+     * Store the argument values of a parsed and validated command, unless
+     * they can not be cached.
+     *
+     * @param args CLI arguments the command was parsed from.
+     * @param command Parsed command.
+     * @throws ReflectiveOperationException If a field or converter can not be
+     * accessed.
+     */
+    void store(String[] args, Command<?> command) throws ReflectiveOperationException {
+        if (!isCacheable(CommandDescriptor.forClass(command.getClass()))) {
+            return;
+        }
+        Key key = new Key(command.getClass(), args.clone());
+        entries.put(key, new Entry(CommandSnapshot.of(command)));
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    /**
+     * Evict entries with the oldest access stamps. Only one thread evicts at
+     * a time, others skip eviction.
+     */
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            List<Entry> values = new ArrayList<Entry>(entries.values());
+            int excess = values.size() - maxEntries;
+            if (excess <= 0) {
+                return;
+            }
+            long[] stamps = new long[values.size()];
+            for (int i = 0; i < stamps.length; i++) {
+                stamps[i] = values.get(i).access;
+            }
+            Arrays.sort(stamps);
+            int count = Math.min(stamps.length, excess + evictionBatch);
+            long oldest = stamps[count - 1];
+            //Entries looked up since stamps were taken are kept
+            Iterator<Entry> it = entries.values().iterator();
+            while (count > 0 && it.hasNext()) {
+                if (it.next().access <= oldest) {
+                    it.remove();
+                    evictions.increment();
+                    count--;
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static boolean isCacheable(CommandDescriptor descriptor) throws ReflectiveOperationException {
+        for (ArgumentDescriptor arg : descriptor.getArguments()) {
+            Class<?> type = arg.getBinder() instanceof MultiValueBinder
+                    ? ((MultiValueBinder) arg.getBinder()).getElementType()
+                    : arg.getType();
+            Class<?> converter = arg.getConverter();
+            if (converter == null && !FieldBinder.isBuiltIn(type)) {
+                DatatypeConverter<?> registered = ConverterRegistry.forType(type);
+                converter = registered != null ? registered.getClass() : null;
+            }
+            if (converter != null) {
+                CLIConverter options = converter.getAnnotation(CLIConverter.class);
+                if (options != null && !options.cacheable()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cached values and the time they were last stored or looked up.
+     */
+    private static final class Entry {
+
+        private final CommandSnapshot snapshot;
+        private volatile long access;
+
+        Entry(CommandSnapshot snapshot) {
+            this.snapshot = snapshot;
+            this.access = System.nanoTime();
+        }
+    }
+
+    /**
+     * Cache key, a command class and its argument vector.
+     */
+    private static final class Key {
+
+        private final Class<?> type;
+        private final String[] args;
+        private final int hash;
+
+        Key(Class<?> type, String[] args) {
+            this.type = type;
+            this.args = args;
+            this.hash = 31 * type.hashCode() + Arrays.hashCode(args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return hash == other.hash
+                    && type == other.type
+                    && Arrays.equals(args, other.args);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.github.apercova.quickcli;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Character trie mapping {@link String} keys to values, with lookup by unique
+ * prefix.
+ * <br><br>
+ * Children are kept in sorted arrays, so enumeration follows key order. Each
+ * node tracks the number of keys below it, which resolves a unique prefix in
+ * time proportional to the key length. Instances are not thread-safe for
+ * writes; concurrent reads after population are safe.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @param <V> Value type
+ * @since 1.1
+ *
+ */
+public final class PrefixTrie<V> {
+
+    private final Node<V> root = new Node<V>();
+
+    /**
+     * Associates provided value with provided key.
+     *
+     * @param key Key.
+     * @param value Value, not null.
+     * @return Previous value associated with key, or <code>null</code>.
+     */
+    public V put(String key, V value) {
+        if (key == null || value == null) {
+            throw new IllegalArgumentException("key and value must not be null");
+        }
+        Node<V> node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.child(key.charAt(i), true);
+        }
+        V previous = node.value;
+        node.value = value;
+        if (previous == null) {
+            node = root;
+            root.count++;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.child(key.charAt(i), false);
+                node.count++;
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Retrieve the value associated with provided key.
+     *
+     * @param key Key.
+     * @return Value, or <code>null</code> if key is not mapped.
+     */
+    public V get(CharSequence key) {
+        Node<V> node = find(key);
+        return node != null ? node.value : null;
+    }
+
+    /**
+     * Retrieve the value of an exact key or, failing that, of the only key
+     * starting with provided prefix.
+     *
+     * @param prefix Key or key prefix.
+     * @return Value, or <code>null</code> if no key or more than one key
+     * starts with prefix.
+     */
+    public V resolve(CharSequence prefix) {
+        Node<V> node = find(prefix);
+        if (node == null) {
+            return null;
+        }
+        if (node.value != null) {
+            return node.value;
+        }
+        if (node.count != 1) {
+            return null;
+        }
+        while (node.value == null) {
+            node = node.children[0];
+        }
+        return node.value;
+    }
+
+    /**
+     * Retrieve keys starting with provided prefix, in key order.
+     *
+     * @param prefix Key prefix.
+     * @return Matching keys.
+     */
+    public List<String> keys(CharSequence prefix) {
+        List<String> keys = new ArrayList<String>();
+        Node<V> node = find(prefix);
+        if (node != null) {
+            collect(node, new StringBuilder(prefix), keys);
+        }
+        return keys;
+    }
+
+    /**
+     * Retrieve number of keys.
+     *
+     * @return Number of keys.
+     */
+    public int size() {
+        return root.count;
+    }
+
+    private Node<V> find(CharSequence key) {
+        Node<V> node = root;
+        for (int i = 0; node != null && i < key.length(); i++) {
+            node = node.child(key.charAt(i), false);
+        }
+        return node;
+    }
+
+    private static <V> void collect(Node<V> node, StringBuilder key, List<String> keys) {
+        if (node.value != null) {
+            keys.add(key.toString());
+        }
+        for (int i = 0; i < node.size; i++) {
+            key.append(node.labels[i]);
+            collect(node.children[i], key, keys);
+            key.setLength(key.length() - 1);
+        }
+    }
+
+    private static final class Node<V> {
+
+        private static final char[] NO_LABELS = new char[0];
+
+        private char[] labels = NO_LABELS;
+        private Node<V>[] children;
+        private int size;
+        private int count;
+        private V value;
+
+        @SuppressWarnings("unchecked")
+        Node<V> child(char c, boolean create) {
+            int i = Arrays.binarySearch(labels, 0, size, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            if (!create) {
+                return null;
+            }
+            i = -(i + 1);
+            if (size == labels.length) {
+                int capacity = size == 0 ? 2 : size * 2;
+                labels = Arrays.copyOf(labels, capacity);
+                children = children == null ? (Node<V>[]) new Node<?>[capacity] : Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, i, labels, i + 1, size - i);
+            System.arraycopy(children, i, children, i + 1, size - i);
+            Node<V> child = new Node<V>();
+            labels[i] = c;
+            children[i] = child;
+            size++;
+            return child;
+        }
+    }
+}
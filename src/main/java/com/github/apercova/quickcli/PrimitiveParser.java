@@ -0,0 +1,351 @@
+package com.github.apercova.quickcli;
+
+/**
+ * Allocation-free parsing of primitive values from {@link CharSequence}
+ * slices. Parsing rules are the ones of the corresponding wrapper type, for
+ * instance {@link Integer#parseInt(String)}, so slices from larger buffers can
+ * be parsed without creating a substring for each value.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class PrimitiveParser {
+
+    /**
+     * Exactly representable powers of ten.
+     */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+        1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+        1e21, 1e22
+    };
+
+    /**
+     * Largest mantissa exactly representable as a double.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private PrimitiveParser() {
+        super();
+    }
+
+    /**
+     * Parse a <code>boolean</code> value. Value is <code>true</code> if slice
+     * equals, ignoring case, to <code>"true"</code>.
+     *
+     * @param src Source text.
+     * @param start Slice start, inclusive.
+     * @param end Slice end, exclusive.
+     * @return Parsed value.
+     */
+    public static boolean parseBoolean(CharSequence src, int start, int end) {
+        if (src == null || end - start != 4) {
+            return false;
+        }
+        return (src.charAt(start) | 0x20) == 't'
+                && (src.charAt(start + 1) | 0x20) == 'r'
+                && (src.charAt(start + 2) | 0x20) == 'u'
+                && (src.charAt(start + 3) | 0x20) == 'e';
+    }
+
+    /**
+     * Parse a <code>byte</code> value.
+     *
+     * @param src Source text.
+     * @param start Slice start, inclusive.
+     * @param end Slice end, exclusive.
+     * @return Parsed value.
+     * @throws NumberFormatException If slice is not a valid <code>byte</code>.
+     */
+    public static byte parseByte(CharSequence src, int start, int end) {
+        int value = parseInt(src, start, end);
+        if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+            throw outOfRange(src, start, end);
+        }
+        return (byte) value;
+    }
+
+    /**
+     * Parse a <code>short</code> value.
+     *
+     * @param src Source text.
+     * @param start Slice start, inclusive.
+     * @param end Slice end, exclusive.
+     * @return Parsed value.
+     * @throws NumberFormatException If slice is not a valid <code>short</code>.
+     */
+    public static short parseShort(CharSequence src, int start, int end) {
+        int value = parseInt(src, start, end);
+        if (value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+            throw outOfRange(src, start, end);
+        }
+        return (short) value;
+    }
+
+    /**
+     * Parse an <code>int</code> value.
+     *
+     * @param src Source text.
+     * @param start Slice start, inclusive.
+     * @param end Slice end, exclusive.
+     * @return Parsed value.
+     * @throws NumberFormatException If slice is not a valid <code>int</code>.
+     */
+    public static int parseInt(CharSequence src, int start, int end) {
+        checkSlice(src, start, end);
+        int i = start;
+        boolean negative = false;
+        int limit = -Integer.MAX_VALUE;
+
+        char first = src.charAt(i);
+        if (first < '0') {
+            if (first == '-') {
+                negative = true;
+                limit = Integer.MIN_VALUE;
+            } else if (first != '+') {
+                throw invalid(src, start, end);
+            }
+            if (end - start == 1) {
+                throw invalid(src, start, end);
+            }
+            i++;
+        }
+
+        int multmin = limit / 10;
+        int result = 0;
+        while (i < end) {
+            int digit = Character.digit(src.charAt(i++), 10);
+            if (digit < 0 || result < multmin) {
+                throw invalid(src, start, end);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalid(src, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parse a <code>long</code> value.
+     *
+     * @param src Source text.
+     * @param start Slice start, inclusive.
+     * @param end Slice end, exclusive.
+     * @return Parsed value.
+     * @throws NumberFormatException If slice is not a valid <code>long</code>.
+     */
+    public static long parseLong(CharSequence src, int start, int end) {
+        checkSlice(src, start, end);
+        int i = start;
+        boolean negative = false;
+        long limit = -Long.MAX_VALUE;
+
+        char first = src.charAt(i);
+        if (first < '0') {
+            if (first == '-') {
+                negative = true;
+                limit = Long.MIN_VALUE;
+            } else if (first != '+') {
+                throw invalid(src, start, end);
+            }
+            if (end - start == 1) {
+                throw invalid(src, start, end);
+            }
+            i++;
+        }
+
+        long multmin = limit / 10;
+        long result = 0;
+        while (i < end) {
+            int digit = Character.digit(src.charAt(i++), 10);
+            if (digit < 0 || result < multmin) {
+                throw invalid(src, start, end);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalid(src, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parse a <code>float</code> value. Plain decimal values which are exactly
+     * representable are parsed without allocation, other ways parsing is
+     * delegated to {@link Float#parseFloat(String)}.
+     *
+     * @param src Source text.
+     * @param start Slice start, inclusive.
+     * @param end Slice end, exclusive.
+     * @return Parsed value.
+     * @throws NumberFormatException If slice is not a valid <code>float</code>.
+     */
+    public static float parseFloat(CharSequence src, int start, int end) {
+        checkSlice(src, start, end);
+        long bits = decimal(src, start, end);
+        if (bits != NO_DECIMAL) {
+            long mantissa = mantissa(bits);
+            int exponent = exponent(bits);
+            //Mantissa and power of ten must be exact floats for a correctly rounded result
+            if (mantissa < (1L << 24) && exponent >= -10 && exponent <= 10) {
+                float value = (float) mantissa;
+                value = exponent < 0
+                        ? value / (float) POWERS_OF_TEN[-exponent]
+                        : value * (float) POWERS_OF_TEN[exponent];
+                return negative(bits) ? -value : value;
+            }
+        }
+        return Float.parseFloat(src.subSequence(start, end).toString());
+    }
+
+    /**
+     * Parse a <code>double</code> value. Plain decimal values which are exactly
+     * representable are parsed without allocation, other ways parsing is
+     * delegated to {@link Double#parseDouble(String)}.
+     *
+     * @param src Source text.
+     * @param start Slice start, inclusive.
+     * @param end Slice end, exclusive.
+     * @return Parsed value.
+     * @throws NumberFormatException If slice is not a valid <code>double</code>.
+     */
+    public static double parseDouble(CharSequence src, int start, int end) {
+        checkSlice(src, start, end);
+        long bits = decimal(src, start, end);
+        if (bits != NO_DECIMAL) {
+            long mantissa = mantissa(bits);
+            int exponent = exponent(bits);
+            //Mantissa and power of ten must be exact doubles for a correctly rounded result
+            if (mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+                double value = (double) mantissa;
+                value = exponent < 0
+                        ? value / POWERS_OF_TEN[-exponent]
+                        : value * POWERS_OF_TEN[exponent];
+                return negative(bits) ? -value : value;
+            }
+        }
+        return Double.parseDouble(src.subSequence(start, end).toString());
+    }
+
+    /**
+     * Marks a slice that is not a plain decimal value.
+     */
+    private static final long NO_DECIMAL = Long.MIN_VALUE;
+
+    /**
+     * Number of bits of a packed decimal mantissa.
+     */
+    private static final int MANTISSA_BITS = 54;
+
+    /**
+     * Scan a plain decimal value, that is
+     * <code>[+-]digits[.digits][(e|E)[+-]digits]</code>, and pack its sign,
+     * mantissa and power of ten in a <code>long</code>.
+     *
+     * @return Packed decimal or {@link #NO_DECIMAL} if slice is not a plain
+     * decimal or mantissa is not exact.
+     */
+    private static long decimal(CharSequence src, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        char c = src.charAt(i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean point = false;
+        for (; i < end; i++) {
+            c = src.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (mantissa > (MAX_EXACT_MANTISSA - 9) / 10) {
+                    return NO_DECIMAL;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (point) {
+                    scale++;
+                }
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return NO_DECIMAL;
+        }
+
+        int exponent = 0;
+        if (i < end) {
+            if (c != 'e' && c != 'E') {
+                return NO_DECIMAL;
+            }
+            i++;
+            boolean negativeExponent = false;
+            if (i < end && (src.charAt(i) == '-' || src.charAt(i) == '+')) {
+                negativeExponent = src.charAt(i) == '-';
+                i++;
+            }
+            if (i == end) {
+                return NO_DECIMAL;
+            }
+            for (; i < end; i++) {
+                c = src.charAt(i);
+                if (c < '0' || c > '9' || exponent > 1000) {
+                    return NO_DECIMAL;
+                }
+                exponent = exponent * 10 + (c - '0');
+            }
+            exponent = negativeExponent ? -exponent : exponent;
+        }
+        exponent -= scale;
+        if (exponent < -127 || exponent > 127) {
+            return NO_DECIMAL;
+        }
+        return (negative ? 1L << 63 : 0L)
+                | ((long) (exponent & 0xFF) << MANTISSA_BITS)
+                | mantissa;
+    }
+
+    private static long mantissa(long bits) {
+        return bits & ((1L << MANTISSA_BITS) - 1);
+    }
+
+    private static int exponent(long bits) {
+        return (byte) (bits >>> MANTISSA_BITS);
+    }
+
+    private static boolean negative(long bits) {
+        return bits < 0;
+    }
+
+    private static void checkSlice(CharSequence src, int start, int end) {
+        if (src == null) {
+            throw new NumberFormatException("null");
+        }
+        if (start < 0 || end > src.length() || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + src.length());
+        }
+        if (start == end) {
+            throw new NumberFormatException("For input string: \"\"");
+        }
+    }
+
+    private static NumberFormatException invalid(CharSequence src, int start, int end) {
+        return new NumberFormatException("For input string: \"" + src.subSequence(start, end) + "\"");
+    }
+
+    private static NumberFormatException outOfRange(CharSequence src, int start, int end) {
+        return new NumberFormatException("Value out of range. Value:\"" + src.subSequence(start, end) + "\" Radix:10");
+    }
+}
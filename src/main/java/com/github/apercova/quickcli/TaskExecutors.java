@@ -0,0 +1,96 @@
+package com.github.apercova.quickcli;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Factory of task executors for concurrent command execution. Executors run
+ * each task on a virtual thread when the running JVM supports them, on a
+ * cached pool of daemon threads other ways.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class TaskExecutors {
+
+    private static final Method VIRTUAL_EXECUTOR = virtualExecutor();
+
+    private TaskExecutors() {
+        super();
+    }
+
+    /**
+     * Determine if running JVM supports virtual threads.
+     *
+     * @return <code>true</code> if virtual threads are supported.
+     */
+    public static boolean isVirtual() {
+        return VIRTUAL_EXECUTOR != null;
+    }
+
+    /**
+     * Retrieve the executor shared by asynchronous command executions. It is
+     * created on first use and never shut down; its threads are daemon or
+     * virtual threads.
+     *
+     * @return Shared task executor.
+     */
+    public static ExecutorService shared() {
+        return Shared.EXECUTOR;
+    }
+
+    /**
+     * Creates an executor that runs each task on its own thread, virtual if
+     * supported.
+     *
+     * @param name Thread name prefix used when virtual threads are not
+     * supported.
+     * @return Task executor.
+     */
+    public static ExecutorService newTaskExecutor(final String name) {
+        if (VIRTUAL_EXECUTOR != null) {
+            try {
+                return (ExecutorService) VIRTUAL_EXECUTOR.invoke(null);
+            } catch (Exception ex) {
+                Logger.getLogger(TaskExecutors.class.getName()).log(Level.FINE, ex.getMessage(), ex);
+            }
+        }
+        return Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    private static Method virtualExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            //Virtual threads may be a disabled preview feature
+            ((ExecutorService) method.invoke(null)).shutdown();
+            return method;
+        } catch (Exception ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Lazily initialized shared executor.
+     */
+    private static final class Shared {
+
+        private static final ExecutorService EXECUTOR = newTaskExecutor("quickcli-async");
+    }
+}
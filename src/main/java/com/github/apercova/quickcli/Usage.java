@@ -0,0 +1,258 @@
+package com.github.apercova.quickcli;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Usage rendering shared by commands and the command index.
+ * <br><br>
+ * Usage text is rendered once per locale and terminal width into a
+ * <code>char[]</code> block, cached and written in a single call. Column
+ * widths fit the longest option name and alias list, and usage text is
+ * wrapped to terminal width if known.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+final class Usage {
+
+    private static final String INDENT = "     ";
+    private static final int GAP = 2;
+    private static final int MIN_WRAP = 20;
+    private static final String NL = System.getProperty("line.separator");
+
+    private static final ClassValue<Cache> COMMANDS = new ClassValue<Cache>() {
+        @Override
+        protected Cache computeValue(Class<?> type) {
+            return new Cache();
+        }
+    };
+
+    private Usage() {
+        super();
+    }
+
+    /**
+     * Retrieve terminal width from <code>COLUMNS</code> environment variable.
+     *
+     * @return Terminal width, or zero if unknown.
+     */
+    static int terminalWidth() {
+        String columns = System.getenv("COLUMNS");
+        if (columns != null) {
+            try {
+                return Math.max(0, Integer.parseInt(columns.trim()));
+            } catch (NumberFormatException ex) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Retrieve rendered usage of a command class.
+     *
+     * @param type Command class.
+     * @param locale Output locale.
+     * @param width Terminal width, zero or less to disable wrapping.
+     * @return Rendered usage.
+     */
+    static char[] forCommand(final Class<?> type, final Locale locale, final int width) {
+        return COMMANDS.get(type).get(locale, width, new Renderer() {
+            @Override
+            public char[] render() {
+                CommandDescriptor descriptor = CommandDescriptor.forClass(type);
+                List<String[]> rows = new ArrayList<String[]>();
+                for (ArgumentDescriptor arg : descriptor.getArguments()) {
+                    rows.add(row(arg.getName(), arg.getAliases(), arg.getUsage()));
+                }
+                return Usage.render(descriptor.isCommand(), descriptor.getName(), descriptor.getDescription(),
+                        rows, locale, width);
+            }
+        });
+    }
+
+    /**
+     * Creates an option row.
+     *
+     * @param name Argument name.
+     * @param aliases Argument aliases.
+     * @param usage Argument usage.
+     * @return Option row.
+     */
+    static String[] row(String name, List<String> aliases, String usage) {
+        return new String[]{
+            name,
+            aliases.isEmpty() ? "" : aliases.toString(),
+            usage != null ? usage : ""
+        };
+    }
+
+    /**
+     * Render usage text.
+     *
+     * @param command Whether a command title is rendered.
+     * @param name Command name.
+     * @param description Command description.
+     * @param rows Option rows.
+     * @param locale Output locale.
+     * @param width Terminal width, zero or less to disable wrapping.
+     * @return Rendered usage.
+     */
+    static char[] render(boolean command, String name, String description, List<String[]> rows,
+            Locale locale, int width) {
+        Messages messages = Messages.forLocale(locale);
+        String[] header = {
+            messages.format("usage.option"),
+            messages.format("usage.aliases"),
+            messages.format("usage.usage")
+        };
+        int nameWidth = header[0].length();
+        int aliasWidth = header[1].length();
+        int usageWidth = header[2].length();
+        for (String[] row : rows) {
+            nameWidth = Math.max(nameWidth, row[0].length());
+            aliasWidth = Math.max(aliasWidth, row[1].length());
+            usageWidth = Math.max(usageWidth, row[2].length());
+        }
+        int column = INDENT.length() + nameWidth + GAP + aliasWidth + GAP;
+        int wrap = width - column >= MIN_WRAP ? width - column : 0;
+
+        StringBuilder sb = new StringBuilder(128 + rows.size() * (column + usageWidth + 2));
+        if (command) {
+            StringBuilder title = new StringBuilder();
+            if (name != null && name.length() != 0) {
+                title.append('[').append(name).append("]: ");
+            }
+            if (description != null) {
+                title.append(description);
+            }
+            wrap(sb, title, 0, width > MIN_WRAP ? width : 0);
+            sb.append(NL);
+        }
+        line(sb, header[0], nameWidth, header[1], aliasWidth, header[2], 0, column);
+        line(sb, dashes(nameWidth), nameWidth, dashes(aliasWidth), aliasWidth,
+                dashes(wrap > 0 ? Math.min(usageWidth, wrap) : usageWidth), 0, column);
+        for (String[] row : rows) {
+            line(sb, row[0], nameWidth, row[1], aliasWidth, row[2], wrap, column);
+        }
+        char[] chars = new char[sb.length()];
+        sb.getChars(0, sb.length(), chars, 0);
+        return chars;
+    }
+
+    private static void line(StringBuilder sb, String name, int nameWidth, String aliases, int aliasWidth,
+            String usage, int wrap, int column) {
+        sb.append(INDENT);
+        pad(sb.append(name), nameWidth + GAP - name.length());
+        pad(sb.append(aliases), aliasWidth + GAP - aliases.length());
+        wrap(sb, usage, column, wrap);
+        int end = sb.length();
+        while (end > 0 && sb.charAt(end - 1) == ' ') {
+            end--;
+        }
+        sb.setLength(end);
+        sb.append(NL);
+    }
+
+    /**
+     * Append text wrapped at word boundaries, continuation lines indented to
+     * provided column.
+     */
+    private static void wrap(StringBuilder sb, CharSequence text, int column, int wrap) {
+        if (wrap <= 0 || text.length() <= wrap) {
+            sb.append(text);
+            return;
+        }
+        int start = 0;
+        while (text.length() - start > wrap) {
+            int end = start + wrap;
+            int space = end;
+            while (space > start && text.charAt(space) != ' ') {
+                space--;
+            }
+            if (space > start) {
+                end = space;
+            }
+            sb.append(text, start, end).append(NL);
+            pad(sb, column);
+            start = end;
+            while (start < text.length() && text.charAt(start) == ' ') {
+                start++;
+            }
+        }
+        sb.append(text, start, text.length());
+    }
+
+    private static StringBuilder pad(StringBuilder sb, int count) {
+        for (int i = 0; i < count; i++) {
+            sb.append(' ');
+        }
+        return sb;
+    }
+
+    private static String dashes(int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, '-');
+        return new String(chars);
+    }
+
+    /**
+     * Lazy usage renderer.
+     */
+    interface Renderer {
+
+        char[] render();
+    }
+
+    /**
+     * Rendered usage cache keyed by locale and terminal width.
+     */
+    static final class Cache {
+
+        private final ConcurrentMap<Key, char[]> rendered = new ConcurrentHashMap<Key, char[]>();
+
+        char[] get(Locale locale, int width, Renderer renderer) {
+            Key key = new Key(locale, Math.max(0, width));
+            char[] chars = rendered.get(key);
+            if (chars == null) {
+                chars = renderer.render();
+                char[] previous = rendered.putIfAbsent(key, chars);
+                chars = previous != null ? previous : chars;
+            }
+            return chars;
+        }
+    }
+
+    private static final class Key {
+
+        private final Locale locale;
+        private final int width;
+
+        Key(Locale locale, int width) {
+            this.locale = locale;
+            this.width = width;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return width == other.width && locale.equals(other.locale);
+        }
+
+        @Override
+        public int hashCode() {
+            return locale.hashCode() * 31 + width;
+        }
+    }
+}
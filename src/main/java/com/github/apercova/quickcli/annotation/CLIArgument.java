@@ -27,4 +27,6 @@ public @interface CLIArgument {
     boolean required() default false;
 
     String usage() default "";
+
+    String separator() default ",";
 }
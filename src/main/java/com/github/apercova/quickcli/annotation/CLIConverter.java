@@ -0,0 +1,54 @@
+package com.github.apercova.quickcli.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Datatype converter options annotation. Applies to
+ * {@link com.github.apercova.quickcli.DatatypeConverter DatatypeConverter}
+ * implementations.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CLIConverter {
+
+    /**
+     * Whether a single converter instance can be shared among threads.
+     * Converters that are not thread-safe get one instance per thread.
+     *
+     * @return <code>true</code> if converter is thread-safe.
+     */
+    boolean threadSafe() default false;
+
+    /**
+     * Whether converted values depend only on the parsed text, so they can
+     * be memoized by
+     * {@link com.github.apercova.quickcli.ParseCache ParseCache}. Converters
+     * whose values depend on time, environment or any other state must opt
+     * out.
+     *
+     * @return <code>true</code> if converted values can be cached.
+     */
+    boolean cacheable() default true;
+
+    /**
+     * Whether conversions are independent of each other and costly enough to
+     * run concurrently. Values of arguments with independent converters are
+     * converted in parallel once every argument is read, and bound before
+     * the command is validated. Independent converters must not rely on the
+     * conversion order nor on the calling thread. Only applies to
+     * {@link #threadSafe()} converters; other ones are converted on the
+     * parsing thread as they are read.
+     *
+     * @return <code>true</code> if conversions may run concurrently.
+     */
+    boolean independent() default false;
+}
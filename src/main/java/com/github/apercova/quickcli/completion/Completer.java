@@ -0,0 +1,289 @@
+package com.github.apercova.quickcli.completion;
+
+import com.github.apercova.quickcli.ArgumentDescriptor;
+import com.github.apercova.quickcli.Command;
+import com.github.apercova.quickcli.CommandDescriptor;
+import com.github.apercova.quickcli.CommandIndex;
+import com.github.apercova.quickcli.ConverterRegistry;
+import com.github.apercova.quickcli.DatatypeConverter;
+import com.github.apercova.quickcli.PrefixTrie;
+import com.github.apercova.quickcli.exception.ReflectiveOperationException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shell completion engine.
+ * <br><br>
+ * Command names and argument names and aliases are indexed in
+ * {@link PrefixTrie}s when commands are registered, so completions never
+ * reflect over command classes. Names made of several space-separated words
+ * register nested subcommands, as in
+ * {@link com.github.apercova.quickcli.CommandDispatcher CommandDispatcher}.
+ * <br><br>
+ * Values of arguments whose converter implements {@link CompletionProvider}
+ * are completed from the provider's candidates, requested on first use and
+ * indexed until {@link #refresh()} is called. Commands registered from a
+ * {@link CommandIndex} complete names and arguments only, since the index
+ * does not record argument types.
+ * <br><br>
+ * Registration is not thread-safe. Once populated, a completer can be shared
+ * by concurrent callers.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class Completer {
+
+    private static final Logger LOGGER = Logger.getLogger(Completer.class.getName());
+
+    private final Node root = new Node();
+
+    /**
+     * Registers a command under its
+     * {@link com.github.apercova.quickcli.annotation.CLICommand} name.
+     *
+     * @param clazz Command type class.
+     * @return This completer.
+     */
+    public Completer register(Class<? extends Command<?>> clazz) {
+        CommandDescriptor descriptor = CommandDescriptor.forClass(clazz);
+        if (!descriptor.isCommand()) {
+            throw new IllegalArgumentException(String.format("Not a command type: %s", clazz.getName()));
+        }
+        return register(descriptor.getName(), clazz);
+    }
+
+    /**
+     * Registers a command under provided name.
+     *
+     * @param name Command name. Space-separated words for nested subcommands.
+     * @param clazz Command type class.
+     * @return This completer.
+     */
+    public Completer register(String name, Class<? extends Command<?>> clazz) {
+        Node node = node(name);
+        for (ArgumentDescriptor arg : CommandDescriptor.forClass(clazz).getArguments()) {
+            node.add(new Option(arg.getName(), arg.getAliases(), !arg.isFlag(),
+                    isProvided(arg) ? arg : null));
+        }
+        return this;
+    }
+
+    /**
+     * Registers every command of a build-time index. No command class is
+     * loaded.
+     *
+     * @param index Command index.
+     * @return This completer.
+     */
+    public Completer register(CommandIndex index) {
+        for (CommandIndex.Entry entry : index.getCommands()) {
+            Node node = node(entry.getName());
+            for (CommandIndex.Argument arg : entry.getArguments()) {
+                node.add(new Option(arg.getName(), arg.getAliases(), false, null));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Retrieve completion candidates for a command line.
+     * <br><br>
+     * Leading words select a command by exact name, as scripts generated by
+     * {@link CompletionScript} do, and unlike the prefix matching of
+     * {@link com.github.apercova.quickcli.CommandDispatcher#dispatch(String[])}.
+     * A leading word not naming a subcommand of a command having some yields
+     * no candidates. The last word is completed: as a value if it follows an
+     * argument taking one, as an argument name if it starts with <code>-</code> or the
+     * selected command has no subcommands, and as a subcommand name
+     * otherwise.
+     *
+     * @param words Words following program name, last one being the word to
+     * complete, possibly empty.
+     * @return Candidates in alphabetical order, empty if there is none.
+     */
+    public List<String> complete(String[] words) {
+        if (words.length == 0) {
+            return complete(new String[]{""});
+        }
+        int last = words.length - 1;
+        String word = words[last];
+        Node node = root;
+        int i = 0;
+        while (i < last && node.subcommands != null) {
+            Node next = node.subcommands.get(words[i]);
+            if (next == null) {
+                return Collections.<String>emptyList();
+            }
+            node = next;
+            i++;
+        }
+        if (last > i) {
+            Option option = node.options.get(words[last - 1]);
+            if (option != null && option.takesValue) {
+                return option.values(word);
+            }
+        }
+        if (node.subcommands == null || word.startsWith("-")) {
+            return node.options.keys(word);
+        }
+        return node.subcommands.keys(word);
+    }
+
+    /**
+     * Discards candidates cached from every {@link CompletionProvider}, so
+     * they are requested again on next completion.
+     */
+    public void refresh() {
+        refresh(root);
+    }
+
+    private static void refresh(Node node) {
+        for (Option option : node.list) {
+            option.values = null;
+        }
+        if (node.subcommands != null) {
+            for (String name : node.subcommands.keys("")) {
+                refresh(node.subcommands.get(name));
+            }
+        }
+    }
+
+    /**
+     * Retrieve root command node, for script generation.
+     *
+     * @return Root node.
+     */
+    Node getRoot() {
+        return root;
+    }
+
+    private Node node(String name) {
+        if (name == null || name.trim().length() == 0) {
+            throw new IllegalArgumentException("name must not be empty");
+        }
+        Node node = root;
+        for (String word : name.trim().split("\\s+")) {
+            if (node.subcommands == null) {
+                node.subcommands = new PrefixTrie<Node>();
+            }
+            Node next = node.subcommands.get(word);
+            if (next == null) {
+                next = new Node();
+                node.subcommands.put(word, next);
+            }
+            node = next;
+        }
+        return node;
+    }
+
+    private static boolean isProvided(ArgumentDescriptor arg) {
+        if (arg.getConverter() != null) {
+            return CompletionProvider.class.isAssignableFrom(arg.getConverter());
+        }
+        try {
+            return ConverterRegistry.forType(arg.getType()) instanceof CompletionProvider;
+        } catch (ReflectiveOperationException ex) {
+            LOGGER.log(Level.FINE, ex.getMessage(), ex);
+            return false;
+        }
+    }
+
+    private static CompletionProvider provider(ArgumentDescriptor arg) throws ReflectiveOperationException {
+        DatatypeConverter<?> converter = arg.getConverter() != null
+                ? ConverterRegistry.getConverter(arg.getConverter())
+                : ConverterRegistry.forType(arg.getType());
+        return (CompletionProvider) converter;
+    }
+
+    /**
+     * Command node. A node may be both a command and a group of subcommands.
+     */
+    static final class Node {
+
+        private final PrefixTrie<Option> options = new PrefixTrie<Option>();
+        private final List<Option> list = new ArrayList<Option>();
+        private PrefixTrie<Node> subcommands;
+
+        void add(Option option) {
+            list.add(option);
+            options.put(option.name, option);
+            for (String alias : option.aliases) {
+                options.put(alias, option);
+            }
+        }
+
+        List<Option> getOptions() {
+            return Collections.unmodifiableList(list);
+        }
+
+        List<String> getSubcommands() {
+            return subcommands != null
+                    ? subcommands.keys("")
+                    : Collections.<String>emptyList();
+        }
+
+        Node getSubcommand(String name) {
+            return subcommands != null ? subcommands.get(name) : null;
+        }
+    }
+
+    /**
+     * Completable argument.
+     */
+    static final class Option {
+
+        private final String name;
+        private final List<String> aliases;
+        private final boolean takesValue;
+        private final ArgumentDescriptor provided;
+        private volatile PrefixTrie<String> values;
+
+        Option(String name, List<String> aliases, boolean takesValue, ArgumentDescriptor provided) {
+            this.name = name;
+            this.aliases = aliases;
+            this.takesValue = takesValue;
+            this.provided = provided;
+        }
+
+        List<String> getNames() {
+            List<String> names = new ArrayList<String>();
+            names.add(name);
+            names.addAll(aliases);
+            return names;
+        }
+
+        boolean takesValue() {
+            return takesValue;
+        }
+
+        boolean hasProvider() {
+            return provided != null;
+        }
+
+        List<String> values(String prefix) {
+            if (provided == null) {
+                return Collections.emptyList();
+            }
+            PrefixTrie<String> trie = values;
+            if (trie == null) {
+                trie = new PrefixTrie<String>();
+                try {
+                    for (String candidate : provider(provided).candidates()) {
+                        trie.put(candidate, candidate);
+                    }
+                } catch (ReflectiveOperationException ex) {
+                    LOGGER.log(Level.FINE, ex.getMessage(), ex);
+                }
+                values = trie;
+            }
+            return trie.keys(prefix);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.apercova.quickcli.completion;
+
+import java.util.Collection;
+
+/**
+ * Source of completion candidates for argument values. Implemented by
+ * {@link com.github.apercova.quickcli.DatatypeConverter DatatypeConverter}
+ * classes whose values can be enumerated, e.g. charset names.
+ * <br><br>
+ * Candidates are requested once by a {@link Completer} and indexed for prefix
+ * lookup, so later completions are answered without calling the provider
+ * again until {@link Completer#refresh()} is called.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public interface CompletionProvider {
+
+    /**
+     * Retrieve every value that may be offered as completion.
+     *
+     * @return Candidate values.
+     */
+    Collection<String> candidates();
+}
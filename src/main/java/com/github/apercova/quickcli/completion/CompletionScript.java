@@ -0,0 +1,231 @@
+package com.github.apercova.quickcli.completion;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Static shell completion script generator.
+ * <br><br>
+ * Scripts embed command names and argument names and aliases of a
+ * {@link Completer}, so completing them runs no JVM. Values of arguments
+ * backed by a {@link CompletionProvider} are requested to a value command,
+ * typically <code>DaemonClient &lt;port&gt; --complete</code>, which receives
+ * the words following program name and prints a candidate per line. Values
+ * of other arguments fall back to file name completion.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class CompletionScript {
+
+    /**
+     * Supported shells.
+     */
+    public enum Shell {
+        BASH, ZSH
+    }
+
+    private CompletionScript() {
+        super();
+    }
+
+    /**
+     * Generates a completion script.
+     *
+     * @param completer Completer.
+     * @param shell Target shell.
+     * @param program Program name, as typed by users.
+     * @param valueCommand Shell command completing argument values, or
+     * <code>null</code> to complete them as file names. It is embedded as is.
+     * @return Completion script.
+     */
+    public static String generate(Completer completer, Shell shell, String program, String valueCommand) {
+        StringWriter writer = new StringWriter();
+        try {
+            write(completer, shell, program, valueCommand, writer);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Writes a completion script.
+     *
+     * @param completer Completer.
+     * @param shell Target shell.
+     * @param program Program name, as typed by users.
+     * @param valueCommand Shell command completing argument values, or
+     * <code>null</code> to complete them as file names. It is embedded as is.
+     * @param writer Script writer.
+     * @throws IOException If script can not be written.
+     */
+    public static void write(Completer completer, Shell shell, String program, String valueCommand,
+            Writer writer) throws IOException {
+        if (program == null || program.trim().length() == 0) {
+            throw new IllegalArgumentException("program must not be empty");
+        }
+        Map<String, Completer.Node> nodes = new LinkedHashMap<String, Completer.Node>();
+        collect("", completer.getRoot(), nodes);
+        boolean zsh = shell == Shell.ZSH;
+        String function = "_" + program.replaceAll("[^A-Za-z0-9_]", "_") + "_quickcli";
+
+        StringBuilder sb = new StringBuilder();
+        if (zsh) {
+            sb.append("#compdef ").append(program).append('\n');
+        }
+        sb.append("# ").append(zsh ? "zsh" : "bash").append(" completion for ").append(program).append('\n')
+                .append("# Generated by quickcli, do not edit.\n")
+                .append(function).append("() {\n")
+                .append("    local cur prev cmdpath next i\n");
+        if (zsh) {
+            sb.append("    local -a opts cmds\n")
+                    .append("    cur=\"${words[CURRENT]}\"\n")
+                    .append("    prev=\"${words[CURRENT-1]}\"\n")
+                    .append("    cmdpath=\"\"\n")
+                    .append("    for ((i = 2; i < CURRENT; i++)); do\n")
+                    .append("        next=\"${cmdpath:+$cmdpath }${words[i]}\"\n");
+        } else {
+            sb.append("    local opts cmds\n")
+                    .append("    cur=\"${COMP_WORDS[COMP_CWORD]}\"\n")
+                    .append("    prev=\"${COMP_WORDS[COMP_CWORD-1]}\"\n")
+                    .append("    cmdpath=\"\"\n")
+                    .append("    for ((i = 1; i < COMP_CWORD; i++)); do\n")
+                    .append("        next=\"${cmdpath:+$cmdpath }${COMP_WORDS[i]}\"\n");
+        }
+        List<String> paths = new ArrayList<String>(nodes.keySet());
+        paths.remove("");
+        sb.append("        case \"$next\" in\n");
+        if (!paths.isEmpty()) {
+            sb.append("            ").append(pattern(paths, zsh)).append(" cmdpath=\"$next\" ;;\n");
+        }
+        List<String> parents = new ArrayList<String>();
+        for (Map.Entry<String, Completer.Node> entry : nodes.entrySet()) {
+            if (!entry.getValue().getSubcommands().isEmpty()) {
+                parents.add(entry.getKey());
+            }
+        }
+        sb.append("            ").append(zsh ? "(*)" : "*)").append('\n');
+        if (!parents.isEmpty()) {
+            sb.append("                case \"$cmdpath\" in\n")
+                    .append("                    ").append(pattern(parents, zsh))
+                    .append(zsh ? " return ;;\n" : " COMPREPLY=(); return ;;\n")
+                    .append("                esac\n");
+        }
+        sb.append("                break\n")
+                .append("                ;;\n")
+                .append("        esac\n")
+                .append("    done\n")
+                .append(zsh ? "    opts=()\n    cmds=()\n" : "    opts=\"\"\n    cmds=\"\"\n")
+                .append("    case \"$cmdpath\" in\n");
+
+        for (Map.Entry<String, Completer.Node> entry : nodes.entrySet()) {
+            Completer.Node node = entry.getValue();
+            List<String> options = new ArrayList<String>();
+            List<Completer.Option> values = new ArrayList<Completer.Option>();
+            for (Completer.Option option : node.getOptions()) {
+                options.addAll(option.getNames());
+                if (option.takesValue()) {
+                    values.add(option);
+                }
+            }
+            sb.append("        ").append(pattern(Collections.singletonList(entry.getKey()), zsh))
+                    .append('\n');
+            if (!values.isEmpty()) {
+                sb.append("            case \"$prev\" in\n");
+                for (Completer.Option option : values) {
+                    sb.append("                ").append(pattern(option.getNames(), zsh)).append('\n')
+                            .append("                    ")
+                            .append(valueCompletion(option.hasProvider() ? valueCommand : null, zsh)).append('\n')
+                            .append("                    return\n")
+                            .append("                    ;;\n");
+                }
+                sb.append("            esac\n");
+            }
+            if (!options.isEmpty()) {
+                sb.append("            opts=").append(words(options, zsh)).append('\n');
+            }
+            if (!node.getSubcommands().isEmpty()) {
+                sb.append("            cmds=").append(words(node.getSubcommands(), zsh)).append('\n');
+            }
+            sb.append("            ;;\n");
+        }
+        sb.append("    esac\n");
+        if (zsh) {
+            sb.append("    if [[ \"$cur\" == -* || ${#cmds} -eq 0 ]]; then\n")
+                    .append("        compadd -- \"${opts[@]}\"\n")
+                    .append("    else\n")
+                    .append("        compadd -- \"${cmds[@]}\"\n")
+                    .append("    fi\n")
+                    .append("}\n")
+                    .append("if [[ \"${zsh_eval_context[-1]}\" == loadautofunc ]]; then\n")
+                    .append("    ").append(function).append(" \"$@\"\n")
+                    .append("else\n")
+                    .append("    compdef ").append(function).append(' ').append(program).append('\n')
+                    .append("fi\n");
+        } else {
+            sb.append("    if [[ \"$cur\" == -* || -z \"$cmds\" ]]; then\n")
+                    .append("        COMPREPLY=($(compgen -W \"$opts\" -- \"$cur\"))\n")
+                    .append("    else\n")
+                    .append("        COMPREPLY=($(compgen -W \"$cmds\" -- \"$cur\"))\n")
+                    .append("    fi\n")
+                    .append("}\n")
+                    .append("complete -o default -F ").append(function).append(' ').append(program).append('\n');
+        }
+        writer.write(sb.toString());
+        writer.flush();
+    }
+
+    private static void collect(String path, Completer.Node node, Map<String, Completer.Node> nodes) {
+        nodes.put(path, node);
+        for (String name : node.getSubcommands()) {
+            collect(path.length() == 0 ? name : path + " " + name, node.getSubcommand(name), nodes);
+        }
+    }
+
+    private static String valueCompletion(String valueCommand, boolean zsh) {
+        if (valueCommand == null) {
+            return zsh ? "_files" : "COMPREPLY=()";
+        }
+        return zsh
+                ? "compadd -- ${(f)\"$(" + valueCommand + " \"${(@)words[2,CURRENT]}\")\"}"
+                : "COMPREPLY=($(compgen -W \"$(" + valueCommand
+                + " \"${COMP_WORDS[@]:1:COMP_CWORD}\")\" -- \"$cur\"))";
+    }
+
+    private static String pattern(List<String> values, boolean zsh) {
+        StringBuilder sb = new StringBuilder(zsh ? "(" : "");
+        for (int i = 0; i < values.size(); i++) {
+            sb.append(i > 0 ? "|" : "").append(quote(values.get(i)));
+        }
+        return sb.append(')').toString();
+    }
+
+    private static String words(List<String> values, boolean zsh) {
+        if (zsh) {
+            StringBuilder sb = new StringBuilder("(");
+            for (int i = 0; i < values.size(); i++) {
+                sb.append(i > 0 ? " " : "").append(quote(values.get(i)));
+            }
+            return sb.append(')').toString();
+        }
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            sb.append(i > 0 ? " " : "").append(values.get(i));
+        }
+        return quote(sb.toString());
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("'", "'\\''") + "'";
+    }
+}
@@ -0,0 +1,379 @@
+package com.github.apercova.quickcli.daemon;
+
+import com.github.apercova.quickcli.Command;
+import com.github.apercova.quickcli.CommandDescriptor;
+import com.github.apercova.quickcli.CommandFactory;
+import com.github.apercova.quickcli.TaskExecutors;
+import com.github.apercova.quickcli.completion.Completer;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+import com.github.apercova.quickcli.exception.ExecutionException;
+import com.github.apercova.quickcli.instrument.Instrumentation;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resident command server. Keeps a warm JVM with registered command classes
+ * loaded and their descriptors built, so that thin clients skip JVM startup
+ * on every invocation.
+ * <br><br>
+ * The daemon listens on the loopback interface only and requires clients to
+ * authenticate with a random token generated on every start. The token is
+ * written to a file only readable by the daemon owner, so only processes of
+ * the same user can send requests. Arguments of daemon requests are taken
+ * literally, argument files are never expanded. Each request runs on its
+ * own task, on a virtual thread when the JVM supports them, with its own
+ * output writer and locale. Command output is streamed back to the client as
+ * it is flushed.
+ * <br><br>
+ * The daemon also answers shell completion requests through a
+ * {@link Completer} over registered commands, so argument values supplied by
+ * a {@link com.github.apercova.quickcli.completion.CompletionProvider} are
+ * enumerated once and then served from memory.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class CommandDaemon implements Closeable {
+
+    private static final Logger LOGGER = Logger.getLogger(CommandDaemon.class.getName());
+    private static final Charset ASCII = Charset.forName("US-ASCII");
+    private static final int TOKEN_BYTES = 32;
+
+    private final ConcurrentMap<String, Class<? extends Command<?>>> commands;
+    private final ExecutorService executor;
+    private final int port;
+    private volatile ServerSocket server;
+    private volatile byte[] token;
+    private volatile Completer completer;
+    private volatile int readTimeout = Protocol.READ_TIMEOUT_MILLIS;
+
+    /**
+     * Creates a daemon listening on provided port.
+     *
+     * @param port Loopback port. Zero to pick an ephemeral port.
+     */
+    public CommandDaemon(int port) {
+        this(port, TaskExecutors.newTaskExecutor("quickcli-daemon"));
+    }
+
+    /**
+     * Creates a daemon listening on provided port and running requests on
+     * provided executor.
+     *
+     * @param port Loopback port. Zero to pick an ephemeral port.
+     * @param executor Request executor.
+     */
+    public CommandDaemon(int port, ExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor must not be null");
+        }
+        this.commands = new ConcurrentHashMap<String, Class<? extends Command<?>>>();
+        this.executor = executor;
+        this.port = port;
+    }
+
+    /**
+     * Registers a command class under its {@link com.github.apercova.quickcli.annotation.CLICommand}
+     * name. Command descriptor is built eagerly.
+     *
+     * @param clazz Command type class.
+     * @return This daemon.
+     */
+    public CommandDaemon register(Class<? extends Command<?>> clazz) {
+        CommandDescriptor descriptor = CommandDescriptor.forClass(clazz);
+        if (!descriptor.isCommand()) {
+            throw new IllegalArgumentException(String.format("Not a command type: %s", clazz.getName()));
+        }
+        commands.put(descriptor.getName(), clazz);
+        completer = null;
+        return this;
+    }
+
+    /**
+     * Sets how long to wait on a client while reading its request, so a
+     * stalled connection does not hold a request thread. Defaults to ten
+     * seconds.
+     *
+     * @param millis Read timeout in milliseconds. Zero to wait forever.
+     * @return This daemon.
+     */
+    public CommandDaemon setReadTimeout(int millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("read timeout must not be negative");
+        }
+        readTimeout = millis;
+        return this;
+    }
+
+    /**
+     * Binds server socket, writes a new authentication token and starts
+     * accepting requests.
+     *
+     * @return This daemon.
+     * @throws IOException If server socket cannot be bound or token file
+     * cannot be written.
+     */
+    public synchronized CommandDaemon start() throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("Daemon already started");
+        }
+        ServerSocket s = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        try {
+            byte[] random = new byte[TOKEN_BYTES];
+            new SecureRandom().nextBytes(random);
+            StringBuilder sb = new StringBuilder();
+            for (byte b : random) {
+                sb.append(String.format("%02x", b & 0xFF));
+            }
+            writeToken(Protocol.tokenFile(s.getLocalPort()), sb.toString());
+            token = sb.toString().getBytes(ASCII);
+        } catch (IOException ex) {
+            closeQuietly(s);
+            throw ex;
+        }
+        server = s;
+        Thread acceptor = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                accept();
+            }
+        }, "quickcli-daemon-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return this;
+    }
+
+    /**
+     * Retrieve bound port.
+     *
+     * @return Bound port, or configured port if not started.
+     */
+    public int getPort() {
+        ServerSocket s = server;
+        return s != null ? s.getLocalPort() : port;
+    }
+
+    /**
+     * Retrieve authentication token file.
+     *
+     * @return Token file of bound port, or configured port if not started.
+     */
+    public File getTokenFile() {
+        return Protocol.tokenFile(getPort());
+    }
+
+    /**
+     * Stops accepting requests and deletes token file. Running requests are
+     * allowed to complete.
+     *
+     * @throws IOException If server socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        ServerSocket s = server;
+        if (s != null) {
+            Files.deleteIfExists(Protocol.tokenFile(s.getLocalPort()).toPath());
+            s.close();
+        }
+    }
+
+    private void accept() {
+        ServerSocket s = server;
+        while (!s.isClosed()) {
+            final Socket socket;
+            try {
+                socket = s.accept();
+            } catch (IOException ex) {
+                if (!s.isClosed()) {
+                    LOGGER.log(Level.WARNING, ex.getMessage(), ex);
+                }
+                continue;
+            }
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        serve(socket);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                LOGGER.log(Level.FINE, ex.getMessage(), ex);
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try {
+            socket.setSoTimeout(readTimeout);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            if (in.readInt() != Protocol.MAGIC) {
+                LOGGER.log(Level.FINE, "Invalid request from {0}", socket.getRemoteSocketAddress());
+                return;
+            }
+            if (!MessageDigest.isEqual(token, in.readUTF().getBytes(ASCII))) {
+                LOGGER.log(Level.FINE, "Unauthorized request from {0}", socket.getRemoteSocketAddress());
+                exit(out, Protocol.STATUS_ARGUMENT_ERROR, "Unauthorized request");
+                return;
+            }
+            String op = in.readUTF();
+            Locale locale = Locale.forLanguageTag(in.readUTF());
+            int count = in.readInt();
+            if (count < 0 || count > Protocol.MAX_ARGUMENTS) {
+                exit(out, Protocol.STATUS_ARGUMENT_ERROR, String.format("Invalid argument count: %d", count));
+                return;
+            }
+            String[] args = new String[count];
+            int chars = 0;
+            for (int i = 0; i < args.length; i++) {
+                args[i] = in.readUTF();
+                chars += args[i].length();
+                if (chars > Protocol.MAX_REQUEST_CHARS) {
+                    exit(out, Protocol.STATUS_ARGUMENT_ERROR, "Request too large");
+                    return;
+                }
+            }
+
+            FrameWriter writer = new FrameWriter(out);
+            int status;
+            String message = "";
+            if (Protocol.COMPLETE.equals(op)) {
+                status = complete(args, writer);
+            } else if (!Protocol.EXECUTE.equals(op)) {
+                status = Protocol.STATUS_ARGUMENT_ERROR;
+                message = String.format("Unsupported operation: %s", op);
+            } else if (args.length == 0 || !commands.containsKey(args[0])) {
+                status = Protocol.STATUS_ARGUMENT_ERROR;
+                message = String.format("Unknown command: %s", args.length == 0 ? "" : args[0]);
+            } else {
+                try {
+                    status = execute(commands.get(args[0]), Arrays.copyOfRange(args, 1, args.length), writer, locale);
+                } catch (CLIArgumentException ex) {
+                    status = Protocol.STATUS_ARGUMENT_ERROR;
+                    message = String.valueOf(ex.getMessage());
+                } catch (ExecutionException ex) {
+                    status = Protocol.STATUS_EXECUTION_ERROR;
+                    message = String.valueOf(ex.getMessage());
+                } catch (RuntimeException ex) {
+                    LOGGER.log(Level.WARNING, ex.getMessage(), ex);
+                    status = Protocol.STATUS_EXECUTION_ERROR;
+                    message = String.valueOf(ex);
+                }
+            }
+            writer.close();
+            exit(out, status, message);
+        } catch (IOException ex) {
+            LOGGER.log(Level.FINE, ex.getMessage(), ex);
+        } finally {
+            closeQuietly(socket);
+        }
+    }
+
+    private static void exit(DataOutputStream out, int status, String message) throws IOException {
+        out.writeByte(Protocol.EXIT);
+        out.writeInt(status);
+        out.writeUTF(message);
+        out.flush();
+    }
+
+    private static int execute(Class<? extends Command<?>> clazz, String[] args, FrameWriter writer, Locale locale)
+            throws CLIArgumentException, ExecutionException {
+        // Closing the command gives pooled instances back, frames stay open
+        PrintWriter out = new PrintWriter(new FilterWriter(writer) {
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        });
+        Command<?> command = CommandFactory.create(args, clazz, out, locale);
+        try {
+            Object result = Instrumentation.execute(command);
+            if (result != null) {
+                out.println(result);
+            }
+            out.flush();
+            return Protocol.STATUS_OK;
+        } finally {
+            closeQuietly(command);
+        }
+    }
+
+    private int complete(String[] words, FrameWriter writer) throws IOException {
+        Completer c = completer;
+        if (c == null) {
+            c = new Completer();
+            for (Class<? extends Command<?>> clazz : commands.values()) {
+                c.register(clazz);
+            }
+            completer = c;
+        }
+        List<String> candidates = c.complete(words);
+        for (String candidate : candidates) {
+            writer.write(candidate);
+            writer.write('\n');
+        }
+        return Protocol.STATUS_OK;
+    }
+
+    private static void writeToken(File file, String token) throws IOException {
+        Path path = file.toPath();
+        Path dir = path.getParent();
+        boolean posix = dir.getFileSystem().supportedFileAttributeViews().contains("posix");
+        if (!Files.isDirectory(dir)) {
+            if (posix) {
+                Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            } else {
+                Files.createDirectories(dir);
+            }
+        }
+        Files.deleteIfExists(path);
+        if (posix) {
+            Files.createFile(path, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(path);
+            file.setReadable(false, false);
+            file.setWritable(false, false);
+            file.setReadable(true, true);
+            file.setWritable(true, true);
+        }
+        Files.write(path, token.getBytes(ASCII));
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException ex) {
+            LOGGER.log(Level.FINE, ex.getMessage(), ex);
+        }
+    }
+}
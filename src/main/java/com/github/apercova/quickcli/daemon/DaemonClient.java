@@ -0,0 +1,147 @@
+package com.github.apercova.quickcli.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Thin client for {@link CommandDaemon}. Sends an argument vector, whose first
+ * element is the command name, and copies command output to a writer.
+ * Requests are authenticated with the token the daemon wrote for its port,
+ * so client and daemon must run as the same user.
+ * <br><br>
+ * Usage: <code>java com.github.apercova.quickcli.daemon.DaemonClient &lt;port&gt; &lt;command&gt; [args...]</code>
+ * <br><br>
+ * With <code>--complete</code> in place of the command name, prints
+ * completion candidates for the remaining words, one per line, as expected by
+ * {@link com.github.apercova.quickcli.completion.CompletionScript} value
+ * commands.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class DaemonClient {
+
+    private DaemonClient() {
+        super();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: DaemonClient <port> <command> [args...]");
+            System.exit(Protocol.STATUS_ARGUMENT_ERROR);
+        }
+        Charset cs = Charset.defaultCharset();
+        Writer out = new OutputStreamWriter(System.out, cs);
+        Writer err = new OutputStreamWriter(System.err, cs);
+        int port = Integer.parseInt(args[0]);
+        if ("--complete".equals(args[1])) {
+            for (String candidate : complete(port, Arrays.copyOfRange(args, 2, args.length))) {
+                out.write(candidate);
+                out.write(System.getProperty("line.separator"));
+            }
+            out.flush();
+            System.exit(0);
+        }
+        int status = run(port, Arrays.copyOfRange(args, 1, args.length), Locale.getDefault(), out, err);
+        System.exit(status);
+    }
+
+    /**
+     * Retrieve completion candidates from a daemon listening on provided
+     * loopback port.
+     *
+     * @param port Daemon port.
+     * @param words Command name followed by its arguments, last one being
+     * the word to complete.
+     * @return Completion candidates.
+     * @throws IOException If communication with daemon fails.
+     */
+    public static List<String> complete(int port, String[] words) throws IOException {
+        StringWriter out = new StringWriter();
+        StringWriter err = new StringWriter();
+        int status = request(port, Protocol.COMPLETE, words, Locale.getDefault(), out, err);
+        if (status != Protocol.STATUS_OK) {
+            throw new IOException(err.toString().trim());
+        }
+        List<String> candidates = new ArrayList<String>();
+        for (String line : out.toString().split("\n")) {
+            if (line.length() != 0) {
+                candidates.add(line);
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Runs a command on a daemon listening on provided loopback port.
+     *
+     * @param port Daemon port.
+     * @param args Command name followed by its arguments.
+     * @param locale Command locale.
+     * @param out Command output writer.
+     * @param err Error message writer.
+     * @return Exit status. Zero on success, 1 on execution errors and 2 on
+     * argument errors.
+     * @throws IOException If communication with daemon fails.
+     */
+    public static int run(int port, String[] args, Locale locale, Writer out, Writer err) throws IOException {
+        return request(port, Protocol.EXECUTE, args, locale, out, err);
+    }
+
+    private static int request(int port, String op, String[] args, Locale locale, Writer out, Writer err)
+            throws IOException {
+        String token = new String(Files.readAllBytes(Protocol.tokenFile(port).toPath()), "US-ASCII").trim();
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        try {
+            DataOutputStream request = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            request.writeInt(Protocol.MAGIC);
+            request.writeUTF(token);
+            request.writeUTF(op);
+            request.writeUTF(locale.toLanguageTag());
+            request.writeInt(args.length);
+            for (String arg : args) {
+                request.writeUTF(arg);
+            }
+            request.flush();
+
+            DataInputStream response = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            while (true) {
+                byte frame = response.readByte();
+                if (frame == Protocol.OUTPUT) {
+                    out.write(response.readUTF());
+                    out.flush();
+                } else if (frame == Protocol.EXIT) {
+                    int status = response.readInt();
+                    String message = response.readUTF();
+                    if (message.length() != 0) {
+                        err.write(message);
+                        err.write(System.getProperty("line.separator"));
+                        err.flush();
+                    }
+                    return status;
+                } else {
+                    throw new IOException(String.format("Invalid frame: %d", frame));
+                }
+            }
+        } finally {
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.github.apercova.quickcli.daemon;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer that sends buffered output to a daemon client as output frames.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+final class FrameWriter extends Writer {
+
+    private final DataOutputStream out;
+    private final char[] buffer = new char[Protocol.MAX_FRAME_CHARS];
+    private int count;
+    private boolean closed;
+
+    FrameWriter(DataOutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            while (len > 0) {
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(cbuf, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+                if (count == buffer.length) {
+                    writeFrame();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            writeFrame();
+            out.flush();
+        }
+    }
+
+    /**
+     * Flush pending output. Underlying stream stays open since the exit frame
+     * is still to be sent.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (!closed) {
+                flush();
+                closed = true;
+            }
+        }
+    }
+
+    private void writeFrame() throws IOException {
+        if (count > 0) {
+            out.writeByte(Protocol.OUTPUT);
+            out.writeUTF(new String(buffer, 0, count));
+            count = 0;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+}
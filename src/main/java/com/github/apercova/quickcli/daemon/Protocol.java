@@ -0,0 +1,72 @@
+package com.github.apercova.quickcli.daemon;
+
+import java.io.File;
+
+/**
+ * Daemon wire protocol.
+ * <br><br>
+ * A request is made of a magic number, an authentication token, an
+ * operation, a locale language tag and an argument vector. The token is
+ * generated on every daemon start and written to a file only readable by its
+ * owner, see {@link #tokenFile(int)}. The response is a sequence of output frames
+ * followed by an exit frame holding the exit status and an optional error
+ * message. Strings are written in modified UTF-8.
+ * <br><br>
+ * Operation {@value #EXECUTE} runs a command. Operation {@value #COMPLETE}
+ * writes completion candidates for the argument vector, one per line.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+final class Protocol {
+
+    static final int MAGIC = 0x51434C49;
+
+    static final String EXECUTE = "exec";
+    static final String COMPLETE = "complete";
+
+    static final byte OUTPUT = 'O';
+    static final byte EXIT = 'X';
+
+    static final int STATUS_OK = 0;
+    static final int STATUS_EXECUTION_ERROR = 1;
+    static final int STATUS_ARGUMENT_ERROR = 2;
+
+    /**
+     * Maximum number of arguments per request.
+     */
+    static final int MAX_ARGUMENTS = 4096;
+
+    /**
+     * Maximum number of argument chars per request.
+     */
+    static final int MAX_REQUEST_CHARS = 1024 * 1024;
+
+    /**
+     * Default milliseconds to wait on a client while reading its request.
+     */
+    static final int READ_TIMEOUT_MILLIS = 10000;
+
+    /**
+     * Maximum number of chars per output frame, so a frame never exceeds
+     * modified UTF-8 string length.
+     */
+    static final int MAX_FRAME_CHARS = 16384;
+
+    private Protocol() {
+        super();
+    }
+
+    /**
+     * Retrieve token file of a daemon listening on provided port.
+     *
+     * @param port Daemon port.
+     * @return Token file, under <code>~/.quickcli</code>.
+     */
+    static File tokenFile(int port) {
+        return new File(new File(System.getProperty("user.home"), ".quickcli"), String.format("daemon-%d.token", port));
+    }
+}
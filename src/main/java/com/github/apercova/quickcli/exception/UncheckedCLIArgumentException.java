@@ -0,0 +1,29 @@
+package com.github.apercova.quickcli.exception;
+
+/**
+ * Wraps a {@link CLIArgumentException} with an unchecked exception, for
+ * instance when commands are created lazily within a stream.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public class UncheckedCLIArgumentException extends RuntimeException {
+
+    private static final long serialVersionUID = -2157413208542468706L;
+
+    public UncheckedCLIArgumentException(String message, CLIArgumentException cause) {
+        super(message, cause);
+    }
+
+    public UncheckedCLIArgumentException(CLIArgumentException cause) {
+        super(cause);
+    }
+
+    @Override
+    public CLIArgumentException getCause() {
+        return (CLIArgumentException) super.getCause();
+    }
+}
@@ -0,0 +1,41 @@
+package com.github.apercova.quickcli.instrument;
+
+import com.github.apercova.quickcli.ArgumentDescriptor;
+
+/**
+ * Listener of command life-cycle phases, registered through
+ * {@link Instrumentation#addListener(CommandListener)}.
+ * <br><br>
+ * Listeners are called synchronously on the thread that ran the phase, so
+ * they must be thread-safe and return quickly.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public interface CommandListener {
+
+    /**
+     * Called when a phase starts. Every started phase is completed on the
+     * same thread, and phases started within it are completed first.
+     *
+     * @param command Command class.
+     * @param phase Starting phase.
+     * @param argument Converted argument for {@link Phase#CONVERT},
+     * <code>null</code> other ways.
+     */
+    default void phaseStarted(Class<?> command, Phase phase, ArgumentDescriptor argument) {
+    }
+
+    /**
+     * Called once a phase completes, successfully or not.
+     *
+     * @param command Command class.
+     * @param phase Completed phase.
+     * @param nanos Phase duration in nanoseconds.
+     * @param succeeded <code>false</code> if phase ended with an exception.
+     */
+    void phaseCompleted(Class<?> command, Phase phase, long nanos, boolean succeeded);
+}
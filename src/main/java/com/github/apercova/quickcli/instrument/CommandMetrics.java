@@ -0,0 +1,175 @@
+package com.github.apercova.quickcli.instrument;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Built-in {@link CommandListener} keeping per-command and per-phase
+ * counters and latency histograms.
+ * <br><br>
+ * Counters are {@link LongAdder}s, so recording from many threads does not
+ * contend on a single memory location. Statistics are exposed through JMX
+ * once {@link #register()} is called.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public class CommandMetrics implements CommandListener, CommandMetricsMXBean {
+
+    /**
+     * JMX object name metrics are registered under.
+     */
+    public static final String OBJECT_NAME = "com.github.apercova.quickcli:type=CommandMetrics";
+
+    private static final int BUCKETS = 64;
+    private static final Phase[] PHASES = Phase.values();
+
+    private final ConcurrentMap<String, Recorder[]> recorders = new ConcurrentHashMap<String, Recorder[]>();
+
+    /**
+     * Registers metrics as a listener and as a platform MBean.
+     *
+     * @throws JMException If metrics can not be registered, including when
+     * other metrics are already registered.
+     */
+    public void register() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name)) {
+            throw new InstanceAlreadyExistsException(OBJECT_NAME);
+        }
+        server.registerMBean(this, name);
+        Instrumentation.addListener(this);
+    }
+
+    /**
+     * Removes metrics from listeners and from the platform MBean server.
+     *
+     * @throws JMException If metrics can not be unregistered.
+     */
+    public void unregister() throws JMException {
+        Instrumentation.removeListener(this);
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (InstanceNotFoundException ex) {
+            //Already unregistered
+        }
+    }
+
+    @Override
+    public void phaseCompleted(Class<?> command, Phase phase, long nanos, boolean succeeded) {
+        Recorder[] phases = recorders.get(command.getName());
+        if (phases == null) {
+            Recorder[] created = new Recorder[PHASES.length];
+            for (int i = 0; i < created.length; i++) {
+                created[i] = new Recorder();
+            }
+            phases = recorders.putIfAbsent(command.getName(), created);
+            if (phases == null) {
+                phases = created;
+            }
+        }
+        phases[phase.ordinal()].record(nanos, succeeded);
+    }
+
+    /**
+     * Retrieve statistics of a command phase.
+     *
+     * @param command Command class.
+     * @param phase Command phase.
+     * @return Phase statistics, empty if phase never completed.
+     */
+    public PhaseStatistics getStatistics(Class<?> command, Phase phase) {
+        Recorder[] phases = recorders.get(command.getName());
+        return phases != null
+                ? phases[phase.ordinal()].snapshot(command.getName(), phase)
+                : new PhaseStatistics(command.getName(), phase, 0L, 0L, 0L, 0L, new long[BUCKETS]);
+    }
+
+    @Override
+    public List<PhaseStatistics> getStatistics() {
+        List<PhaseStatistics> statistics = new ArrayList<PhaseStatistics>();
+        for (Map.Entry<String, Recorder[]> e : recorders.entrySet()) {
+            for (Phase phase : PHASES) {
+                Recorder recorder = e.getValue()[phase.ordinal()];
+                if (recorder.count.sum() != 0L) {
+                    statistics.add(recorder.snapshot(e.getKey(), phase));
+                }
+            }
+        }
+        return statistics;
+    }
+
+    @Override
+    public long getPhaseCount() {
+        long count = 0L;
+        for (Recorder[] phases : recorders.values()) {
+            for (Recorder recorder : phases) {
+                count += recorder.count.sum();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public void reset() {
+        recorders.clear();
+    }
+
+    /**
+     * Counters of a single command phase.
+     */
+    private static final class Recorder {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(new LongBinaryOperator() {
+            @Override
+            public long applyAsLong(long left, long right) {
+                return Math.max(left, right);
+            }
+        }, 0L);
+        private final LongAdder[] histogram = new LongAdder[BUCKETS];
+
+        Recorder() {
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = new LongAdder();
+            }
+        }
+
+        void record(long nanos, boolean succeeded) {
+            long n = Math.max(nanos, 1L);
+            count.increment();
+            if (!succeeded) {
+                failures.increment();
+            }
+            total.add(n);
+            max.accumulate(n);
+            histogram[63 - Long.numberOfLeadingZeros(n)].increment();
+        }
+
+        PhaseStatistics snapshot(String command, Phase phase) {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = histogram[i].sum();
+            }
+            return new PhaseStatistics(command, phase, count.sum(), failures.sum(), total.sum(), max.get(), counts);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.github.apercova.quickcli.instrument;
+
+import java.util.List;
+
+/**
+ * Management interface of {@link CommandMetrics}.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public interface CommandMetricsMXBean {
+
+    /**
+     * Retrieve statistics of every command and phase recorded so far.
+     *
+     * @return Phase statistics.
+     */
+    List<PhaseStatistics> getStatistics();
+
+    /**
+     * Retrieve the number of times phases completed, over all commands.
+     *
+     * @return Completed phases count.
+     */
+    long getPhaseCount();
+
+    /**
+     * Discards recorded statistics.
+     */
+    void reset();
+}
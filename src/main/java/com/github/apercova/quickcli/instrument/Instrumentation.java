@@ -0,0 +1,149 @@
+package com.github.apercova.quickcli.instrument;
+
+import com.github.apercova.quickcli.ArgumentDescriptor;
+import com.github.apercova.quickcli.Executable;
+import com.github.apercova.quickcli.exception.ExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry of {@link CommandListener}s.
+ * <br><br>
+ * Instrumented code checks {@link #isEnabled()} before reading the clock,
+ * so phases are not timed at all while no listener is registered. Listener
+ * failures are logged and never propagated to the instrumented code.
+ * <br><br>
+ * Creation phases are reported by {@link com.github.apercova.quickcli.CommandFactory}
+ * on its own. Execution is only reported when commands are executed through
+ * {@link #execute(Executable)}, which is the entry point applications must use
+ * in place of calling {@link Executable#execute()} for metrics to cover
+ * execution.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class Instrumentation {
+
+    private static final CommandListener[] NONE = new CommandListener[0];
+    private static volatile CommandListener[] listeners = NONE;
+
+    private Instrumentation() {
+        super();
+    }
+
+    /**
+     * Registers a listener.
+     *
+     * @param listener Command listener.
+     */
+    public static synchronized void addListener(CommandListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener must not be null");
+        }
+        CommandListener[] current = listeners;
+        CommandListener[] updated = new CommandListener[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Removes a registered listener.
+     *
+     * @param listener Command listener.
+     * @return <code>true</code> if listener was registered.
+     */
+    public static synchronized boolean removeListener(CommandListener listener) {
+        CommandListener[] current = listeners;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == listener) {
+                if (current.length == 1) {
+                    listeners = NONE;
+                } else {
+                    CommandListener[] updated = new CommandListener[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, updated.length - i);
+                    listeners = updated;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determine if any listener is registered.
+     *
+     * @return <code>true</code> if phases must be timed.
+     */
+    public static boolean isEnabled() {
+        return listeners.length != 0;
+    }
+
+    /**
+     * Report a starting phase to registered listeners.
+     *
+     * @param command Command class.
+     * @param phase Starting phase.
+     * @param argument Converted argument for {@link Phase#CONVERT},
+     * <code>null</code> other ways.
+     * @return Phase start as given by {@link System#nanoTime()}.
+     */
+    public static long start(Class<?> command, Phase phase, ArgumentDescriptor argument) {
+        for (CommandListener listener : listeners) {
+            try {
+                listener.phaseStarted(command, phase, argument);
+            } catch (RuntimeException ex) {
+                Logger.getLogger(Instrumentation.class.getName()).log(Level.WARNING, ex.getMessage(), ex);
+            }
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Report a completed phase to registered listeners.
+     *
+     * @param command Command class.
+     * @param phase Completed phase.
+     * @param startNanos Phase start as given by {@link System#nanoTime()}.
+     * @param succeeded <code>false</code> if phase ended with an exception.
+     */
+    public static void record(Class<?> command, Phase phase, long startNanos, boolean succeeded) {
+        long nanos = System.nanoTime() - startNanos;
+        for (CommandListener listener : listeners) {
+            try {
+                listener.phaseCompleted(command, phase, nanos, succeeded);
+            } catch (RuntimeException ex) {
+                Logger.getLogger(Instrumentation.class.getName()).log(Level.WARNING, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    /**
+     * Execute a command, reporting the {@link Phase#EXECUTE} phase. Required
+     * entry point for execution to be instrumented; it just calls
+     * {@link Executable#execute()} while no listener is registered.
+     *
+     * @param <T> Execution result type.
+     * @param executable Command to execute.
+     * @return Execution result.
+     * @throws ExecutionException If an error raised when executing command.
+     */
+    public static <T> T execute(Executable<? extends T> executable) throws ExecutionException {
+        if (!isEnabled()) {
+            return executable.execute();
+        }
+        long start = start(executable.getClass(), Phase.EXECUTE, null);
+        boolean succeeded = false;
+        try {
+            T result = executable.execute();
+            succeeded = true;
+            return result;
+        } finally {
+            record(executable.getClass(), Phase.EXECUTE, start, succeeded);
+        }
+    }
+}
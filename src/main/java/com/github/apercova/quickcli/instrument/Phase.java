@@ -0,0 +1,46 @@
+package com.github.apercova.quickcli.instrument;
+
+/**
+ * Command life-cycle phases reported to {@link CommandListener}s. Phases may
+ * nest: {@link #PARSE} includes {@link #READ_PROPERTIES} and
+ * {@link #CONVERT}, and {@link #CREATE} includes parsing and validation.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public enum Phase {
+
+    /**
+     * Command creation by {@link com.github.apercova.quickcli.CommandFactory},
+     * from instantiation to validation.
+     */
+    CREATE,
+    /**
+     * Reading of command name and description.
+     */
+    READ_PROPERTIES,
+    /**
+     * Parsing of command arguments.
+     */
+    PARSE,
+    /**
+     * Conversion of a single value through a
+     * {@link com.github.apercova.quickcli.DatatypeConverter}.
+     */
+    CONVERT,
+    /**
+     * Validation of command arguments and default values.
+     */
+    VALIDATE,
+    /**
+     * Command execution. Only reported for commands executed through
+     * {@link Instrumentation#execute(com.github.apercova.quickcli.Executable)},
+     * as asynchronous execution, line runners and the daemon do. Direct calls to
+     * {@link com.github.apercova.quickcli.Executable#execute()} are not
+     * timed.
+     */
+    EXECUTE
+}
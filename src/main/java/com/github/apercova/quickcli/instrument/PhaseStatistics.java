@@ -0,0 +1,149 @@
+package com.github.apercova.quickcli.instrument;
+
+/**
+ * Point-in-time statistics of a command phase.
+ * <br><br>
+ * Latencies are tracked in a histogram whose bucket <code>i</code> counts
+ * durations from <code>2<sup>i</sup></code> up to
+ * <code>2<sup>i+1</sup></code> nanoseconds, so percentiles are upper bounds
+ * accurate to a factor of two.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class PhaseStatistics {
+
+    private final String command;
+    private final String phase;
+    private final long count;
+    private final long failures;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final long[] histogram;
+
+    PhaseStatistics(String command, Phase phase, long count, long failures, long totalNanos, long maxNanos, long[] histogram) {
+        this.command = command;
+        this.phase = phase.name();
+        this.count = count;
+        this.failures = failures;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.histogram = histogram;
+    }
+
+    /**
+     * Retrieve command class name.
+     *
+     * @return Command class name.
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Retrieve phase name.
+     *
+     * @return {@link Phase} name.
+     */
+    public String getPhase() {
+        return phase;
+    }
+
+    /**
+     * Retrieve the number of completed phases.
+     *
+     * @return Phase count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Retrieve the number of phases ended with an exception.
+     *
+     * @return Failure count.
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Retrieve accumulated phase duration.
+     *
+     * @return Total nanoseconds.
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Retrieve the longest phase duration.
+     *
+     * @return Maximum nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Retrieve mean phase duration.
+     *
+     * @return Mean nanoseconds, zero if phase never completed.
+     */
+    public long getMeanNanos() {
+        return count != 0 ? totalNanos / count : 0L;
+    }
+
+    /**
+     * Retrieve median phase duration upper bound.
+     *
+     * @return Median nanoseconds.
+     */
+    public long getP50Nanos() {
+        return percentile(0.50);
+    }
+
+    /**
+     * Retrieve 99th percentile phase duration upper bound.
+     *
+     * @return 99th percentile nanoseconds.
+     */
+    public long getP99Nanos() {
+        return percentile(0.99);
+    }
+
+    /**
+     * Retrieve latency histogram.
+     *
+     * @return Counts by power of two nanoseconds bucket.
+     */
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    private long percentile(double p) {
+        long total = 0L;
+        for (long c : histogram) {
+            total += c;
+        }
+        long rank = (long) Math.ceil(total * p);
+        long seen = 0L;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank && seen > 0) {
+                return i < 62 ? Math.min(1L << (i + 1), maxNanos) : maxNanos;
+            }
+        }
+        return 0L;
+    }
+
+    @Override
+    public String toString() {
+        return "PhaseStatistics [command=" + command + ", phase=" + phase + ", count=" + count
+                + ", failures=" + failures + ", meanNanos=" + getMeanNanos()
+                + ", p99Nanos=" + getP99Nanos() + ", maxNanos=" + maxNanos + "]";
+    }
+}
@@ -0,0 +1,263 @@
+package com.github.apercova.quickcli.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Buffered {@link Writer} encoding characters straight into a direct
+ * {@link ByteBuffer} and writing it to a {@link WritableByteChannel} as its
+ * {@link FlushPolicy} dictates.
+ * <br><br>
+ * Buffers of default size are recycled across writers once closed.
+ * Unmappable characters are replaced, as {@link java.io.OutputStreamWriter}
+ * does.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class ChannelWriter extends Writer {
+
+    /**
+     * Default buffer size in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private static final int MAX_POOLED_BUFFERS = 16;
+    private static final Queue<ByteBuffer> BUFFERS = new ConcurrentLinkedQueue<ByteBuffer>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder;
+    private final FlushPolicy policy;
+    private final CharBuffer pending;
+    private final CharBuffer single;
+    private ByteBuffer buffer;
+    private long lastFlush;
+
+    /**
+     * Creates a writer with default buffer size.
+     *
+     * @param channel Output channel.
+     * @param cs Output charset.
+     * @param policy Flush policy.
+     */
+    public ChannelWriter(WritableByteChannel channel, Charset cs, FlushPolicy policy) {
+        this(channel, cs, policy, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a writer.
+     *
+     * @param channel Output channel.
+     * @param cs Output charset.
+     * @param policy Flush policy.
+     * @param bufferSize Buffer size in bytes. Raised to the policy's byte
+     * threshold if lower.
+     */
+    public ChannelWriter(WritableByteChannel channel, Charset cs, FlushPolicy policy, int bufferSize) {
+        if (channel == null || cs == null || policy == null) {
+            throw new IllegalArgumentException("channel, charset and policy must not be null");
+        }
+        this.channel = channel;
+        this.encoder = cs.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.policy = policy;
+        this.pending = CharBuffer.allocate(2);
+        this.single = CharBuffer.allocate(1);
+        this.buffer = allocate(Math.max(Math.max(bufferSize, policy.getBytes()),
+                (int) Math.ceil(encoder.maxBytesPerChar()) * 2));
+        this.lastFlush = System.nanoTime();
+    }
+
+    /**
+     * Creates a writer over an output stream.
+     *
+     * @param out Output stream.
+     * @param cs Output charset.
+     * @param policy Flush policy.
+     * @return Channel writer.
+     */
+    public static ChannelWriter forStream(OutputStream out, Charset cs, FlushPolicy policy) {
+        return new ChannelWriter(Channels.newChannel(out), cs, policy);
+    }
+
+    /**
+     * Creates a writer over a file, created or truncated.
+     *
+     * @param path Output file.
+     * @param cs Output charset.
+     * @param policy Flush policy.
+     * @return Channel writer.
+     * @throws IOException If file can not be opened.
+     */
+    public static ChannelWriter forFile(Path path, Charset cs, FlushPolicy policy) throws IOException {
+        return new ChannelWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING), cs, policy);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            CharBuffer in = CharBuffer.wrap(cbuf, off, len);
+            boolean line = policy.isLine() && hasLineFeed(in);
+            encode(in);
+            afterWrite(line);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            CharBuffer in = CharBuffer.wrap(str, off, off + len);
+            boolean line = policy.isLine() && hasLineFeed(in);
+            encode(in);
+            afterWrite(line);
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            single.clear();
+            single.put((char) c);
+            single.flip();
+            encode(single);
+            afterWrite(c == '\n' && policy.isLine());
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            ensureOpen();
+            flushBuffer();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (buffer == null) {
+                return;
+            }
+            try {
+                pending.flip();
+                encode(pending, true);
+                while (encoder.flush(buffer).isOverflow()) {
+                    drain();
+                }
+                drain();
+                if (channel instanceof FileChannel) {
+                    ((FileChannel) channel).force(false);
+                }
+            } finally {
+                release(buffer);
+                buffer = null;
+                channel.close();
+            }
+        }
+    }
+
+    private void encode(CharBuffer in) throws IOException {
+        if (pending.position() > 0 && in.hasRemaining()) {
+            //Complete a surrogate pair split across writes
+            pending.put(in.get());
+            pending.flip();
+            encode(pending, false);
+            pending.compact();
+        }
+        encode(in, false);
+        if (in.hasRemaining()) {
+            pending.put(in);
+        }
+    }
+
+    private void encode(CharBuffer in, boolean endOfInput) throws IOException {
+        for (;;) {
+            CoderResult result = encoder.encode(in, buffer, endOfInput);
+            if (result.isOverflow()) {
+                drain();
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static boolean hasLineFeed(CharBuffer in) {
+        for (int i = in.position(); i < in.limit(); i++) {
+            if (in.get(i) == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void afterWrite(boolean line) throws IOException {
+        if (line
+                || (policy.getBytes() > 0 && buffer.position() >= policy.getBytes())
+                || (policy.getIntervalNanos() > 0 && System.nanoTime() - lastFlush >= policy.getIntervalNanos())) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        drain();
+        lastFlush = System.nanoTime();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void ensureOpen() throws IOException {
+        if (buffer == null) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    private static ByteBuffer allocate(int size) {
+        if (size == DEFAULT_BUFFER_SIZE) {
+            ByteBuffer buffer = BUFFERS.poll();
+            if (buffer != null) {
+                POOLED.decrementAndGet();
+                buffer.clear();
+                return buffer;
+            }
+        }
+        return ByteBuffer.allocateDirect(size);
+    }
+
+    private static void release(ByteBuffer buffer) {
+        if (buffer.capacity() == DEFAULT_BUFFER_SIZE && POOLED.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            BUFFERS.add(buffer);
+        } else if (buffer.capacity() == DEFAULT_BUFFER_SIZE) {
+            POOLED.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.apercova.quickcli.io;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Flush policy of a {@link ChannelWriter}. Regardless of policy, buffered
+ * output is written when the buffer fills up, on {@link ChannelWriter#flush()}
+ * and on close.
+ *
+ * @author
+ * <a href="https://twitter.com/apercova" target="_blank">{@literal @}apercova</a>
+ * <a href="https://github.com/apercova" target="_blank">https://github.com/apercova</a>
+ * @since 1.1
+ *
+ */
+public final class FlushPolicy {
+
+    /**
+     * Flush after every write containing a line feed.
+     */
+    public static final FlushPolicy LINE = new FlushPolicy(true, 0, 0L);
+    /**
+     * Flush only when buffer is full, when flushed explicitly or on close.
+     */
+    public static final FlushPolicy CLOSE = new FlushPolicy(false, 0, 0L);
+
+    private final boolean line;
+    private final int bytes;
+    private final long intervalNanos;
+
+    private FlushPolicy(boolean line, int bytes, long intervalNanos) {
+        this.line = line;
+        this.bytes = bytes;
+        this.intervalNanos = intervalNanos;
+    }
+
+    /**
+     * Flush once provided number of bytes is buffered.
+     *
+     * @param bytes Byte threshold.
+     * @return Flush policy.
+     */
+    public static FlushPolicy bytes(int bytes) {
+        if (bytes < 1) {
+            throw new IllegalArgumentException("bytes must be positive");
+        }
+        return new FlushPolicy(false, bytes, 0L);
+    }
+
+    /**
+     * Flush on the first write after provided interval has elapsed since
+     * previous flush. No background thread is involved, so output written
+     * before an idle period stays buffered until next write or close.
+     *
+     * @param interval Interval.
+     * @param unit Interval unit.
+     * @return Flush policy.
+     */
+    public static FlushPolicy interval(long interval, TimeUnit unit) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be positive");
+        }
+        return new FlushPolicy(false, 0, unit.toNanos(interval));
+    }
+
+    boolean isLine() {
+        return line;
+    }
+
+    int getBytes() {
+        return bytes;
+    }
+
+    long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    @Override
+    public String toString() {
+        if (line) {
+            return "FlushPolicy [line]";
+        }
+        if (bytes > 0) {
+            return String.format("FlushPolicy [bytes=%d]", bytes);
+        }
+        if (intervalNanos > 0) {
+            return String.format("FlushPolicy [interval=%dms]", TimeUnit.NANOSECONDS.toMillis(intervalNanos));
+        }
+        return "FlushPolicy [close]";
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.apercova.quickcli.command.BindExamples;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+
+public class ArgumentFileTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File write(String content) throws IOException {
+        File file = folder.newFile();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(content);
+        } finally {
+            writer.close();
+        }
+        return file;
+    }
+
+    private static List<String> tokens(ArgumentSource source) throws IOException {
+        List<String> tokens = new ArrayList<String>();
+        try {
+            while (source.hasNext()) {
+                tokens.add(source.next());
+            }
+        } finally {
+            source.close();
+        }
+        return tokens;
+    }
+
+    @Test
+    public void testTokenize() throws Exception {
+        File file = write("# comment line\n--string  \"two words\"\t'it\\s'\n"
+                + "\"esc\\\"aped\\n\" C:\\dir\\file # trailing\r\n\"\"");
+        assertEquals(Arrays.asList("--string", "two words", "it\\s", "esc\"aped\n", "C:\\dir\\file", ""),
+                tokens(ArgumentFile.open(file)));
+        assertEquals(Arrays.asList(), tokens(ArgumentFile.open(write(""))));
+    }
+
+    @Test
+    public void testWindows() throws Exception {
+        File file = write("áé ñ 日本語 ok");
+        for (int window = 1; window < 8; window++) {
+            assertEquals(Arrays.asList("áé", "ñ", "日本語", "ok"), tokens(new ArgumentFile(file, window)));
+        }
+    }
+
+    @Test
+    public void testExpand() throws Exception {
+        File file = write("--string x --byte 1 --short 2 --long 4\n--float 5 --double 6");
+        BindExamples command = CommandFactory.create(ArgumentSource.expanding(new String[]{"@" + file.getPath(),
+            "--big-integer", "7", "--big-decimal", "8"}), BindExamples.class, new StringWriter(), Locale.ENGLISH);
+        assertEquals("x", command.getTexto());
+        assertEquals(6d, command.getDoble(), 0d);
+
+        try {
+            CommandFactory.create(ArgumentSource.expanding(new String[]{"@" + file.getPath() + ".missing"}),
+                    BindExamples.class, new StringWriter(), Locale.ENGLISH);
+            fail("Expected CLIArgumentException");
+        } catch (CLIArgumentException ex) {
+            assertTrue(ex.getMessage().contains(".missing"));
+        }
+    }
+
+    @Test
+    public void testLiteral() throws Exception {
+        File file = write("--string x");
+        String arg = "@" + file.getPath();
+        assertEquals(Arrays.asList(arg), tokens(ArgumentSource.of(new String[]{arg})));
+        assertEquals(Arrays.asList(arg), tokens(ArgumentSource.expanding(new String[]{arg})));
+
+        try {
+            CommandFactory.create(new String[]{arg}, BindExamples.class, new StringWriter(), Locale.ENGLISH);
+            fail("Expected CLIArgumentException");
+        } catch (CLIArgumentException ex) {
+            assertTrue(ex.getMessage().contains(arg));
+            assertFalse(ex.getMessage().contains("--string x"));
+        }
+
+        // Option values and tokens read from an argument file are never expanded
+        File rest = write("--byte 1 --short 2 --long 4 --float 5 --double 6 --big-integer 7 --big-decimal 8");
+        BindExamples command = CommandFactory.create(ArgumentSource.expanding(new String[]{"--string", arg,
+            "@" + rest.getPath()}), BindExamples.class, new StringWriter(), Locale.ENGLISH);
+        assertEquals(arg, command.getTexto());
+        assertEquals(6d, command.getDoble(), 0d);
+        File nested = write("--string " + arg + " @" + rest.getPath());
+        try {
+            CommandFactory.create(ArgumentSource.expanding(new String[]{"@" + nested.getPath()}),
+                    BindExamples.class, new StringWriter(), Locale.ENGLISH);
+            fail("Expected CLIArgumentException");
+        } catch (CLIArgumentException ex) {
+            assertTrue(ex.getMessage().contains("@" + rest.getPath()));
+        }
+    }
+
+    @Test
+    public void testLargeFile() throws Exception {
+        File file = folder.newFile();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            for (int i = 0; i < 100000; i++) {
+                writer.write("/some/path/file-" + i + ".txt\n");
+            }
+        } finally {
+            writer.close();
+        }
+        ArgumentFile source = new ArgumentFile(file, 64 * 1024);
+        int count = 0;
+        String token;
+        while ((token = source.next()) != null) {
+            assertEquals("/some/path/file-" + count + ".txt", token);
+            count++;
+        }
+        source.close();
+        assertEquals(100000, count);
+        assertNull(source.peek());
+    }
+
+    @Test
+    public void testError() throws Exception {
+        File file = write("--string \"unterminated");
+        try {
+            CommandFactory.create(ArgumentSource.expanding(new String[]{"@" + file.getPath()}),
+                    BindExamples.class, new StringWriter(), Locale.ENGLISH);
+            fail("Expected CLIArgumentException");
+        } catch (CLIArgumentException ex) {
+            assertTrue(ex.getMessage().startsWith("Argument file could not be read."));
+            assertTrue(ex.getMessage().contains(file.getPath()));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.command.BindExamples;
+import com.github.apercova.quickcli.examples.converter.SimpleCharsetConverter;
+
+public class CommandDescriptorTest {
+
+    static volatile boolean parserInitialized;
+
+    @Test
+    public void testCached() {
+        assertSame(CommandDescriptor.forClass(BindExamples.class), CommandDescriptor.forClass(BindExamples.class));
+    }
+
+    @Test
+    public void testArguments() {
+        CommandDescriptor descriptor = CommandDescriptor.forClass(BindExamples.class);
+        assertTrue(descriptor.isCommand());
+        assertEquals("bind-ex", descriptor.getName());
+        assertEquals(12, descriptor.getArguments().size());
+
+        ArgumentDescriptor arg = descriptor.getArgument("--charset");
+        assertSame(arg, descriptor.getArgument("--cs"));
+        assertEquals(Charset.class, arg.getType());
+        assertEquals(SimpleCharsetConverter.class, arg.getConverter());
+        assertEquals("utf-8", arg.getValue());
+        assertFalse(arg.isRequired());
+
+        assertTrue(descriptor.getArgument("--boolean").isFlag());
+        assertTrue(descriptor.getArgument("--byte").isRequired());
+        assertNull(descriptor.getArgument("--unknown"));
+    }
+
+    @Test
+    public void testBinders() throws Exception {
+        CommandDescriptor descriptor = CommandDescriptor.forClass(BindExamples.class);
+        for (ArgumentDescriptor arg : descriptor.getArguments()) {
+            assertNotNull(arg.getName(), arg.getBinder());
+        }
+
+        BindExamples command = new BindExamples();
+        descriptor.getArgument("--int").getBinder().bind(command, "42");
+        descriptor.getArgument("--double").getBinder().bind(command, "0.5");
+        descriptor.getArgument("--cs").getBinder().bind(command, "utf-16");
+        assertEquals(42, command.getEntero());
+        assertEquals(Integer.valueOf(42), descriptor.getArgument("--int").getBinder().get(command));
+        assertEquals(0.5d, command.getDoble(), 0d);
+        assertEquals(Charset.forName("utf-16"), command.getCharset());
+    }
+
+    @Test
+    public void testParserNotInitialized() {
+        assertTrue(CommandDescriptor.forClass(Probe.class).isCommand());
+        assertFalse(parserInitialized);
+    }
+
+    @Test
+    public void testNotACommand() {
+        assertFalse(CommandDescriptor.forClass(String.class).isCommand());
+    }
+
+    @CLICommand("probe")
+    public static class Probe extends Command<Void> {
+    }
+
+    public static class ProbeParser {
+
+        static {
+            parserInitialized = true;
+        }
+    }
+}
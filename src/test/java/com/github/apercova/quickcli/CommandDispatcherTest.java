@@ -0,0 +1,117 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.command.BindExamples;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+
+public class CommandDispatcherTest {
+
+    static volatile boolean initialized;
+
+    @CLICommand("lazy")
+    public static class Lazy extends Command<Void> {
+
+        @CLIArgument(name = "--name")
+        private String name;
+    }
+
+    @CLICommand("lazy")
+    public static class LazyInit extends Command<Void> {
+
+        static {
+            initialized = true;
+        }
+    }
+
+    @Test
+    public void testPrefixTrie() {
+        PrefixTrie<Integer> trie = new PrefixTrie<Integer>();
+        trie.put("remote", 1);
+        trie.put("remove", 2);
+        trie.put("rename", 3);
+        trie.put("re", 4);
+        assertNull(trie.put("status", 5));
+        assertEquals(5, trie.size());
+        assertEquals(Integer.valueOf(4), trie.resolve("re"));
+        assertEquals(Integer.valueOf(3), trie.resolve("ren"));
+        assertEquals(Integer.valueOf(5), trie.resolve("s"));
+        assertNull(trie.resolve("rem"));
+        assertNull(trie.resolve("x"));
+        assertNull(trie.get("st"));
+        assertEquals(Arrays.asList("remote", "remove"), trie.keys("rem"));
+        assertEquals(Arrays.asList("re", "remote", "remove", "rename", "status"), trie.keys(""));
+    }
+
+    @Test
+    public void testDispatch() throws Exception {
+        CommandDispatcher dispatcher = new CommandDispatcher()
+                .register("bind-ex", BindExamples.class.getName())
+                .register("remote add", BindExamples.class.getName())
+                .register("remote remove", Lazy.class);
+
+        Command<?> command = dispatcher.dispatch(new String[]{"bi", "--string", "x", "--byte", "1",
+            "--short", "2", "--long", "4", "--float", "5", "--double", "6",
+            "--big-integer", "7", "--big-decimal", "8"}, new StringWriter(), Locale.ENGLISH);
+        assertEquals("x", ((BindExamples) command).getTexto());
+
+        command = dispatcher.dispatch(new String[]{"remote", "rem", "--name", "origin"},
+                new StringWriter(), Locale.ENGLISH);
+        assertTrue(command instanceof Lazy);
+        assertEquals("origin", ((Lazy) command).name);
+        assertEquals(Arrays.asList("add", "remove"), dispatcher.names(new String[]{"remote"}, ""));
+    }
+
+    @Test
+    public void testLazyLoading() throws Exception {
+        CommandDispatcher dispatcher = new CommandDispatcher()
+                .register("lazy", LazyInit.class.getName())
+                .register("missing", "com.github.apercova.quickcli.Missing");
+        assertFalse(initialized);
+        dispatcher.dispatch(new String[]{"la"}, new StringWriter(), Locale.ENGLISH);
+        assertTrue(initialized);
+        try {
+            dispatcher.dispatch(new String[]{"missing"}, new StringWriter(), Locale.ENGLISH);
+            fail("Expected CLIArgumentException");
+        } catch (CLIArgumentException ex) {
+            assertTrue(ex.getMessage().contains("com.github.apercova.quickcli.Missing"));
+        }
+    }
+
+    @Test
+    public void testUnresolved() {
+        CommandDispatcher dispatcher = new CommandDispatcher()
+                .register("remote rename", BindExamples.class.getName())
+                .register("remote remove", BindExamples.class.getName());
+        try {
+            dispatcher.dispatch(new String[]{"remote", "re"}, new StringWriter(), Locale.ENGLISH);
+            fail("Expected CLIArgumentException");
+        } catch (CLIArgumentException ex) {
+            assertEquals("[re] is ambiguous. Candidates: [remove, rename].", ex.getMessage());
+        }
+        try {
+            dispatcher.dispatch(new String[]{"status"}, new StringWriter(), Locale.ENGLISH);
+            fail("Expected CLIArgumentException");
+        } catch (CLIArgumentException ex) {
+            assertEquals("[status] is not a valid command.", ex.getMessage());
+        }
+        try {
+            dispatcher.dispatch(new String[]{"remote"}, new StringWriter(), Locale.ENGLISH);
+            fail("Expected CLIArgumentException");
+        } catch (CLIArgumentException ex) {
+            assertEquals("[remote] is not a valid command.", ex.getMessage());
+        }
+    }
+}
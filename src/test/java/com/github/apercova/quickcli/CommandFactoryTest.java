@@ -0,0 +1,121 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.command.BindExamples;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+import com.github.apercova.quickcli.io.FlushPolicy;
+
+public class CommandFactoryTest {
+
+    static String[] args(int i) {
+        return new String[]{
+            "--string", "cmd-" + i,
+            "--byte", "1",
+            "--short", "2",
+            "--int", String.valueOf(i),
+            "--long", "4",
+            "--float", "5",
+            "--double", "6",
+            "--big-integer", "7",
+            "--big-decimal", "8"
+        };
+    }
+
+    static List<String[]> batch(int size) {
+        List<String[]> batch = new ArrayList<String[]>();
+        for (int i = 0; i < size; i++) {
+            batch.add(args(i));
+        }
+        return batch;
+    }
+
+    @Test
+    public void testCreateAll() throws Exception {
+        List<BindExamples> commands = CommandFactory.createAll(batch(100), BindExamples.class, Locale.ENGLISH);
+        assertEquals(100, commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            assertEquals("cmd-" + i, commands.get(i).getTexto());
+        }
+    }
+
+    @Test
+    public void testCreateAllParallel() throws Exception {
+        List<BindExamples> commands = CommandFactory.createAll(batch(5000), BindExamples.class,
+                new StringWriter(), Locale.ENGLISH, true);
+        assertEquals(5000, commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            assertEquals(i, commands.get(i).getEntero());
+        }
+    }
+
+    @Test
+    public void testCreateAllParallelFirstError() throws Exception {
+        List<String[]> batch = batch(2000);
+        batch.set(1500, new String[]{"--bad-1500"});
+        batch.set(700, new String[]{"--bad-700"});
+        try {
+            CommandFactory.createAll(batch, BindExamples.class, new StringWriter(), Locale.ENGLISH, true);
+            fail();
+        } catch (CLIArgumentException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("--bad-700"));
+        }
+    }
+
+    @Test
+    public void testCreateAllStream() throws Exception {
+        List<BindExamples> commands = CommandFactory.createAll(batch(1000).parallelStream(), BindExamples.class,
+                new StringWriter(), Locale.ENGLISH).collect(Collectors.toList());
+        for (int i = 0; i < commands.size(); i++) {
+            assertEquals(i, commands.get(i).getEntero());
+        }
+    }
+
+    @Test
+    public void testLocalizedError() throws Exception {
+        try {
+            CommandFactory.create(new String[]{"--int", "uno"}, BindExamples.class, new StringWriter(), new Locale("es"));
+            fail();
+        } catch (CLIArgumentException ex) {
+            assertEquals("[uno] no es un n\u00famero v\u00e1lido para el argumento [--entero] de tipo [int].", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void testDefaultWriter() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BindExamples command = CommandFactory.create(args(1), BindExamples.class, bytes, Locale.ENGLISH);
+        command.getWriter().printf("result=%d", 42);
+        assertEquals("result=42", bytes.toString());
+
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(bytes, true));
+        try {
+            bytes.reset();
+            command = CommandFactory.create(args(1), BindExamples.class);
+            command.getWriter().printf("result=%d", 42);
+            assertEquals("result=42", bytes.toString());
+        } finally {
+            System.setOut(out);
+        }
+
+        bytes.reset();
+        command = CommandFactory.create(args(1), BindExamples.class, bytes, null, Locale.ENGLISH, FlushPolicy.CLOSE);
+        command.getWriter().printf("result=%d%n", 42);
+        assertEquals("", bytes.toString());
+        command.close();
+        assertEquals("result=42" + System.getProperty("line.separator"), bytes.toString());
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.command.BindExamples;
+
+public class CommandIndexTest {
+
+    static final String INDEX = CommandIndex.HEADER + "\n"
+            + "C\tbind-ex\tcom.github.apercova.quickcli.command.BindExamples\t\n"
+            + "A\t--texto\t\ttrue\t\t--string\n"
+            + "A\t--help\t\tfalse\tList available options\n"
+            + "C\tremote add\tcom.example.RemoteAdd\tAdds a\\tremote\\\\\n";
+
+    @Test
+    public void testRead() throws Exception {
+        CommandIndex index = CommandIndex.read(new StringReader(INDEX));
+        assertEquals(Arrays.asList("bind-ex", "remote add"), index.getNames());
+        CommandIndex.Entry entry = index.getCommand("bind-ex");
+        assertEquals(BindExamples.class.getName(), entry.getClassName());
+        assertEquals(2, entry.getArguments().size());
+        assertEquals(Arrays.asList("--string"), entry.getArguments().get(0).getAliases());
+        assertTrue(entry.getArguments().get(0).isRequired());
+        assertEquals("List available options", entry.getArguments().get(1).getUsage());
+        assertEquals("Adds a\tremote\\", index.getCommand("remote add").getDescription());
+        assertNull(index.getCommand("remote"));
+    }
+
+    @Test(expected = IOException.class)
+    public void testMalformed() throws Exception {
+        CommandIndex.read(new StringReader(CommandIndex.HEADER + "\nA\t--orphan\t\tfalse\t\n"));
+    }
+
+    @Test
+    public void testUsage() throws Exception {
+        CommandIndex index = CommandIndex.read(new StringReader(INDEX));
+        StringWriter usage = new StringWriter();
+        index.getCommand("bind-ex").printUsage(new PrintWriter(usage), Locale.ENGLISH);
+        assertTrue(usage.toString().startsWith("[bind-ex]: "));
+        assertTrue(usage.toString().contains("--texto"));
+        assertTrue(usage.toString().contains("[--string]"));
+
+        CommandDispatcher dispatcher = new CommandDispatcher().register(index);
+        assertEquals(Arrays.asList("add"), dispatcher.names(new String[]{"remote"}, ""));
+        assertFalse(dispatcher.names(new String[0], "b").isEmpty());
+    }
+}
@@ -0,0 +1,152 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+
+public class CommandPoolTest {
+
+    @CLICommand("pooled")
+    public static class Pooled extends Command<Void> {
+
+        @CLIArgument(name = "--id", required = true)
+        private int id;
+        @CLIArgument(name = "--tag")
+        private String tag = "none";
+        @CLIArgument(name = "--verbose")
+        private boolean verbose;
+    }
+
+    @After
+    public void tearDown() {
+        CommandPool.unregister(Pooled.class);
+    }
+
+    @Test
+    public void testReuse() throws Exception {
+        CommandPool<Pooled> pool = CommandPool.register(Pooled.class, 4);
+        Pooled first = CommandFactory.create(new String[]{"--id", "1", "--tag", "a", "--verbose"},
+                Pooled.class, new StringWriter(), Locale.ENGLISH);
+        assertEquals(0, pool.getIdle());
+        first.close();
+        assertEquals(1, pool.getIdle());
+
+        Pooled second = CommandFactory.create(new String[]{"--id", "2"}, Pooled.class,
+                new StringWriter(), Locale.ENGLISH);
+        assertSame(first, second);
+        assertEquals(2, second.id);
+        assertEquals("none", second.tag);
+        assertFalse(second.verbose);
+        second.close();
+        second.close();
+        assertEquals(1, pool.getIdle());
+    }
+
+    @Test
+    public void testFailedCreation() throws Exception {
+        CommandPool<Pooled> pool = CommandPool.register(Pooled.class, 4);
+        try {
+            CommandFactory.create(new String[]{"--tag", "x", "--id", "one"}, Pooled.class, new StringWriter(), Locale.ENGLISH);
+            fail("Expected CLIArgumentException");
+        } catch (CLIArgumentException ex) {
+            assertEquals(1, pool.getIdle());
+        }
+        Pooled command = pool.acquire();
+        assertEquals("none", command.tag);
+        assertNull(command.getWriter());
+    }
+
+    @Test
+    public void testBounded() throws Exception {
+        CommandPool<Pooled> pool = CommandPool.register(Pooled.class, 2);
+        List<Pooled> commands = new ArrayList<Pooled>();
+        for (int i = 0; i < 5; i++) {
+            commands.add(pool.acquire());
+        }
+        int pooled = 0;
+        for (Pooled command : commands) {
+            pooled += pool.release(command) ? 1 : 0;
+        }
+        assertEquals(pool.getCapacity(), pooled);
+        assertTrue(pool.getCapacity() >= 2 && pool.getCapacity() <= 3);
+
+        CommandPool.unregister(Pooled.class);
+        Pooled command = pool.acquire();
+        assertFalse(pool.release(command));
+        assertNotSame(command, pool.acquire());
+    }
+
+    @Test
+    public void testOwnership() throws Exception {
+        CommandPool<Pooled> pool = CommandPool.register(Pooled.class, 4);
+        Pooled command = pool.acquire();
+        assertTrue(pool.release(command));
+        assertFalse(pool.release(command));
+        assertEquals(1, pool.getIdle());
+
+        assertFalse(pool.release(new Pooled()));
+        Pooled other = CommandPool.register(Pooled.class, 4).acquire();
+        assertFalse(pool.release(other));
+        assertEquals(1, pool.getIdle());
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        final CommandPool<Pooled> pool = CommandPool.register(Pooled.class, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            final Set<Pooled> inUse = Collections.synchronizedSet(
+                    Collections.newSetFromMap(new IdentityHashMap<Pooled, Boolean>()));
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        for (int i = 0; i < 2000; i++) {
+                            Pooled command = CommandFactory.create(new String[]{"--id", String.valueOf(thread)},
+                                    Pooled.class, new StringWriter(), Locale.ENGLISH);
+                            if (!inUse.add(command)) {
+                                throw new AssertionError("Instance handed out twice");
+                            }
+                            assertEquals(thread, command.id);
+                            assertEquals("none", command.tag);
+                            inUse.remove(command);
+                            command.close();
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(pool.getIdle() <= pool.getCapacity());
+    }
+}
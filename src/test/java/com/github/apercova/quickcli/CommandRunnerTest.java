@@ -0,0 +1,93 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.exception.ExecutionException;
+
+public class CommandRunnerTest {
+
+    static final AtomicInteger RUNNING = new AtomicInteger();
+    static final AtomicInteger PEAK = new AtomicInteger();
+
+    @CLICommand("check")
+    public static class Check extends Command<Integer> {
+
+        @CLIArgument(name = "--id", required = true)
+        private Integer id;
+
+        @Override
+        public Integer execute() throws ExecutionException {
+            int running = RUNNING.incrementAndGet();
+            try {
+                int peak;
+                while ((peak = PEAK.get()) < running && !PEAK.compareAndSet(peak, running)) {
+                }
+                Thread.sleep(5);
+            } catch (InterruptedException ex) {
+                throw new ExecutionException(ex);
+            } finally {
+                RUNNING.decrementAndGet();
+            }
+            if (id % 10 == 0) {
+                throw new ExecutionException("check " + id + " failed");
+            }
+            return id * 2;
+        }
+    }
+
+    private static List<Check> checks(int count) throws Exception {
+        List<Check> checks = new ArrayList<Check>();
+        for (int i = 1; i <= count; i++) {
+            checks.add(CommandFactory.create(new String[]{"--id", String.valueOf(i)}, Check.class,
+                    new StringWriter(), Locale.ENGLISH));
+        }
+        return checks;
+    }
+
+    @Test
+    public void testExecuteAsync() throws Exception {
+        assertEquals(Integer.valueOf(6), checks(3).get(2).executeAsync().get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSubmitAll() throws Exception {
+        PEAK.set(0);
+        CommandRunner runner = new CommandRunner().limit(Check.class, 4);
+        CommandRunner.Results<Integer> results = runner.submitAll(checks(100)).get(30, TimeUnit.SECONDS);
+        assertEquals(90, results.getSucceeded());
+        assertEquals(10, results.getFailed());
+        assertEquals(Integer.valueOf(2), results.getValues().get(0));
+        assertNull(results.getValues().get(9));
+        assertTrue(results.getErrors().get(9) instanceof ExecutionException);
+        assertTrue(PEAK.get() <= 4);
+    }
+
+    @Test
+    public void testGlobalLimit() throws Exception {
+        PEAK.set(0);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            CommandRunner runner = new CommandRunner(executor, 3);
+            CommandRunner.Results<Integer> results = runner.submitAll(checks(50)).get(30, TimeUnit.SECONDS);
+            assertEquals(45, results.getSucceeded());
+            assertTrue(PEAK.get() <= 3);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
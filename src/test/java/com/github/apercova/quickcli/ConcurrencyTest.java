@@ -0,0 +1,123 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.command.BindExamples;
+
+public class ConcurrencyTest {
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+    private static final int ITERATIONS = 2000;
+
+    @CLICommand("tagged")
+    public static class Tagged extends Command<Void> {
+
+        @CLIArgument(name = "--id", required = true)
+        private long id;
+        @CLIArgument(name = "--value")
+        private List<Integer> values;
+        @CLIArgument(name = "--name", value = "none")
+        private String name;
+    }
+
+    @After
+    public void tearDown() {
+        CommandPool.unregister(Tagged.class);
+    }
+
+    private static void run(final Task task) throws Exception {
+        final CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        barrier.await();
+                        for (int i = 0; i < ITERATIONS; i++) {
+                            task.run(thread, i);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface Task {
+
+        void run(int thread, int i) throws Exception;
+    }
+
+    @Test
+    public void testCreate() throws Exception {
+        run(new Task() {
+            @Override
+            public void run(int thread, int i) throws Exception {
+                int key = thread * ITERATIONS + i;
+                String[] args = CommandFactoryTest.args(key);
+                String charset = (key & 1) == 0 ? "utf-8" : "iso-8859-1";
+                args = Arrays.copyOf(args, args.length + 2);
+                args[args.length - 2] = "--cs";
+                args[args.length - 1] = charset;
+
+                BindExamples command = CommandFactory.create(args, BindExamples.class,
+                        new StringWriter(), Locale.ENGLISH);
+                assertEquals("cmd-" + key, command.getTexto());
+                assertEquals(key, command.getEntero());
+                assertEquals(Charset.forName(charset), command.getCharset());
+            }
+        });
+    }
+
+    @Test
+    public void testPooledCreate() throws Exception {
+        CommandPool.register(Tagged.class, 4);
+        run(new Task() {
+            @Override
+            public void run(int thread, int i) throws Exception {
+                long key = thread * (long) ITERATIONS + i;
+                String[] args = (i & 1) == 0
+                        ? new String[]{"--id", String.valueOf(key), "--value", thread + "," + i}
+                        : new String[]{"--value", String.valueOf(i), "--id", String.valueOf(key), "--name", "t" + thread};
+                Tagged command = CommandFactory.create(args, Tagged.class, new StringWriter(), Locale.ENGLISH);
+                try {
+                    assertEquals(key, command.id);
+                    if ((i & 1) == 0) {
+                        assertEquals(Arrays.asList(thread, i), command.values);
+                        assertEquals("none", command.name);
+                    } else {
+                        assertEquals(Arrays.asList(i), command.values);
+                        assertEquals("t" + thread, command.name);
+                    }
+                } finally {
+                    command.close();
+                }
+            }
+        });
+    }
+}
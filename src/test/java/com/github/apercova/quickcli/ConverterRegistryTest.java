@@ -0,0 +1,101 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.examples.converter.SimpleCharsetConverter;
+import com.github.apercova.quickcli.exception.DatatypeConverterException;
+
+public class ConverterRegistryTest {
+
+    public static class UUIDConverter implements DatatypeConverter<UUID> {
+
+        public UUID parse(String value) throws DatatypeConverterException {
+            try {
+                return UUID.fromString(value);
+            } catch (IllegalArgumentException e) {
+                throw new DatatypeConverterException(e);
+            }
+        }
+
+        public String format(UUID value) throws DatatypeConverterException {
+            return value.toString();
+        }
+    }
+
+    @CLICommand("uuid")
+    public static class UUIDCommand extends Command<Void> {
+
+        @CLIArgument(name = "--id")
+        private UUID id;
+    }
+
+    @After
+    public void clean() {
+        ConverterRegistry.unregister(UUID.class);
+    }
+
+    @Test
+    public void testThreadSafeShared() throws Exception {
+        final SimpleCharsetConverter converter = ConverterRegistry.getConverter(SimpleCharsetConverter.class);
+        assertSame(converter, ConverterRegistry.getConverter(SimpleCharsetConverter.class));
+
+        final AtomicReference<Object> other = new AtomicReference<Object>();
+        Thread t = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    other.set(ConverterRegistry.getConverter(SimpleCharsetConverter.class));
+                } catch (Exception e) {
+                    other.set(e);
+                }
+            }
+        });
+        t.start();
+        t.join();
+        assertSame(converter, other.get());
+    }
+
+    @Test
+    public void testPerThread() throws Exception {
+        final UUIDConverter converter = ConverterRegistry.getConverter(UUIDConverter.class);
+        assertSame(converter, ConverterRegistry.getConverter(UUIDConverter.class));
+
+        final AtomicReference<Object> other = new AtomicReference<Object>();
+        Thread t = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    other.set(ConverterRegistry.getConverter(UUIDConverter.class));
+                } catch (Exception e) {
+                    other.set(e);
+                }
+            }
+        });
+        t.start();
+        t.join();
+        assertNotSame(converter, other.get());
+        assertEquals(UUIDConverter.class, other.get().getClass());
+    }
+
+    @Test
+    public void testRegisteredByType() throws Exception {
+        UUID id = UUID.randomUUID();
+        String[] args = new String[]{"--id", id.toString()};
+
+        assertNull(CommandFactory.create(args, UUIDCommand.class, new StringWriter(), Locale.ENGLISH).id);
+
+        ConverterRegistry.register(UUID.class, UUIDConverter.class);
+        assertEquals(id, CommandFactory.create(args, UUIDCommand.class, new StringWriter(), Locale.ENGLISH).id);
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
+import com.github.apercova.quickcli.command.BindExamples;
+
+@SuppressWarnings("deprecation")
+public class LegacyParserTest {
+
+    private static final ResourceBundle MESSAGES = ResourceBundle.getBundle(
+            "com.github.apercova.quickcli.i18n.messages", Locale.ENGLISH);
+
+    /**
+     * Parser extension written against the field-based API.
+     */
+    static final class LegacyParser extends CommandParser<BindExamples> {
+
+        static void set(BindExamples command, String alias, String value) throws Exception {
+            Map<String, CLIArgument> args = readArguments(command);
+            assertTrue(isArgument(alias, args));
+            CLIArgument arg = args.get(alias);
+            Field field = getArgumentField(arg, command);
+            if (field.isAnnotationPresent(CLIDatatypeConverter.class)) {
+                parseCustomValue(arg, field.getAnnotation(CLIDatatypeConverter.class), field, value, command,
+                        MESSAGES);
+            } else {
+                parseValue(arg, field, value, command, MESSAGES);
+            }
+        }
+    }
+
+    @Test
+    public void testLegacyApi() throws Exception {
+        BindExamples command = new BindExamples();
+        LegacyParser.set(command, "--int", "42");
+        LegacyParser.set(command, "--string", "legacy");
+        LegacyParser.set(command, "--charset", "iso-8859-1");
+        assertEquals(42, command.getEntero());
+        assertEquals("legacy", command.getTexto());
+        assertEquals(Charset.forName("iso-8859-1"), command.getCharset());
+    }
+}
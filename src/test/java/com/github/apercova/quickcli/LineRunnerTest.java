@@ -0,0 +1,80 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+import com.github.apercova.quickcli.exception.ExecutionException;
+
+public class LineRunnerTest {
+
+    private static final String NL = System.getProperty("line.separator");
+
+    @CLICommand("sum")
+    public static class Sum extends Command<Integer> {
+
+        @CLIArgument(name = "--a", required = true)
+        private int a;
+        @CLIArgument(name = "--b", value = "10")
+        private Integer b;
+        @CLIArgument(name = "--neg")
+        private boolean neg;
+        @CLIArgument(name = "--label")
+        private String label = "sum";
+
+        @Override
+        public Integer execute() throws ExecutionException {
+            if (a < 0) {
+                throw new ExecutionException("negative input");
+            }
+            writer.print(label + "=");
+            return neg ? -(a + b) : a + b;
+        }
+    }
+
+    @Test
+    public void testRun() throws Exception {
+        StringWriter out = new StringWriter();
+        LineRunner<Sum> runner = new LineRunner<Sum>(Sum.class, out, Locale.ENGLISH);
+        LineRunner.Report report = runner.run(new StringReader(
+                "--a 1 --b 2 --neg --label \"first sum\"\n"
+                + "\n"
+                + "--a 1\n"
+                + "--a x\n"
+                + "--a -1\n"
+                + "--a 5 --b 5\n"));
+        assertEquals(5, report.getExecuted());
+        assertEquals(3, report.getSucceeded());
+        assertEquals("first sum=-3" + NL + "sum=11" + NL + "sum=10" + NL, out.toString());
+        assertEquals(2, report.getErrors().size());
+        assertEquals(4, report.getErrors().get(0).getLine());
+        assertTrue(report.getErrors().get(0).getError() instanceof CLIArgumentException);
+        assertEquals("--a -1", report.getErrors().get(1).getText());
+        assertTrue(report.getErrors().get(1).getError() instanceof ExecutionException);
+    }
+
+    @Test
+    public void testChannel() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            input.append("--a ").append(i).append(" --b 0\n");
+        }
+        StringWriter out = new StringWriter();
+        LineRunner<Sum> runner = new LineRunner<Sum>(Sum.class, out, Locale.ENGLISH);
+        LineRunner.Report report = runner.run(Channels.newChannel(
+                new ByteArrayInputStream(input.toString().getBytes("UTF-8"))), Charset.forName("UTF-8"));
+        assertEquals(10000, report.getSucceeded());
+        assertTrue(out.toString().endsWith("sum=9999" + NL));
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
+import com.github.apercova.quickcli.examples.converter.SimpleCharsetConverter;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+
+public class MultiValueTest {
+
+    @CLICommand("multi")
+    public static class Multi extends Command<Void> {
+
+        @CLIArgument(name = "--id")
+        private int[] ids = {7};
+        @CLIArgument(name = "--offset", separator = ";")
+        private long[] offsets;
+        @CLIArgument(name = "--port", value = "80,443")
+        private List<Integer> ports;
+        @CLIArgument(name = "--tag", separator = "")
+        private Set<String> tags = new LinkedHashSet<String>();
+        @CLIArgument(name = "--cs")
+        @CLIDatatypeConverter(SimpleCharsetConverter.class)
+        private List<Charset> charsets;
+    }
+
+    @After
+    public void tearDown() {
+        CommandPool.unregister(Multi.class);
+    }
+
+    private static Multi create(String... args) throws CLIArgumentException {
+        return CommandFactory.create(args, Multi.class, new StringWriter(), Locale.ENGLISH);
+    }
+
+    @Test
+    public void testRepeatedAndSeparated() throws Exception {
+        Multi command = create("--id", "1,2", "--tag", "a,b", "--id", "3",
+                "--offset", "10;;-20", "--tag", "a,b", "--tag", "c", "--cs", "utf-8,iso-8859-1");
+        assertArrayEquals(new int[]{1, 2, 3}, command.ids);
+        assertArrayEquals(new long[]{10L, -20L}, command.offsets);
+        assertEquals(new LinkedHashSet<String>(Arrays.asList("a,b", "c")), command.tags);
+        assertEquals(Arrays.asList(Charset.forName("utf-8"), Charset.forName("iso-8859-1")), command.charsets);
+        assertEquals(Arrays.asList(80, 443), command.ports);
+    }
+
+    @Test
+    public void testDefaults() throws Exception {
+        Multi command = create("--port", "8080");
+        assertArrayEquals(new int[]{7}, command.ids);
+        assertEquals(Arrays.asList(8080), command.ports);
+        assertEquals(0, command.offsets.length);
+        assertTrue(command.tags.isEmpty());
+    }
+
+    @Test
+    public void testLargeVector() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            sb.append(i).append(',');
+        }
+        Multi command = create("--id", sb.toString());
+        assertEquals(100000, command.ids.length);
+        assertEquals(99999, command.ids[99999]);
+    }
+
+    @Test
+    public void testInvalidElement() throws Exception {
+        try {
+            create("--id", "1,x,3");
+            fail("Invalid element");
+        } catch (CLIArgumentException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("1,x,3"));
+            assertTrue(ex.getMessage(), ex.getMessage().contains("int"));
+        }
+    }
+
+    @Test
+    public void testPooledCopies() throws Exception {
+        CommandPool.register(Multi.class, 2);
+        Multi first = create("--tag", "x");
+        first.ids[0] = 99;
+        first.close();
+
+        Multi second = create();
+        assertSame(first, second);
+        assertArrayEquals(new int[]{7}, second.ids);
+        assertTrue(second.tags.isEmpty());
+
+        CommandSnapshot snapshot = CommandSnapshot.of(second);
+        Multi other = new Multi();
+        snapshot.restore(other);
+        assertNotSame(second.ids, other.ids);
+        assertEquals(new ArrayList<Integer>(second.ports), other.ports);
+        assertNotSame(second.ports, other.ports);
+    }
+}
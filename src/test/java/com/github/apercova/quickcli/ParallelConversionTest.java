@@ -0,0 +1,147 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.annotation.CLIConverter;
+import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+import com.github.apercova.quickcli.exception.DatatypeConverterException;
+
+public class ParallelConversionTest {
+
+    private static final AtomicInteger CONVERSIONS = new AtomicInteger();
+    private static volatile CyclicBarrier barrier;
+
+    /**
+     * Converts only when every independent argument is being converted at
+     * the same time.
+     */
+    @CLIConverter(threadSafe = true, independent = true)
+    public static class SlowConverter implements DatatypeConverter<String> {
+
+        public String parse(String value) throws DatatypeConverterException {
+            CONVERSIONS.incrementAndGet();
+            if (value.startsWith("bad")) {
+                throw new DatatypeConverterException(value);
+            }
+            try {
+                if (barrier != null) {
+                    barrier.await(5, TimeUnit.SECONDS);
+                }
+            } catch (Exception ex) {
+                throw new DatatypeConverterException(ex);
+            }
+            return value.toUpperCase(Locale.ENGLISH);
+        }
+
+        public String format(String value) throws DatatypeConverterException {
+            return value;
+        }
+    }
+
+    /**
+     * Independent but not thread-safe, so converted on the parsing thread.
+     */
+    @CLIConverter(independent = true)
+    public static class ThreadConverter implements DatatypeConverter<String> {
+
+        public String parse(String value) throws DatatypeConverterException {
+            return Thread.currentThread().getName();
+        }
+
+        public String format(String value) throws DatatypeConverterException {
+            return value;
+        }
+    }
+
+    @CLICommand("threads")
+    public static class Threads extends Command<Void> {
+
+        @CLIArgument(name = "--x")
+        @CLIDatatypeConverter(ThreadConverter.class)
+        private String x;
+        @CLIArgument(name = "--y")
+        @CLIDatatypeConverter(ThreadConverter.class)
+        private String y;
+    }
+
+    @CLICommand("keys")
+    public static class Keys extends Command<Void> {
+
+        @CLIArgument(name = "--a", required = true)
+        @CLIDatatypeConverter(SlowConverter.class)
+        private String a;
+        @CLIArgument(name = "--b")
+        @CLIDatatypeConverter(SlowConverter.class)
+        private String b;
+        @CLIArgument(name = "--c", value = "c")
+        @CLIDatatypeConverter(SlowConverter.class)
+        private String c;
+        @CLIArgument(name = "--n", value = "1")
+        private int n;
+    }
+
+    private static Keys create(String... args) throws CLIArgumentException {
+        return CommandFactory.create(args, Keys.class, new StringWriter(), Locale.ENGLISH);
+    }
+
+    @Test
+    public void testConcurrent() throws Exception {
+        barrier = new CyclicBarrier(3);
+        try {
+            Keys keys = create("--b", "y", "--n", "7", "--a", "x", "--c", "z");
+            assertEquals("X", keys.a);
+            assertEquals("Y", keys.b);
+            assertEquals("Z", keys.c);
+            assertEquals(7, keys.n);
+        } finally {
+            barrier = null;
+        }
+    }
+
+    @Test
+    public void testRepeated() throws Exception {
+        CONVERSIONS.set(0);
+        Keys keys = create("--a", "first", "--a", "second", "--b", "y");
+        assertEquals("SECOND", keys.a);
+        assertEquals(3, CONVERSIONS.get());
+    }
+
+    @Test
+    public void testErrorOrder() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            try {
+                create("--b", "bad-b", "--a", "bad-a", "--c", "bad-c");
+                fail();
+            } catch (CLIArgumentException ex) {
+                assertTrue(ex.getMessage(), ex.getMessage().contains("[--b]"));
+            }
+        }
+        try {
+            create("--a", "bad-a", "--n", "x");
+            fail();
+        } catch (CLIArgumentException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("[--n]"));
+        }
+    }
+
+    @Test
+    public void testNotThreadSafe() throws Exception {
+        Threads threads = CommandFactory.create(new String[]{"--x", "1", "--y", "2"}, Threads.class,
+                new StringWriter(), Locale.ENGLISH);
+        assertEquals(Thread.currentThread().getName(), threads.x);
+        assertEquals(Thread.currentThread().getName(), threads.y);
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.StringWriter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.annotation.CLIConverter;
+import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+import com.github.apercova.quickcli.exception.DatatypeConverterException;
+
+public class ParseCacheTest {
+
+    private static final AtomicInteger CONVERSIONS = new AtomicInteger();
+
+    public static class CountingConverter implements DatatypeConverter<String> {
+
+        public String parse(String value) throws DatatypeConverterException {
+            CONVERSIONS.incrementAndGet();
+            return value.toUpperCase(Locale.ENGLISH);
+        }
+
+        public String format(String value) throws DatatypeConverterException {
+            return value;
+        }
+    }
+
+    @CLIConverter(cacheable = false)
+    public static class StampConverter implements DatatypeConverter<Long> {
+
+        public Long parse(String value) throws DatatypeConverterException {
+            return Long.valueOf(CONVERSIONS.incrementAndGet());
+        }
+
+        public String format(Long value) throws DatatypeConverterException {
+            return String.valueOf(value);
+        }
+    }
+
+    @CLICommand("cached")
+    public static class Cached extends Command<Void> {
+
+        @CLIArgument(name = "--name", required = true)
+        @CLIDatatypeConverter(CountingConverter.class)
+        private String name;
+        @CLIArgument(name = "--count", value = "1")
+        private Integer count;
+    }
+
+    @CLICommand("stamped")
+    public static class Stamped extends Command<Void> {
+
+        @CLIArgument(name = "--at")
+        @CLIDatatypeConverter(StampConverter.class)
+        private Long at;
+    }
+
+    @After
+    public void tearDown() {
+        ParseCache.disable();
+        CONVERSIONS.set(0);
+    }
+
+    private static <T extends Command<?>> T create(Class<T> clazz, String... args) throws CLIArgumentException {
+        return CommandFactory.create(args, clazz, new StringWriter(), Locale.ENGLISH);
+    }
+
+    @Test
+    public void testHit() throws Exception {
+        ParseCache cache = ParseCache.enable(8);
+        Cached first = create(Cached.class, "--name", "abc", "--count", "3");
+        Cached second = create(Cached.class, "--name", "abc", "--count", "3");
+
+        assertNotSame(first, second);
+        assertEquals("ABC", second.name);
+        assertEquals(Integer.valueOf(3), second.count);
+        assertEquals("cached", second.getName());
+        assertEquals(1, CONVERSIONS.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        create(Cached.class, "--name", "abc");
+        assertEquals(2, CONVERSIONS.get());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        ParseCache cache = ParseCache.enable(2);
+        create(Cached.class, "--name", "a");
+        create(Cached.class, "--name", "b");
+        create(Cached.class, "--name", "a");
+        create(Cached.class, "--name", "c");
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+
+        create(Cached.class, "--name", "a");
+        assertEquals(2, cache.getHits());
+        create(Cached.class, "--name", "b");
+        assertEquals(2, cache.getHits());
+        assertEquals(4, CONVERSIONS.get());
+    }
+
+    @Test
+    public void testBatchEviction() throws Exception {
+        ParseCache cache = ParseCache.enable(64);
+        for (int i = 0; i < 64; i++) {
+            create(Cached.class, "--name", "n" + i);
+        }
+        create(Cached.class, "--name", "n0");
+        create(Cached.class, "--name", "n64");
+        assertEquals(60, cache.size());
+        assertEquals(5, cache.getEvictions());
+
+        create(Cached.class, "--name", "n0");
+        assertEquals(2, cache.getHits());
+        create(Cached.class, "--name", "n1");
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testNotCacheable() throws Exception {
+        ParseCache cache = ParseCache.enable(8);
+        Stamped first = create(Stamped.class, "--at", "now");
+        Stamped second = create(Stamped.class, "--at", "now");
+        assertEquals(Long.valueOf(1), first.at);
+        assertEquals(Long.valueOf(2), second.at);
+        assertEquals(0, cache.size());
+    }
+
+    @Test(expected = CLIArgumentException.class)
+    public void testErrorsNotCached() throws Exception {
+        ParseCache cache = ParseCache.enable(8);
+        try {
+            create(Cached.class, "--count", "x", "--name", "a");
+        } finally {
+            assertEquals(0, cache.size());
+            assertSame(cache, ParseCache.current());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class PrimitiveParserTest {
+
+    private static final String[] INVALID = {"", "-", "+", "1a", "a1", " 1", "1 ", "--1", "1-"};
+
+    static String slice(String value) {
+        return "[" + value + "]";
+    }
+
+    @Test
+    public void testInt() {
+        String[] values = {"0", "-0", "+7", "42", "-42", String.valueOf(Integer.MAX_VALUE), String.valueOf(Integer.MIN_VALUE)};
+        for (String v : values) {
+            assertEquals(v, Integer.parseInt(v), PrimitiveParser.parseInt(slice(v), 1, v.length() + 1));
+        }
+        for (String v : new String[]{"2147483648", "-2147483649"}) {
+            assertInvalidInt(v);
+        }
+        for (String v : INVALID) {
+            assertInvalidInt(v);
+        }
+    }
+
+    @Test
+    public void testLong() {
+        String[] values = {"0", "-1", String.valueOf(Long.MAX_VALUE), String.valueOf(Long.MIN_VALUE)};
+        for (String v : values) {
+            assertEquals(v, Long.parseLong(v), PrimitiveParser.parseLong(slice(v), 1, v.length() + 1));
+        }
+        try {
+            String v = "9223372036854775808";
+            PrimitiveParser.parseLong(slice(v), 1, v.length() + 1);
+            fail();
+        } catch (NumberFormatException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testByteAndShort() {
+        assertEquals(Byte.MAX_VALUE, PrimitiveParser.parseByte("127", 0, 3));
+        assertEquals(Short.MIN_VALUE, PrimitiveParser.parseShort("-32768", 0, 6));
+        try {
+            PrimitiveParser.parseByte("128", 0, 3);
+            fail();
+        } catch (NumberFormatException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testBoolean() {
+        assertTrue(PrimitiveParser.parseBoolean("x TrUe x", 2, 6));
+        assertFalse(PrimitiveParser.parseBoolean("truex", 0, 5));
+        assertFalse(PrimitiveParser.parseBoolean("yes", 0, 3));
+        assertFalse(PrimitiveParser.parseBoolean(null, 0, 0));
+    }
+
+    @Test
+    public void testDouble() {
+        String[] values = {"0", "-0", "1.", ".5", "-12.75", "3.141592653589793", "1e22", "1e23", "2.5E-3",
+            "1e-400", "1e400", "NaN", "-Infinity", "0x1p3", "1d", " 7 ", "123456789012345678901234567890",
+            String.valueOf(Double.MAX_VALUE), String.valueOf(Double.MIN_VALUE)};
+        for (String v : values) {
+            assertEquals(v, Double.parseDouble(v), PrimitiveParser.parseDouble(slice(v), 1, v.length() + 1), 0d);
+            assertEquals(v, Float.parseFloat(v), PrimitiveParser.parseFloat(slice(v), 1, v.length() + 1), 0f);
+        }
+
+        Random random = new Random(7);
+        for (int i = 0; i < 100000; i++) {
+            String v = (random.nextInt(1000000) - 500000) + "." + random.nextInt(1000000) + "e" + (random.nextInt(40) - 20);
+            assertEquals(v, Double.parseDouble(v), PrimitiveParser.parseDouble(v, 0, v.length()), 0d);
+            assertEquals(v, Float.parseFloat(v), PrimitiveParser.parseFloat(v, 0, v.length()), 0f);
+        }
+        for (String v : new String[]{"", ".", "1e", "e1", "1.2.3"}) {
+            try {
+                PrimitiveParser.parseDouble(v, 0, v.length());
+                fail(v);
+            } catch (NumberFormatException e) {
+                //expected
+            }
+        }
+    }
+
+    private static void assertInvalidInt(String v) {
+        try {
+            PrimitiveParser.parseInt(slice(v), 1, v.length() + 1);
+            fail(v);
+        } catch (NumberFormatException e) {
+            //expected
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.command.BindExamples;
+
+public class UsageTest {
+
+    private static final String NL = System.getProperty("line.separator");
+
+    @Test
+    public void testLayout() {
+        List<String[]> rows = Arrays.asList(
+                Usage.row("--name", Arrays.asList("-n"), "Name to greet"),
+                Usage.row("--verbose-output", Collections.<String>emptyList(), "Verbose"));
+        String usage = new String(Usage.render(true, "greet", "Greets", rows, Locale.ROOT, 0));
+        assertEquals("[greet]: Greets" + NL
+                + "     option            aliases  usage" + NL
+                + "     ----------------  -------  -------------" + NL
+                + "     --name            [-n]     Name to greet" + NL
+                + "     --verbose-output           Verbose" + NL, usage);
+    }
+
+    @Test
+    public void testWrap() {
+        List<String[]> rows = Collections.singletonList(Usage.row("--x", Collections.<String>emptyList(),
+                "one two three four five six seven eight nine ten eleven twelve"));
+        String usage = new String(Usage.render(false, null, null, rows, Locale.ROOT, 50));
+        String[] lines = usage.split(NL);
+        assertEquals(5, lines.length);
+        assertEquals("     --x              one two three four five six", lines[2]);
+        assertEquals("                      seven eight nine ten eleven", lines[3]);
+        assertEquals("                      twelve", lines[4]);
+    }
+
+    @Test
+    public void testCache() {
+        char[] usage = Usage.forCommand(BindExamples.class, Locale.ROOT, 0);
+        assertSame(usage, Usage.forCommand(BindExamples.class, Locale.ROOT, 0));
+        assertNotSame(usage, Usage.forCommand(BindExamples.class, Locale.ROOT, 60));
+
+        BindExamples command = new BindExamples();
+        StringWriter out = new StringWriter();
+        command.setWriter(new PrintWriter(out));
+        command.setLocale(Locale.ROOT);
+        command.printUsage(0);
+        assertEquals(new String(usage), out.toString());
+        assertTrue(out.toString().contains("--big-integer"));
+    }
+}
@@ -0,0 +1,118 @@
+package com.github.apercova.quickcli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.command.BindExamples;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+
+public class ValidationTest {
+
+    @CLICommand("defaults")
+    public static class Defaults extends Command<Void> {
+
+        @CLIArgument(name = "--level", value = "3")
+        private int level;
+        @CLIArgument(name = "--retries")
+        private int retries = 5;
+        @CLIArgument(name = "--verbose")
+        private boolean verbose;
+        @CLIArgument(name = "--color", value = "true")
+        private boolean color;
+        @CLIArgument(name = "--limit", value = "10")
+        private Integer limit;
+        @CLIArgument(name = "--label")
+        private String label;
+        @CLIArgument(name = "--size", required = true)
+        private long size;
+    }
+
+    @CLICommand("unset")
+    public static class Unset extends Command<Void> {
+
+        @CLIArgument(name = "--limit")
+        private Integer limit;
+    }
+
+    private static Defaults create(String... args) throws CLIArgumentException {
+        return CommandFactory.create(args, Defaults.class, new StringWriter(), Locale.ENGLISH);
+    }
+
+    @Test
+    public void testDefaults() throws Exception {
+        Defaults command = create("--size", "0");
+        assertEquals(0L, command.size);
+        assertEquals(3, command.level);
+        assertEquals(5, command.retries);
+        assertFalse(command.verbose);
+        assertFalse(command.color);
+        assertEquals(Integer.valueOf(10), command.limit);
+        assertEquals("", command.label);
+
+        command = create("--size", "1", "--level", "0", "--verbose", "--color", "--limit", "9");
+        assertEquals(0, command.level);
+        assertTrue(command.verbose);
+        assertTrue(command.color);
+        assertEquals(Integer.valueOf(9), command.limit);
+    }
+
+    @Test
+    public void testFlagDefault() throws Exception {
+        String[] args = CommandFactoryTest.args(1);
+        assertFalse(Arrays.asList(args).contains("--boolean"));
+        assertFalse(CommandFactory.create(args, BindExamples.class, new StringWriter(), Locale.ENGLISH).isBooleano());
+    }
+
+    @Test
+    public void testEmptyDefault() throws Exception {
+        try {
+            CommandFactory.create(new String[0], Unset.class, new StringWriter(), Locale.ENGLISH);
+            fail("Empty default of a number");
+        } catch (CLIArgumentException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("--limit"));
+        }
+    }
+
+    @Test
+    public void testRequiredPrimitive() throws Exception {
+        try {
+            create("--level", "1");
+            fail("Missing required primitive");
+        } catch (CLIArgumentException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("--size"));
+        }
+    }
+
+    @Test
+    public void testBindExamplesRequired() throws Exception {
+        String[] args = CommandFactoryTest.args(1);
+        String[] missing = new String[args.length - 2];
+        System.arraycopy(args, 0, missing, 0, 2);
+        System.arraycopy(args, 4, missing, 2, args.length - 4);
+        assertEquals("--byte", args[2]);
+        try {
+            CommandFactory.create(missing, BindExamples.class, new StringWriter(), Locale.ENGLISH);
+            fail("Missing " + Arrays.toString(missing));
+        } catch (CLIArgumentException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("--bits"));
+        }
+    }
+
+    @Test
+    public void testManualValidation() throws Exception {
+        Defaults command = new Defaults();
+        command.size = 1L;
+        CommandParser.validate(command, Messages.forLocale(Locale.ENGLISH));
+        assertEquals("", command.label);
+    }
+}
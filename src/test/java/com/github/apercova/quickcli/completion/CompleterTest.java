@@ -0,0 +1,127 @@
+package com.github.apercova.quickcli.completion;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.apercova.quickcli.Command;
+import com.github.apercova.quickcli.CommandIndex;
+import com.github.apercova.quickcli.DatatypeConverter;
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.annotation.CLIConverter;
+import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
+import com.github.apercova.quickcli.command.BindExamples;
+import com.github.apercova.quickcli.exception.DatatypeConverterException;
+
+public class CompleterTest {
+
+    private static final AtomicInteger REQUESTS = new AtomicInteger();
+
+    @CLIConverter(threadSafe = true)
+    public static class ColorConverter implements DatatypeConverter<String>, CompletionProvider {
+
+        public String parse(String value) throws DatatypeConverterException {
+            return value;
+        }
+
+        public String format(String value) throws DatatypeConverterException {
+            return value;
+        }
+
+        public Collection<String> candidates() {
+            REQUESTS.incrementAndGet();
+            return Arrays.asList("red", "green", "gray");
+        }
+    }
+
+    @CLICommand("remote add")
+    public static class RemoteAdd extends Command<Void> {
+
+        @CLIArgument(name = "--name", aliases = {"-n"})
+        private String name;
+        @CLIArgument(name = "--color", aliases = {"-c"})
+        @CLIDatatypeConverter(ColorConverter.class)
+        private String color;
+        @CLIArgument(name = "--force")
+        private boolean force;
+    }
+
+    @CLICommand("remote remove")
+    public static class RemoteRemove extends Command<Void> {
+    }
+
+    private static Completer completer() {
+        return new Completer()
+                .register(RemoteAdd.class)
+                .register(RemoteRemove.class)
+                .register(BindExamples.class);
+    }
+
+    @Test
+    public void testNames() {
+        Completer completer = completer();
+        assertEquals(Arrays.asList("bind-ex", "remote"), completer.complete(new String[]{""}));
+        assertEquals(Arrays.asList("remove"), completer.complete(new String[]{"remote", "re"}));
+        assertEquals(Arrays.asList("add", "remove"), completer.complete(new String[]{"remote", ""}));
+        assertEquals(Collections.<String>emptyList(), completer.complete(new String[]{"rem", ""}));
+        assertEquals(Collections.<String>emptyList(), completer.complete(new String[]{"remote", "ad", "-"}));
+        assertEquals(Arrays.asList("--color", "--force", "--name", "-c", "-n"),
+                completer.complete(new String[]{"remote", "add", ""}));
+        assertEquals(Arrays.asList("--charset", "--corto", "--cs"),
+                completer.complete(new String[]{"bind-ex", "--c"}));
+        assertEquals(Collections.<String>emptyList(), completer.complete(new String[]{"nope", "--"}));
+    }
+
+    @Test
+    public void testValues() {
+        REQUESTS.set(0);
+        Completer completer = completer();
+        assertEquals(Arrays.asList("gray", "green"), completer.complete(new String[]{"remote", "add", "-c", "gr"}));
+        assertEquals(Arrays.asList("red"), completer.complete(new String[]{"remote", "add", "--color", "r"}));
+        assertEquals(1, REQUESTS.get());
+        assertEquals(Collections.<String>emptyList(), completer.complete(new String[]{"remote", "add", "-n", ""}));
+        assertEquals(Arrays.asList("--color", "--force", "--name"),
+                completer.complete(new String[]{"remote", "add", "--force", "--"}));
+        assertTrue(completer.complete(new String[]{"bind-ex", "--charset", "UTF-"}).contains("UTF-8"));
+
+        completer.refresh();
+        completer.complete(new String[]{"remote", "add", "-c", ""});
+        assertEquals(2, REQUESTS.get());
+    }
+
+    @Test
+    public void testIndex() throws Exception {
+        CommandIndex index = CommandIndex.read(new StringReader(CommandIndex.HEADER + "\n"
+                + "C\tgreet\tcom.example.Greet\tSays hello\n"
+                + "A\t--who\t\tfalse\tWho to greet\t-w\n"));
+        Completer completer = new Completer().register(index);
+        assertEquals(Arrays.asList("greet"), completer.complete(new String[]{"g"}));
+        assertEquals(Arrays.asList("--who", "-w"), completer.complete(new String[]{"greet", ""}));
+    }
+
+    @Test
+    public void testScripts() {
+        Completer completer = completer();
+        String bash = CompletionScript.generate(completer, CompletionScript.Shell.BASH, "my-cli",
+                "my-cli-complete");
+        assertTrue(bash.contains("'remote'|'remote add'|'remote remove')"));
+        assertTrue(bash.contains("cmds='add remove'"));
+        assertTrue(bash.contains("''|'remote') COMPREPLY=(); return ;;"));
+        assertTrue(bash.contains("'--color'|'-c')"));
+        assertTrue(bash.contains("$(my-cli-complete \"${COMP_WORDS[@]:1:COMP_CWORD}\")"));
+        assertTrue(bash.endsWith("complete -o default -F _my_cli_quickcli my-cli\n"));
+
+        String zsh = CompletionScript.generate(completer, CompletionScript.Shell.ZSH, "my-cli", null);
+        assertTrue(zsh.startsWith("#compdef my-cli\n"));
+        assertTrue(zsh.contains("cmds=('add' 'remove')"));
+        assertTrue(zsh.contains("compdef _my_cli_quickcli my-cli"));
+    }
+}
@@ -0,0 +1,213 @@
+package com.github.apercova.quickcli.daemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.EnumSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.apercova.quickcli.CommandPool;
+
+public class DaemonTest {
+
+    private static final String NL = System.getProperty("line.separator");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private CommandDaemon daemon;
+
+    @Before
+    public void setUp() throws Exception {
+        daemon = new CommandDaemon(0).register(Echo.class).start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        daemon.close();
+        CommandPool.unregister(Echo.class);
+    }
+
+    private int request(String token, int count, String... args) throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort());
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeInt(Protocol.MAGIC);
+            out.writeUTF(token);
+            out.writeUTF(Protocol.EXECUTE);
+            out.writeUTF("en");
+            out.writeInt(count);
+            for (String arg : args) {
+                out.writeUTF(arg);
+            }
+            out.flush();
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            byte frame;
+            while ((frame = in.readByte()) == Protocol.OUTPUT) {
+                in.readUTF();
+            }
+            assertEquals(Protocol.EXIT, frame);
+            return in.readInt();
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testReadTimeout() throws Exception {
+        daemon.setReadTimeout(100);
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), daemon.getPort());
+        try {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write(0);
+            assertEquals(-1, socket.getInputStream().read());
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testExecute() throws Exception {
+        StringWriter out = new StringWriter();
+        StringWriter err = new StringWriter();
+        int status = DaemonClient.run(daemon.getPort(), new String[]{"echo", "--text", "hi", "--times", "2"},
+                Locale.ENGLISH, out, err);
+        assertEquals(0, status);
+        assertEquals("hi" + NL + "hi" + NL + "2" + NL, out.toString());
+        assertEquals("", err.toString());
+    }
+
+    @Test
+    public void testLargeOutput() throws Exception {
+        StringWriter out = new StringWriter();
+        int status = DaemonClient.run(daemon.getPort(), new String[]{"echo", "--text", "0123456789", "--times", "10000"},
+                Locale.ENGLISH, out, new StringWriter());
+        assertEquals(0, status);
+        assertEquals(10000 * (10 + NL.length()) + 5 + NL.length(), out.toString().length());
+    }
+
+    @Test
+    public void testErrors() throws Exception {
+        StringWriter err = new StringWriter();
+        assertEquals(2, DaemonClient.run(daemon.getPort(), new String[]{"echo"}, Locale.ENGLISH,
+                new StringWriter(), err));
+        assertTrue(err.toString().contains("--text"));
+        assertEquals(2, DaemonClient.run(daemon.getPort(), new String[]{"nope"}, Locale.ENGLISH,
+                new StringWriter(), new StringWriter()));
+        assertEquals(1, DaemonClient.run(daemon.getPort(), new String[]{"echo", "--text", "x", "--fail"},
+                Locale.ENGLISH, new StringWriter(), new StringWriter()));
+    }
+
+    @Test
+    public void testConcurrentRequests() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 64; i++) {
+                final String text = "req-" + i;
+                results.add(clients.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        StringWriter out = new StringWriter();
+                        DaemonClient.run(daemon.getPort(), new String[]{"echo", "--text", text},
+                                Locale.ENGLISH, out, new StringWriter());
+                        return out.toString();
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals("req-" + i + NL + "1" + NL, results.get(i).get());
+            }
+        } finally {
+            clients.shutdown();
+        }
+    }
+
+    @Test
+    public void testAuthentication() throws Exception {
+        File token = daemon.getTokenFile();
+        assertTrue(token.isFile());
+        if (token.toPath().getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            assertEquals(EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE),
+                    Files.getPosixFilePermissions(token.toPath()));
+        }
+        String valid = new String(Files.readAllBytes(token.toPath()), "US-ASCII");
+        assertEquals(0, request(valid, 3, "echo", "--text", "x"));
+        assertEquals(2, request("", 3, "echo", "--text", "x"));
+        assertEquals(2, request(valid.substring(1) + "0", 3, "echo", "--text", "x"));
+
+        daemon.close();
+        assertFalse(token.exists());
+    }
+
+    @Test
+    public void testRequestBounds() throws Exception {
+        String valid = new String(Files.readAllBytes(daemon.getTokenFile().toPath()), "US-ASCII");
+        assertEquals(2, request(valid, -1));
+        assertEquals(2, request(valid, Integer.MAX_VALUE));
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 60000; i++) {
+            sb.append('x');
+        }
+        String[] args = new String[18];
+        Arrays.fill(args, sb.toString());
+        assertEquals(2, request(valid, args.length, args));
+    }
+
+    @Test
+    public void testLiteralArguments() throws Exception {
+        File secret = folder.newFile();
+        FileOutputStream out = new FileOutputStream(secret);
+        try {
+            out.write("secret-token-42".getBytes("US-ASCII"));
+        } finally {
+            out.close();
+        }
+        StringWriter err = new StringWriter();
+        assertEquals(2, DaemonClient.run(daemon.getPort(), new String[]{"echo", "@" + secret.getPath()},
+                Locale.ENGLISH, new StringWriter(), err));
+        assertFalse(err.toString().contains("secret-token-42"));
+        StringWriter result = new StringWriter();
+        assertEquals(0, DaemonClient.run(daemon.getPort(), new String[]{"echo", "--text", "@" + secret.getPath()},
+                Locale.ENGLISH, result, new StringWriter()));
+        assertEquals("@" + secret.getPath() + NL + "1" + NL, result.toString());
+    }
+
+    @Test
+    public void testPooledCommand() throws Exception {
+        CommandPool<Echo> pool = CommandPool.register(Echo.class, 2);
+        for (int i = 0; i < 4; i++) {
+            StringWriter out = new StringWriter();
+            assertEquals(0, DaemonClient.run(daemon.getPort(), new String[]{"echo", "--text", "p" + i},
+                    Locale.ENGLISH, out, new StringWriter()));
+            assertEquals("p" + i + NL + "1" + NL, out.toString());
+        }
+        assertEquals(1, pool.getIdle());
+    }
+}
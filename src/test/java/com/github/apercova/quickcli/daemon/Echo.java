@@ -0,0 +1,28 @@
+package com.github.apercova.quickcli.daemon;
+
+import com.github.apercova.quickcli.Command;
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.exception.ExecutionException;
+
+@CLICommand("echo")
+public class Echo extends Command<Integer> {
+
+    @CLIArgument(name = "--text", required = true)
+    private String text;
+    @CLIArgument(name = "--times", value = "1")
+    private Integer times;
+    @CLIArgument(name = "--fail")
+    private boolean fail;
+
+    @Override
+    public Integer execute() throws ExecutionException {
+        if (fail) {
+            throw new ExecutionException("failed");
+        }
+        for (int i = 0; i < times; i++) {
+            writer.println(text);
+        }
+        return times;
+    }
+}
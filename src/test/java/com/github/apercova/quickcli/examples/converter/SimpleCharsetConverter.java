@@ -1,11 +1,15 @@
 package com.github.apercova.quickcli.examples.converter;
 
 import java.nio.charset.Charset;
+import java.util.Collection;
 
 import com.github.apercova.quickcli.DatatypeConverter;
+import com.github.apercova.quickcli.annotation.CLIConverter;
+import com.github.apercova.quickcli.completion.CompletionProvider;
 import com.github.apercova.quickcli.exception.DatatypeConverterException;
 
-public class SimpleCharsetConverter implements DatatypeConverter<Charset> {
+@CLIConverter(threadSafe = true)
+public class SimpleCharsetConverter implements DatatypeConverter<Charset>, CompletionProvider {
 
     public Charset parse(String value) throws DatatypeConverterException {
         try {
@@ -23,4 +27,8 @@ public class SimpleCharsetConverter implements DatatypeConverter<Charset> {
         }
     }
 
+    public Collection<String> candidates() {
+        return Charset.availableCharsets().keySet();
+    }
+
 }
@@ -0,0 +1,113 @@
+package com.github.apercova.quickcli.instrument;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.apercova.quickcli.Command;
+import com.github.apercova.quickcli.CommandFactory;
+import com.github.apercova.quickcli.annotation.CLIArgument;
+import com.github.apercova.quickcli.annotation.CLICommand;
+import com.github.apercova.quickcli.annotation.CLIDatatypeConverter;
+import com.github.apercova.quickcli.examples.converter.SimpleCharsetConverter;
+import com.github.apercova.quickcli.exception.CLIArgumentException;
+import com.github.apercova.quickcli.exception.ExecutionException;
+
+public class CommandMetricsTest {
+
+    @CLICommand("measured")
+    public static class Measured extends Command<String> {
+
+        @CLIArgument(name = "--cs", value = "utf-8")
+        @CLIDatatypeConverter(SimpleCharsetConverter.class)
+        private Charset cs;
+        @CLIArgument(name = "--count", value = "1")
+        private Integer count;
+
+        @Override
+        public String execute() throws ExecutionException {
+            return cs.name();
+        }
+    }
+
+    private CommandMetrics metrics;
+
+    @Before
+    public void setUp() throws Exception {
+        metrics = new CommandMetrics();
+        metrics.register();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        metrics.unregister();
+        assertFalse(Instrumentation.isEnabled());
+    }
+
+    private static Measured create(String... args) throws CLIArgumentException {
+        return CommandFactory.create(args, Measured.class, new StringWriter(), Locale.ENGLISH);
+    }
+
+    @Test
+    public void testPhases() throws Exception {
+        assertTrue(Instrumentation.isEnabled());
+        Measured command = create("--cs", "iso-8859-1", "--count", "2");
+        assertEquals("ISO-8859-1", Instrumentation.execute(command));
+
+        assertEquals(1, metrics.getStatistics(Measured.class, Phase.CREATE).getCount());
+        assertEquals(1, metrics.getStatistics(Measured.class, Phase.READ_PROPERTIES).getCount());
+        assertEquals(1, metrics.getStatistics(Measured.class, Phase.PARSE).getCount());
+        assertEquals(1, metrics.getStatistics(Measured.class, Phase.CONVERT).getCount());
+        assertEquals(1, metrics.getStatistics(Measured.class, Phase.VALIDATE).getCount());
+        PhaseStatistics execute = metrics.getStatistics(Measured.class, Phase.EXECUTE);
+        assertEquals(1, execute.getCount());
+        assertEquals(0, execute.getFailures());
+        assertTrue(execute.getMaxNanos() > 0);
+        assertTrue(execute.getP99Nanos() >= execute.getP50Nanos());
+        assertTrue(execute.getP99Nanos() <= execute.getMaxNanos());
+    }
+
+    @Test
+    public void testFailures() throws Exception {
+        try {
+            create("--count", "x");
+            fail("Invalid number");
+        } catch (CLIArgumentException ex) {
+            assertEquals(1, metrics.getStatistics(Measured.class, Phase.PARSE).getFailures());
+            assertEquals(1, metrics.getStatistics(Measured.class, Phase.CREATE).getFailures());
+            assertEquals(0, metrics.getStatistics(Measured.class, Phase.VALIDATE).getCount());
+        }
+    }
+
+    @Test
+    public void testJmx() throws Exception {
+        create();
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(CommandMetrics.OBJECT_NAME);
+        assertEquals(metrics.getPhaseCount(), server.getAttribute(name, "PhaseCount"));
+
+        CompositeData[] statistics = (CompositeData[]) server.getAttribute(name, "Statistics");
+        assertEquals(metrics.getStatistics().size(), statistics.length);
+        for (CompositeData data : statistics) {
+            assertEquals(Measured.class.getName(), data.get("command"));
+            assertEquals(1L, data.get("count"));
+        }
+
+        server.invoke(name, "reset", new Object[0], new String[0]);
+        assertEquals(0L, metrics.getPhaseCount());
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.apercova.quickcli.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ChannelWriterTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Channel counting write calls.
+     */
+    static final class CountingChannel implements WritableByteChannel {
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        int writes;
+        boolean open = true;
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            writes++;
+            int n = src.remaining();
+            while (src.hasRemaining()) {
+                bytes.write(src.get());
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+
+        String text() {
+            return new String(bytes.toByteArray(), UTF_8);
+        }
+    }
+
+    @Test
+    public void testLinePolicy() throws Exception {
+        CountingChannel channel = new CountingChannel();
+        PrintWriter out = new PrintWriter(new ChannelWriter(channel, UTF_8, FlushPolicy.LINE));
+        out.print("a");
+        assertEquals(0, channel.writes);
+        out.print("b\n");
+        assertEquals(1, channel.writes);
+        out.write('c');
+        out.write('\n');
+        assertEquals(2, channel.writes);
+        out.close();
+        assertEquals("ab\nc\n", channel.text());
+        assertEquals(false, channel.isOpen());
+    }
+
+    @Test
+    public void testClosePolicy() throws Exception {
+        CountingChannel channel = new CountingChannel();
+        PrintWriter out = new PrintWriter(new ChannelWriter(channel, UTF_8, FlushPolicy.CLOSE, 1024));
+        for (int i = 0; i < 1000; i++) {
+            out.print("line\n");
+        }
+        assertEquals(4, channel.writes);
+        out.close();
+        assertEquals(5, channel.writes);
+        assertEquals(5000, channel.bytes.size());
+    }
+
+    @Test
+    public void testBytesPolicy() throws Exception {
+        CountingChannel channel = new CountingChannel();
+        ChannelWriter out = new ChannelWriter(channel, UTF_8, FlushPolicy.bytes(10), 16);
+        out.write("12345");
+        assertEquals(0, channel.writes);
+        out.write("67890");
+        assertEquals(1, channel.writes);
+        out.close();
+        assertEquals("1234567890", channel.text());
+    }
+
+    @Test
+    public void testIntervalPolicy() throws Exception {
+        CountingChannel channel = new CountingChannel();
+        ChannelWriter out = new ChannelWriter(channel, UTF_8, FlushPolicy.interval(20, TimeUnit.MILLISECONDS));
+        out.write("a");
+        assertEquals(0, channel.writes);
+        Thread.sleep(30);
+        out.write("b");
+        assertEquals(1, channel.writes);
+        out.close();
+        assertEquals("ab", channel.text());
+    }
+
+    @Test
+    public void testEncoding() throws Exception {
+        CountingChannel channel = new CountingChannel();
+        ChannelWriter out = new ChannelWriter(channel, UTF_8, FlushPolicy.CLOSE, 8);
+        String text = "añ日本😀z";
+        for (int i = 0; i < text.length(); i++) {
+            out.write(text.charAt(i));
+        }
+        out.write(text.toCharArray(), 0, 5);
+        out.write(text.toCharArray(), 5, text.length() - 5);
+        out.close();
+        assertEquals(text + text, channel.text());
+    }
+
+    @Test
+    public void testFile() throws Exception {
+        File file = folder.newFile();
+        ChannelWriter out = ChannelWriter.forFile(file.toPath(), UTF_8, FlushPolicy.CLOSE);
+        out.write("written through FileChannel");
+        out.close();
+        assertEquals("written through FileChannel", new String(Files.readAllBytes(file.toPath()), UTF_8));
+    }
+}